@@ -0,0 +1,247 @@
+import java.util.*;
+
+// In-process cache of vw_ActivityDetails rows, keyed by activity_id with secondary
+// indexes on host_id, act_location and act_date. Size-bounded (LRU) with a TTL.
+// Once a full load has been cached ("warm"), every read, including the secondary
+// lookups, is answered from memory until the TTL runs out or the cache is invalidated.
+// The full load also carries each row's position under every sort, as numbered by the
+// database, so unfiltered table pages are sliced from memory in database order; any
+// write drops those positions until the next full load.
+// Writers keep it current through put()/remove()/invalidateHost().
+public class ActivityCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Integer, Set<Integer>> byHost = new HashMap<>();
+    private final Map<String, Set<Integer>> byLocation = new HashMap<>();
+    private final Map<java.sql.Date, Set<Integer>> byDate = new HashMap<>();
+    // Set by a full load; while true the cache holds every activity
+    private boolean complete;
+    private long completeSince;
+    // Rows in database order per sort column (by ordinal) and each row's positions; null once a write changes the set
+    private ActivityDetail[][] ordered;
+    private Map<Integer, int[]> positions;
+    // Bumped by every write, so a full load that raced with one is not installed
+    private long writes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    private record Entry(ActivityDetail detail, long loadedAt) {}
+
+    public record Stats(int size, int maxEntries, boolean warm, long hits, long misses, long evictions, long expirations) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("entries=%d/%d warm=%s hits=%d misses=%d hit-rate=%.1f%% evictions=%d expirations=%d",
+                    size, maxEntries, warm, hits, misses, hitRate() * 100, evictions, expirations);
+        }
+    }
+
+    public ActivityCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    // Cached row, or null on a miss (absent or expired)
+    public synchronized ActivityDetail get(int activityId) {
+        Entry e = entries.get(activityId);
+        if (e != null && !expired(e.loadedAt())) {
+            hits++;
+            return e.detail();
+        }
+        if (e != null) {
+            expirations++;
+            removeEntry(activityId);
+        }
+        misses++;
+        return null;
+    }
+
+    // Number of activities when the ordered full load is current, else null (caller asks the database)
+    public synchronized Integer orderedCount() {
+        if (!isWarm() || ordered == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entries.size();
+    }
+
+    // One page in the order the database would return it for ORDER BY sort, activity_id, or null when the
+    // ordered full load is not current or the keyset row is not in it
+    public synchronized List<ActivityDetail> page(ActivityRepository.SortColumn sort, boolean ascending,
+                                                  ActivityRepository.PageKey after, int offset, int limit) {
+        int[] afterPositions = after == null || ordered == null ? null : positions.get(after.activityId());
+        if (!isWarm() || ordered == null || (after != null && afterPositions == null)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        ActivityDetail[] rows = ordered[sort.ordinal()];
+        int start = after == null ? offset
+                : ascending ? afterPositions[sort.ordinal()] + 1 : rows.length - afterPositions[sort.ordinal()];
+        List<ActivityDetail> out = new ArrayList<>(Math.max(0, Math.min(limit, rows.length - start)));
+        for (int i = start; i < rows.length && out.size() < limit; i++) out.add(rows[ascending ? i : rows.length - 1 - i]);
+        return out;
+    }
+
+    public synchronized List<ActivityDetail> byHost(int hostId) {
+        return lookup(byHost.get(hostId));
+    }
+
+    public synchronized List<ActivityDetail> byLocation(String location) {
+        return lookup(byLocation.get(location));
+    }
+
+    public synchronized List<ActivityDetail> byDate(java.sql.Date date) {
+        return lookup(byDate.get(date));
+    }
+
+    // Secondary lookups can only be answered from memory when the cache holds every activity
+    private List<ActivityDetail> lookup(Set<Integer> ids) {
+        if (!isWarm()) {
+            misses++;
+            return null;
+        }
+        hits++;
+        if (ids == null) return List.of();
+        List<ActivityDetail> out = new ArrayList<>(ids.size());
+        for (Integer id : ids) out.add(entries.get(id).detail());
+        out.sort(Comparator.comparingInt(ActivityDetail::activityId));
+        return out;
+    }
+
+    public synchronized void put(ActivityDetail d) {
+        writes++;
+        dropOrder();
+        removeEntry(d.activityId());
+        entries.put(d.activityId(), new Entry(d, System.nanoTime()));
+        index(d);
+        evictOverflow();
+    }
+
+    // Taken before a full load is read; pass it to putAll
+    public synchronized long writeCount() {
+        return writes;
+    }
+
+    // Replace the contents with a full load. Marks the cache warm, and the database order usable, if everything fits.
+    // Ignored (returns false) when a write reached the cache after writesBefore was taken: the load may predate it.
+    public synchronized boolean putAll(List<ActivityRepository.RankedDetail> all, long writesBefore) {
+        if (writes != writesBefore) return false;
+        clear();
+        long now = System.nanoTime();
+        for (ActivityRepository.RankedDetail r : all) {
+            entries.put(r.detail().activityId(), new Entry(r.detail(), now));
+            index(r.detail());
+        }
+        complete = all.size() <= maxEntries;
+        completeSince = now;
+        if (complete) {
+            int sorts = ActivityRepository.SortColumn.values().length;
+            ordered = new ActivityDetail[sorts][all.size()];
+            positions = new HashMap<>(all.size() * 2);
+            for (ActivityRepository.RankedDetail r : all) {
+                for (int c = 0; c < sorts; c++) ordered[c][r.positions()[c]] = r.detail();
+                positions.put(r.detail().activityId(), r.positions());
+            }
+        }
+        evictOverflow();
+        return true;
+    }
+
+    public synchronized void remove(int activityId) {
+        writes++;
+        dropOrder();
+        removeEntry(activityId);
+    }
+
+    // Host details (name, email) appear in every activity row of that host
+    public synchronized void invalidateHost(int hostId) {
+        writes++;
+        Set<Integer> ids = byHost.get(hostId);
+        if (ids == null) return;
+        for (Integer id : new ArrayList<>(ids)) removeEntry(id);
+        complete = false;
+        dropOrder();
+    }
+
+    public synchronized void invalidateAll() {
+        writes++;
+        clear();
+    }
+
+    public synchronized boolean isWarm() {
+        if (complete && expired(completeSince)) {
+            expirations += entries.size();
+            clear();
+        }
+        return complete;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, complete && !expired(completeSince), hits, misses, evictions, expirations);
+    }
+
+    private boolean expired(long loadedAt) {
+        return System.nanoTime() - loadedAt > ttlNanos;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            ActivityDetail d = it.next().getValue().detail();
+            it.remove();
+            unindex(d);
+            evictions++;
+            complete = false;
+            dropOrder();
+        }
+    }
+
+    private void clear() {
+        entries.clear();
+        byHost.clear();
+        byLocation.clear();
+        byDate.clear();
+        complete = false;
+        dropOrder();
+    }
+
+    private void dropOrder() {
+        ordered = null;
+        positions = null;
+    }
+
+    private void removeEntry(int activityId) {
+        Entry e = entries.remove(activityId);
+        if (e != null) unindex(e.detail());
+    }
+
+    private void index(ActivityDetail d) {
+        byHost.computeIfAbsent(d.hostId(), k -> new HashSet<>()).add(d.activityId());
+        if (d.location() != null) byLocation.computeIfAbsent(d.location(), k -> new HashSet<>()).add(d.activityId());
+        if (d.date() != null) byDate.computeIfAbsent(d.date(), k -> new HashSet<>()).add(d.activityId());
+    }
+
+    private void unindex(ActivityDetail d) {
+        removeFrom(byHost, d.hostId(), d.activityId());
+        if (d.location() != null) removeFrom(byLocation, d.location(), d.activityId());
+        if (d.date() != null) removeFrom(byDate, d.date(), d.activityId());
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Integer>> index, K key, int activityId) {
+        Set<Integer> ids = index.get(key);
+        if (ids == null) return;
+        ids.remove(activityId);
+        if (ids.isEmpty()) index.remove(key);
+    }
+}
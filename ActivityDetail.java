@@ -0,0 +1,8 @@
+// One row of vw_ActivityDetails as shown in the View Activities tab
+public record ActivityDetail(int activityId, int hostId, String title, String location, java.sql.Date date,
+                             String hostName, String hostEmail) {
+
+    public Object[] toRow() {
+        return new Object[]{activityId, title, location, date, hostName, hostEmail};
+    }
+}
@@ -0,0 +1,221 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// JDBC access for activities. Methods run on the caller's connection and thread.
+public class ActivityRepository {
+    static final String SQL_INSERT = "INSERT INTO Activity (host_id, act_title, act_location, act_date, act_capacity, act_available_seats, act_status) VALUES (?, ?, ?, ?, ?, ?, 'Active')";
+    static final String DETAIL_COLUMNS = "activity_id, host_id, act_title, act_location, act_date, host_name, host_email";
+    static final String SQL_LIST_DETAILS = "SELECT " + DETAIL_COLUMNS + " FROM vw_ActivityDetails";
+    static final int STREAM_FETCH_SIZE = 1000;
+
+    // Columns the View Activities table can be sorted by. NULLs are mapped to a sentinel so keyset comparisons stay total.
+    public enum SortColumn {
+        ID("activity_id"),
+        TITLE("COALESCE(act_title, '')"),
+        LOCATION("COALESCE(act_location, '')"),
+        DATE("COALESCE(act_date, DATE '1900-01-01')"),
+        HOST_NAME("COALESCE(host_name, '')"),
+        HOST_EMAIL("COALESCE(host_email, '')");
+
+        final String expr;
+
+        SortColumn(String expr) { this.expr = expr; }
+
+        // Value of the sort expression for a row, matching what the SQL expression yields
+        Object keyOf(ActivityDetail d) {
+            switch (this) {
+                case ID: return d.activityId();
+                case TITLE: return d.title() == null ? "" : d.title();
+                case LOCATION: return d.location() == null ? "" : d.location();
+                case DATE: return d.date() == null ? java.sql.Date.valueOf("1900-01-01") : d.date();
+                case HOST_NAME: return d.hostName() == null ? "" : d.hostName();
+                default: return d.hostEmail() == null ? "" : d.hostEmail();
+            }
+        }
+    }
+
+    // Position after which a keyset page starts: the sort key and activity_id of the previous page's last row
+    public record PageKey(Object sortValue, int activityId) {
+        static PageKey after(SortColumn sort, ActivityDetail last) {
+            return new PageKey(sort.keyOf(last), last.activityId());
+        }
+    }
+
+    // Insert an Active activity with all seats available; returns the new activity id (or -1 if the driver gives none)
+    public int createActivity(Connection conn, int hostId, String title, String location, java.sql.Date date, int capacity) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            pst.setInt(1, hostId);
+            pst.setString(2, title);
+            pst.setString(3, location);
+            pst.setDate(4, date);
+            pst.setInt(5, capacity);
+            pst.setInt(6, capacity); // Available seats = capacity initially
+            pst.executeUpdate();
+            try (ResultSet rs = pst.getGeneratedKeys()) {
+                return rs != null && rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    public List<ActivityDetail> listActivityDetails(Connection conn) throws SQLException {
+        List<ActivityDetail> rows = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_LIST_DETAILS)) {
+            while (rs.next()) rows.add(readDetail(rs));
+        }
+        return rows;
+    }
+
+    // A row and its 0-based position in each SortColumn's ascending order (indexed by ordinal)
+    public record RankedDetail(ActivityDetail detail, int[] positions) {}
+
+    // Every activity with its position under each sort, numbered by the database with the same ORDER BY as
+    // pageActivityDetails, so its collation decides the order and the cache never sorts text itself
+    public List<RankedDetail> listRankedDetails(Connection conn) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(DETAIL_COLUMNS);
+        for (SortColumn sort : SortColumn.values()) {
+            sql.append(", ROW_NUMBER() OVER (ORDER BY ");
+            if (sort != SortColumn.ID) sql.append(sort.expr).append(", ");
+            sql.append("activity_id) AS pos_").append(sort.name().toLowerCase());
+        }
+        sql.append(" FROM vw_ActivityDetails");
+        List<RankedDetail> rows = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql.toString())) {
+                SortColumn[] sorts = SortColumn.values();
+                while (rs.next()) {
+                    int[] positions = new int[sorts.length];
+                    for (SortColumn sort : sorts) positions[sort.ordinal()] = rs.getInt("pos_" + sort.name().toLowerCase()) - 1;
+                    rows.add(new RankedDetail(readDetail(rs), positions));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Streams every activity with its description to the consumer without materializing the list (search index load).
+    // PostgreSQL only honours the fetch size inside a transaction, so auto-commit is switched off for the scan.
+    public int forEachSearchDocument(Connection conn, java.util.function.BiConsumer<ActivityDetail, String> consumer) throws SQLException {
+        int n = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        if (autoCommit) conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery("SELECT " + DETAIL_COLUMNS + ", act_description FROM vw_ActivityDetails")) {
+                while (rs.next()) {
+                    consumer.accept(readDetail(rs), rs.getString("act_description"));
+                    n++;
+                }
+            }
+            if (autoCommit) conn.commit();
+        } finally {
+            if (autoCommit) conn.setAutoCommit(true);
+        }
+        return n;
+    }
+
+    public ActivityDetail findDetail(Connection conn, int activityId) throws SQLException {
+        List<ActivityDetail> rows = queryDetails(conn, SQL_LIST_DETAILS + " WHERE activity_id = ?", activityId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public List<ActivityDetail> findDetailsByHost(Connection conn, int hostId) throws SQLException {
+        return queryDetails(conn, SQL_LIST_DETAILS + " WHERE host_id = ? ORDER BY activity_id", hostId);
+    }
+
+    public List<ActivityDetail> findDetailsByLocation(Connection conn, String location) throws SQLException {
+        return queryDetails(conn, SQL_LIST_DETAILS + " WHERE act_location = ? ORDER BY activity_id", location);
+    }
+
+    public List<ActivityDetail> findDetailsByDate(Connection conn, java.sql.Date date) throws SQLException {
+        return queryDetails(conn, SQL_LIST_DETAILS + " WHERE act_date = ? ORDER BY activity_id", date);
+    }
+
+    private static List<ActivityDetail> queryDetails(Connection conn, String sql, Object param) throws SQLException {
+        List<ActivityDetail> rows = new ArrayList<>();
+        try (PreparedStatement pst = conn.prepareStatement(sql)) {
+            pst.setObject(1, param);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) rows.add(readDetail(rs));
+            }
+        }
+        return rows;
+    }
+
+    public int countActivityDetails(Connection conn, String filter) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM vw_ActivityDetails");
+        boolean filtered = filter != null && !filter.isBlank();
+        if (filtered) sql.append(" WHERE ").append(FILTER_CLAUSE);
+        try (PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+            if (filtered) bindFilter(pst, 1, filter);
+            try (ResultSet rs = pst.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    // One page of vw_ActivityDetails. With a PageKey the page is located by keyset (index seek);
+    // without one (first page, or a jump past unloaded pages) it falls back to OFFSET.
+    public List<ActivityDetail> pageActivityDetails(Connection conn, SortColumn sort, boolean ascending, String filter,
+                                                    PageKey after, int offset, int limit) throws SQLException {
+        String cmp = ascending ? ">" : "<";
+        String dir = ascending ? "ASC" : "DESC";
+        boolean filtered = filter != null && !filter.isBlank();
+
+        StringBuilder sql = new StringBuilder(SQL_LIST_DETAILS);
+        List<String> where = new ArrayList<>();
+        if (filtered) where.add(FILTER_CLAUSE);
+        if (after != null) {
+            if (sort == SortColumn.ID) where.add("activity_id " + cmp + " ?");
+            else where.add("(" + sort.expr + " " + cmp + " ? OR (" + sort.expr + " = ? AND activity_id " + cmp + " ?))");
+        }
+        if (!where.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", where));
+        sql.append(" ORDER BY ");
+        if (sort != SortColumn.ID) sql.append(sort.expr).append(' ').append(dir).append(", ");
+        sql.append("activity_id ").append(dir).append(" LIMIT ?");
+        if (after == null && offset > 0) sql.append(" OFFSET ?");
+
+        try (PreparedStatement pst = conn.prepareStatement(sql.toString())) {
+            pst.setFetchSize(Math.min(limit, STREAM_FETCH_SIZE));
+            int i = 1;
+            if (filtered) i = bindFilter(pst, i, filter);
+            if (after != null) {
+                if (sort == SortColumn.ID) {
+                    pst.setInt(i++, after.activityId());
+                } else {
+                    pst.setObject(i++, after.sortValue());
+                    pst.setObject(i++, after.sortValue());
+                    pst.setInt(i++, after.activityId());
+                }
+            }
+            pst.setInt(i++, limit);
+            if (after == null && offset > 0) pst.setInt(i, offset);
+            List<ActivityDetail> rows = new ArrayList<>(limit);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) rows.add(readDetail(rs));
+            }
+            return rows;
+        }
+    }
+
+    private static final String FILTER_CLAUSE = "(LOWER(act_title) LIKE ? OR LOWER(act_location) LIKE ? OR LOWER(host_name) LIKE ?)";
+
+    private static int bindFilter(PreparedStatement pst, int index, String filter) throws SQLException {
+        String pattern = "%" + filter.trim().toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        for (int k = 0; k < 3; k++) pst.setString(index++, pattern);
+        return index;
+    }
+
+    static ActivityDetail readDetail(ResultSet rs) throws SQLException {
+        return new ActivityDetail(
+                rs.getInt("activity_id"),
+                rs.getInt("host_id"),
+                rs.getString("act_title"),
+                rs.getString("act_location"),
+                rs.getDate("act_date"),
+                rs.getString("host_name"),
+                rs.getString("host_email"));
+    }
+}
@@ -0,0 +1,237 @@
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over activity titles, descriptions and locations for search-as-you-type.
+// Documents get dense ordinals; each term maps to the ordinals containing it. A query is evaluated
+// term by term into bitsets over ordinals, which are AND-ed together with the act_date range:
+//   - every term but the last must match a token exactly,
+//   - the last term (still being typed) matches any token it prefixes,
+//   - a term with no exact/prefix match falls back to tokens within a small edit distance.
+// Text is lower-cased and stripped of accents, so unaccented queries find accented titles. Writers call
+// add(); a document already present (by activity_id) is ignored, so the startup load and Create Activity may overlap.
+public class ActivitySearchIndex {
+    static final int NO_DATE = Integer.MIN_VALUE;
+    private static final java.util.regex.Pattern ACCENTS = java.util.regex.Pattern.compile("\\p{M}+");
+
+    public record Result(List<ActivityDetail> rows, int total, long micros) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Term dictionary: hashed for the per-token lookups while indexing, sorted for prefix and fuzzy ranges
+    private final HashMap<String, Postings> postings = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private ActivityDetail[] docs = new ActivityDetail[1024];
+    private int[] days = new int[1024];
+    private int size;
+    private final BitSet present = new BitSet();
+    // Shared instances for repeated values (host names, emails, locations, dates) to keep a million rows small
+    private final Map<Object, Object> canonical = new HashMap<>();
+
+    // Growable list of ordinals for one term
+    private static final class Postings {
+        int[] ords = new int[2];
+        int count;
+
+        void add(int ord) {
+            if (count == ords.length) ords = Arrays.copyOf(ords, count * 2);
+            ords[count++] = ord;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(ActivityDetail d, String description) {
+        List<String> words = new ArrayList<>(tokens(d.title()));
+        words.addAll(tokens(description));
+        words.addAll(tokens(d.location()));
+        lock.writeLock().lock();
+        try {
+            if (present.get(d.activityId())) return;
+            present.set(d.activityId());
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                days = Arrays.copyOf(days, size * 2);
+            }
+            int ord = size++;
+            docs[ord] = new ActivityDetail(d.activityId(), d.hostId(), d.title(), shared(d.location()), shared(d.date()),
+                    shared(d.hostName()), shared(d.hostEmail()));
+            days[ord] = d.date() == null ? NO_DATE : (int) d.date().toLocalDate().toEpochDay();
+            for (String t : words) {
+                Postings p = postings.get(t);
+                if (p == null) {
+                    p = new Postings();
+                    postings.put(t, p);
+                    terms.put(t, p);
+                }
+                if (p.count == 0 || p.ords[p.count - 1] != ord) p.add(ord); // a word repeated in the same activity
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T shared(T value) {
+        if (value == null) return null;
+        Object prev = canonical.putIfAbsent(value, value);
+        return prev == null ? value : (T) prev;
+    }
+
+    // Matches in activity order (ordinal order, i.e. load/creation order); at most limit rows, total counts all.
+    // from/to are inclusive and may be null. A query with no terms and no dates matches nothing.
+    public Result search(String query, LocalDate from, LocalDate to, int limit) {
+        long t0 = System.nanoTime();
+        List<String> queryTerms = tokens(query);
+        boolean prefixLast = query != null && !query.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        if (queryTerms.isEmpty() && from == null && to == null) return new Result(List.of(), 0, 0);
+
+        lock.readLock().lock();
+        try {
+            long[] match = null;
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean prefix = prefixLast && i == queryTerms.size() - 1;
+                long[] termBits = termBits(queryTerms.get(i), prefix);
+                if (match == null) match = termBits;
+                else for (int w = 0; w < match.length; w++) match[w] &= termBits[w];
+            }
+            if (match == null) {
+                match = new long[words()];
+                for (int w = 0; w < match.length; w++) match[w] = -1L;
+                if (size % 64 != 0) match[match.length - 1] = (1L << (size % 64)) - 1;
+            }
+            if (from != null || to != null) filterDates(match, from, to);
+
+            int total = 0;
+            for (long w : match) total += Long.bitCount(w);
+            List<ActivityDetail> rows = new ArrayList<>(Math.min(total, limit));
+            for (int w = 0; w < match.length && rows.size() < limit; w++) {
+                long bits = match[w];
+                while (bits != 0 && rows.size() < limit) {
+                    rows.add(docs[w * 64 + Long.numberOfTrailingZeros(bits)]);
+                    bits &= bits - 1;
+                }
+            }
+            return new Result(rows, total, (System.nanoTime() - t0) / 1000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int words() {
+        return (size + 63) / 64;
+    }
+
+    // Ordinals matching one query term: exact (or prefix) first, edit-distance fallback when that finds nothing
+    private long[] termBits(String term, boolean prefix) {
+        long[] bits = new long[words()];
+        boolean any = false;
+        if (prefix) {
+            for (Postings p : terms.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                set(bits, p);
+                any = true;
+            }
+        } else {
+            Postings p = postings.get(term);
+            if (p != null) {
+                set(bits, p);
+                any = true;
+            }
+        }
+        if (!any && term.length() >= 4) {
+            int maxDistance = term.length() >= 8 ? 2 : 1;
+            // Typos rarely hit the first letter; this keeps the scan to one slice of the dictionary
+            String first = term.substring(0, 1);
+            for (Map.Entry<String, Postings> e : terms.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String candidate = e.getKey();
+                int lengthGap = candidate.length() - term.length();
+                if ((prefix ? lengthGap >= -maxDistance : Math.abs(lengthGap) <= maxDistance)
+                        && withinDistance(term, candidate, maxDistance, prefix)) set(bits, e.getValue());
+            }
+        }
+        return bits;
+    }
+
+    private static void set(long[] bits, Postings p) {
+        int[] ords = p.ords;
+        for (int i = 0; i < p.count; i++) bits[ords[i] >>> 6] |= 1L << ords[i];
+    }
+
+    private void filterDates(long[] match, LocalDate from, LocalDate to) {
+        long lo = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long hi = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        for (int w = 0; w < match.length; w++) {
+            long bits = match[w];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                int day = days[w * 64 + bit];
+                if (day == NO_DATE || day < lo || day > hi) match[w] &= ~(1L << bit);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    // Levenshtein distance from a to b (or, with prefix, to some prefix of b) <= max.
+    // Computed on one row pair with an early exit once every cell exceeds max.
+    static boolean withinDistance(String a, String b, int max, boolean prefix) {
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return false;
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        if (!prefix) return prev[b.length()] <= max;
+        for (int d : prev) if (d <= max) return true;
+        return false;
+    }
+
+    // Lower-case, accent-free alphanumeric tokens
+    static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+        String folded = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) { // decomposing is the expensive part, and most text is plain ASCII
+                folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        folded = folded.toLowerCase(Locale.ROOT);
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) start = i;
+            else if (!word && start >= 0) {
+                out.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,165 @@
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+
+// Virtualized model for the View Activities table. Only the row count is loaded up front;
+// rows are fetched a page at a time as the table asks for them, keeping at most
+// MAX_CACHED_PAGES pages in memory (LRU, never evicting the pages on screen) and
+// prefetching one page ahead. Sorting and filtering are done by the database.
+// All methods are called on the EDT; page loads run on the HostLinkService executor.
+public class ActivityTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final String[] COLUMNS = {"ID", "Title", "Location", "Date", "Host Name", "Host Email"};
+    private static final ActivityRepository.SortColumn[] SORT_COLUMNS = ActivityRepository.SortColumn.values();
+    static final int PAGE_SIZE = 200;
+    static final int MAX_CACHED_PAGES = 10;
+
+    private final HostLinkService service;
+    private final Map<Integer, List<ActivityDetail>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<ActivityDetail>> eldest) {
+            if (size() <= MAX_CACHED_PAGES) return false;
+            // Drop the least recently used page that is not on screen
+            Iterator<Integer> it = keySet().iterator();
+            while (it.hasNext()) {
+                if (!isVisible(it.next())) {
+                    it.remove();
+                    break;
+                }
+            }
+            return false;
+        }
+    };
+    // The two pages most recently read by the table; a viewport spans at most two pages
+    private final int[] visiblePages = {-1, -1};
+    // Keyset position after the last row of each page seen so far, so page n+1 can be fetched without OFFSET
+    private final Map<Integer, ActivityRepository.PageKey> pageEnds = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private final Timer retryTimer;
+
+    private ActivityRepository.SortColumn sort = ActivityRepository.SortColumn.ID;
+    private boolean ascending = true;
+    private String filter = "";
+    private int rowCount;
+    private int generation;
+    private java.util.function.Consumer<Throwable> errorHandler = ex -> {};
+
+    public ActivityTableModel(HostLinkService service) {
+        this.service = service;
+        // Page loads rejected under back-pressure are retried on the next repaint
+        this.retryTimer = new Timer(250, e -> fireTableDataChanged());
+        retryTimer.setRepeats(false);
+    }
+
+    public void setErrorHandler(java.util.function.Consumer<Throwable> handler) {
+        this.errorHandler = handler;
+    }
+
+    // Drop everything and reload the row count; pages are fetched again on demand
+    public void refresh() {
+        int gen = ++generation;
+        pages.clear();
+        pageEnds.clear();
+        loading.clear();
+        visiblePages[0] = visiblePages[1] = -1;
+        SwingAsync.onEdt(service.countActivities(filter),
+                count -> {
+                    if (gen != generation) return;
+                    rowCount = count;
+                    fireTableDataChanged();
+                },
+                ex -> {
+                    if (gen == generation) errorHandler.accept(ex);
+                });
+    }
+
+    public void setFilter(String filter) {
+        String f = filter == null ? "" : filter.trim();
+        if (f.equals(this.filter)) return;
+        this.filter = f;
+        refresh();
+    }
+
+    // Clicking the same column again flips the direction
+    public void toggleSort(int column) {
+        ActivityRepository.SortColumn col = SORT_COLUMNS[column];
+        if (col == sort) ascending = !ascending;
+        else {
+            sort = col;
+            ascending = true;
+        }
+        refresh();
+    }
+
+    @Override
+    public int getRowCount() { return rowCount; }
+
+    @Override
+    public int getColumnCount() { return COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) {
+        String name = COLUMNS[column];
+        if (SORT_COLUMNS[column] == sort) name += ascending ? " (asc)" : " (desc)";
+        return name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? Integer.class : Object.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        if (page != visiblePages[0]) {
+            visiblePages[1] = visiblePages[0];
+            visiblePages[0] = page;
+        }
+        List<ActivityDetail> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page, false);
+            return column == 1 ? "Loading..." : null;
+        }
+        int idx = row % PAGE_SIZE;
+        if (idx >= rows.size()) return null;
+        return rows.get(idx).toRow()[column];
+    }
+
+    private boolean isVisible(int page) {
+        return page == visiblePages[0] || page == visiblePages[1];
+    }
+
+    // A page the table asked for also prefetches the page after it; a prefetched page does not chain further
+    private void requestPage(int page, boolean prefetch) {
+        if (page < 0 || page * PAGE_SIZE >= rowCount || pages.containsKey(page) || !loading.add(page)) return;
+        int gen = generation;
+        ActivityRepository.PageKey after = page == 0 ? null : pageEnds.get(page - 1);
+        SwingAsync.onEdt(service.loadActivityPage(sort, ascending, filter, after, page * PAGE_SIZE, PAGE_SIZE),
+                rows -> {
+                    if (gen != generation) return;
+                    loading.remove(page);
+                    pages.put(page, rows);
+                    if (!rows.isEmpty()) pageEnds.put(page, ActivityRepository.PageKey.after(sort, rows.get(rows.size() - 1)));
+                    int first = page * PAGE_SIZE;
+                    int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+                    if (last >= first) fireTableRowsUpdated(first, last);
+                    // Prefetch the next page so scrolling down does not stall
+                    if (!prefetch && rows.size() == PAGE_SIZE) requestPage(page + 1, true);
+                },
+                ex -> {
+                    if (gen != generation) return;
+                    loading.remove(page);
+                    if (ex instanceof java.util.concurrent.RejectedExecutionException) retryTimer.restart();
+                    else errorHandler.accept(ex);
+                });
+    }
+
+    int cachedPageCount() {
+        return pages.size();
+    }
+
+    boolean isPageCached(int page) {
+        return pages.containsKey(page);
+    }
+}
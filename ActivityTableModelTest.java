@@ -0,0 +1,109 @@
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Page-load checks for ActivityTableModel, run like ReservationStressTest:
+//   java -cp ".;lib\*" ActivityTableModelTest
+// Uses a stub service (no database) that counts page loads and can hold them back,
+// so prefetch and eviction can be checked in a fixed order.
+public class ActivityTableModelTest {
+    private static final int ROWS = 2006;
+
+    // Serves pages of synthetic rows and counts how many were asked for
+    static final class CountingService extends HostLinkService {
+        final List<Integer> loads = new ArrayList<>();
+        final List<Runnable> held = new ArrayList<>();
+        boolean hold;
+
+        CountingService() {
+            super(new DbExecutor(1, 0));
+        }
+
+        @Override
+        public CompletableFuture<Integer> countActivities(String filter) {
+            return CompletableFuture.completedFuture(ROWS);
+        }
+
+        @Override
+        public synchronized CompletableFuture<List<ActivityDetail>> loadActivityPage(ActivityRepository.SortColumn sort, boolean ascending, String filter,
+                                                                                    ActivityRepository.PageKey after, int offset, int limit) {
+            loads.add(offset / limit);
+            List<ActivityDetail> rows = new ArrayList<>();
+            for (int i = offset; i < Math.min(ROWS, offset + limit); i++) {
+                rows.add(new ActivityDetail(i + 1, 1, "Activity " + (i + 1), "Town", java.sql.Date.valueOf("2030-01-01"), "Host", "host@example.com"));
+            }
+            CompletableFuture<List<ActivityDetail>> f = new CompletableFuture<>();
+            if (hold) held.add(() -> f.complete(rows));
+            else f.complete(rows);
+            return f;
+        }
+
+        synchronized void release() {
+            for (Runnable r : held) r.run();
+            held.clear();
+        }
+
+        synchronized int loadCount() {
+            return loads.size();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean allOk = true;
+        allOk &= prefetchesOnePageAhead();
+        allOk &= keepsVisiblePagesCached();
+        System.out.println(allOk ? "Result: PASS" : "Result: FAIL");
+        System.exit(allOk ? 0 : 1);
+    }
+
+    // Touching row 0 loads page 0 plus one prefetched page, and touching it again loads nothing
+    private static boolean prefetchesOnePageAhead() throws Exception {
+        CountingService service = new CountingService();
+        ActivityTableModel model = new ActivityTableModel(service);
+        onEdt(model::refresh);
+        onEdt(() -> model.getValueAt(0, 1));
+        int first = service.loadCount();
+        onEdt(() -> model.getValueAt(0, 1));
+        int second = service.loadCount();
+        return check("prefetch one page ahead", first == 2 && second == 2, "loads after first touch=" + first + ", after second=" + second);
+    }
+
+    // Pages on screen survive eviction even when older requests complete after them
+    private static boolean keepsVisiblePagesCached() throws Exception {
+        CountingService service = new CountingService();
+        ActivityTableModel model = new ActivityTableModel(service);
+        onEdt(model::refresh);
+        service.hold = true;
+        for (int page = 2; page < 2 + ActivityTableModel.MAX_CACHED_PAGES; page++) {
+            int row = page * ActivityTableModel.PAGE_SIZE;
+            onEdt(() -> model.getValueAt(row, 1));
+        }
+        service.hold = false;
+        onEdt(() -> model.getValueAt(0, 1));
+        onEdt(() -> model.getValueAt(ActivityTableModel.PAGE_SIZE, 1));
+        service.release();
+        onEdt(() -> {});
+        int[] cached = new int[1];
+        boolean[] visible = new boolean[2];
+        onEdt(() -> {
+            cached[0] = model.cachedPageCount();
+            visible[0] = model.isPageCached(0);
+            visible[1] = model.isPageCached(1);
+        });
+        boolean ok = visible[0] && visible[1] && cached[0] <= ActivityTableModel.MAX_CACHED_PAGES;
+        return check("visible pages pinned", ok, "cached=" + cached[0] + " page0=" + visible[0] + " page1=" + visible[1] + " loads=" + service.loadCount());
+    }
+
+    // Runs the action on the EDT after everything already queued there, i.e. after pending page callbacks
+    private static void onEdt(Runnable action) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {});
+        SwingUtilities.invokeAndWait(action);
+        SwingUtilities.invokeAndWait(() -> {});
+    }
+
+    private static boolean check(String name, boolean ok, String detail) {
+        System.out.printf("%-26s %s  %s%n", name, ok ? "OK" : "FAILED", detail);
+        return ok;
+    }
+}
@@ -0,0 +1,87 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps one pool per backend and decides which one callers borrow from.
+// A background task probes the primary (PostgreSQL) and switches to the fallback (H2)
+// while it is down, and back again once it answers. Callers never wait on a probe.
+public class BackendMonitor implements AutoCloseable {
+    private final DbBackend primary;
+    private final DbBackend fallback;
+    private final ConnectionPool primaryPool;
+    private final ConnectionPool fallbackPool;
+    private final int probeTimeoutSeconds;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean primaryUp;
+
+    public BackendMonitor(DbBackend primary, ConnectionPool primaryPool, DbBackend fallback, ConnectionPool fallbackPool,
+                          int probeTimeoutSeconds, boolean primaryInitiallyUp) {
+        this.primary = primary;
+        this.fallback = fallback;
+        this.primaryPool = primaryPool;
+        this.fallbackPool = fallbackPool;
+        this.probeTimeoutSeconds = probeTimeoutSeconds;
+        this.primaryUp = primaryInitiallyUp && primary != null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-health-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start(long intervalMillis) {
+        if (primary == null || fallback == null) return; // nothing to switch between
+        scheduler.scheduleWithFixedDelay(this::checkPrimary, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void checkPrimary() {
+        boolean up = primary.probe(probeTimeoutSeconds);
+        if (up != primaryUp) {
+            primaryUp = up;
+            System.out.println(up ? "Primary database is back, switching to " + primary : "Primary database unreachable, switching to " + fallback);
+            // Drop idle connections of the backend we are leaving so they do not linger
+            (up ? fallbackPool : primaryPool).drainIdle();
+        }
+    }
+
+    public Connection borrow() throws SQLException {
+        ConnectionPool pool = activePool();
+        if (pool == null) throw new SQLException("No database backend available");
+        try {
+            return pool.borrow();
+        } catch (SQLException e) {
+            if (pool != primaryPool || fallbackPool == null || e instanceof java.sql.SQLTransientConnectionException) throw e;
+            // Primary failed between probes: fail over now instead of waiting for the next probe
+            markPrimaryDown();
+            return fallbackPool.borrow();
+        }
+    }
+
+    private void markPrimaryDown() {
+        if (primaryUp) {
+            primaryUp = false;
+            System.out.println("Primary database connection failed, switching to " + fallback);
+            primaryPool.drainIdle();
+        }
+    }
+
+    public ConnectionPool activePool() {
+        if (primaryUp || fallbackPool == null) return primaryPool;
+        return fallbackPool;
+    }
+
+    public DbBackend activeBackend() {
+        return activePool() == primaryPool ? primary : fallback;
+    }
+
+    public boolean isPrimaryUp() { return primaryUp; }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (primaryPool != null) primaryPool.close();
+        if (fallbackPool != null) fallbackPool.close();
+    }
+}
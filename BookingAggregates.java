@@ -0,0 +1,175 @@
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Maintains the reporting rollups created by migration V5:
+//   rollup_host_revenue    completed payment revenue per host
+//   rollup_activity_fill   non-cancelled bookings and spots per activity (fill rate = spots / capacity)
+//   rollup_daily_bookings  non-cancelled bookings and spots per booking day (16 shards per day)
+// Writers call the *Changed methods inside the transaction that changes the Booking or Payment
+// row, so rollups commit or roll back with it. rebuild() recomputes everything from the base tables.
+// Report queries read only the rollups, so their cost does not grow with Booking/Payment.
+public class BookingAggregates {
+    static final int DAY_SHARDS = 16;
+
+    public record HostRevenue(int hostId, String hostName, BigDecimal revenue, int paidBookings) {}
+
+    public record ActivityFill(int activityId, String title, int capacity, int bookings, int spotsBooked) {
+        public double fillRate() { return capacity <= 0 ? 0 : (double) spotsBooked / capacity; }
+    }
+
+    public record DailyBookings(java.sql.Date day, int bookings, int spots) {}
+
+    // A booking started (counted=true) or stopped (counted=false) counting, e.g. created or cancelled.
+    // day = booking day, or null for today (the default bkg_Date of a new booking).
+    public void bookingChanged(Connection conn, int activityId, java.sql.Date day, int spots, boolean counted) throws SQLException {
+        int sign = counted ? 1 : -1;
+        String dayExpr = day == null ? "CURRENT_DATE" : "?";
+        if (!updateActivityFill(conn, activityId, sign, spots)) {
+            try (PreparedStatement ins = conn.prepareStatement("INSERT INTO rollup_activity_fill (activity_id, capacity, bookings, spots_booked) SELECT activity_id, act_capacity, 0, 0 FROM Activity WHERE activity_id = ?")) {
+                ins.setInt(1, activityId);
+                insertIgnoringDuplicate(conn, ins);
+            }
+            updateActivityFill(conn, activityId, sign, spots);
+        }
+        int shard = Math.floorMod(activityId, DAY_SHARDS);
+        if (!updateDaily(conn, dayExpr, day, shard, sign, spots)) {
+            try (PreparedStatement ins = conn.prepareStatement("INSERT INTO rollup_daily_bookings (booking_day, shard, bookings, spots) VALUES (" + dayExpr + ", ?, 0, 0)")) {
+                int i = 1;
+                if (day != null) ins.setDate(i++, day);
+                ins.setInt(i, shard);
+                insertIgnoringDuplicate(conn, ins);
+            }
+            updateDaily(conn, dayExpr, day, shard, sign, spots);
+        }
+    }
+
+    // A payment started or stopped counting as revenue (paymentStatus moved to or from 'Completed')
+    public void paymentChanged(Connection conn, int bookingId, BigDecimal amount, boolean counted) throws SQLException {
+        int hostId;
+        try (PreparedStatement pst = conn.prepareStatement("SELECT a.host_id FROM Booking b JOIN Activity a ON b.activity_id = a.activity_id WHERE b.booking_id = ?")) {
+            pst.setInt(1, bookingId);
+            try (ResultSet rs = pst.executeQuery()) {
+                if (!rs.next()) throw new SQLException("Booking " + bookingId + " does not exist");
+                hostId = rs.getInt(1);
+            }
+        }
+        BigDecimal delta = counted ? amount : amount.negate();
+        int count = counted ? 1 : -1;
+        if (!updateHostRevenue(conn, hostId, delta, count)) {
+            try (PreparedStatement ins = conn.prepareStatement("INSERT INTO rollup_host_revenue (host_id, revenue, paid_bookings) VALUES (?, 0, 0)")) {
+                ins.setInt(1, hostId);
+                insertIgnoringDuplicate(conn, ins);
+            }
+            updateHostRevenue(conn, hostId, delta, count);
+        }
+    }
+
+    // Recompute every rollup from Booking/Payment/Activity in one transaction
+    public void rebuild(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM rollup_host_revenue");
+            st.executeUpdate("DELETE FROM rollup_activity_fill");
+            st.executeUpdate("DELETE FROM rollup_daily_bookings");
+            st.executeUpdate("INSERT INTO rollup_activity_fill (activity_id, capacity, bookings, spots_booked) "
+                    + "SELECT a.activity_id, a.act_capacity, COUNT(b.booking_id), COALESCE(SUM(b.bkg_spotsReserved), 0) "
+                    + "FROM Activity a JOIN Booking b ON b.activity_id = a.activity_id AND b.bkg_Status <> 'Cancelled' "
+                    + "GROUP BY a.activity_id, a.act_capacity");
+            st.executeUpdate("INSERT INTO rollup_daily_bookings (booking_day, shard, bookings, spots) "
+                    + "SELECT CAST(b.bkg_Date AS DATE), MOD(b.activity_id, " + DAY_SHARDS + "), COUNT(*), SUM(b.bkg_spotsReserved) "
+                    + "FROM Booking b WHERE b.bkg_Status <> 'Cancelled' "
+                    + "GROUP BY CAST(b.bkg_Date AS DATE), MOD(b.activity_id, " + DAY_SHARDS + ")");
+            st.executeUpdate("INSERT INTO rollup_host_revenue (host_id, revenue, paid_bookings) "
+                    + "SELECT a.host_id, SUM(p.payTotalAmount), COUNT(*) FROM Payment p "
+                    + "JOIN Booking b ON p.booking_id = b.booking_id JOIN Activity a ON b.activity_id = a.activity_id "
+                    + "WHERE p.paymentStatus = 'Completed' GROUP BY a.host_id");
+            conn.commit();
+        } catch (SQLException ex) {
+            try { conn.rollback(); } catch (SQLException ignore) {}
+            throw ex;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    public List<HostRevenue> topHostsByRevenue(Connection conn, int limit) throws SQLException {
+        List<HostRevenue> rows = new ArrayList<>();
+        try (PreparedStatement pst = conn.prepareStatement("SELECT r.host_id, u.username, r.revenue, r.paid_bookings FROM rollup_host_revenue r "
+                + "JOIN UserAccount u ON u.User_id = r.host_id ORDER BY r.revenue DESC, r.host_id LIMIT ?")) {
+            pst.setInt(1, limit);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) rows.add(new HostRevenue(rs.getInt(1), rs.getString(2), rs.getBigDecimal(3), rs.getInt(4)));
+            }
+        }
+        return rows;
+    }
+
+    public List<ActivityFill> topActivitiesByFill(Connection conn, int limit) throws SQLException {
+        List<ActivityFill> rows = new ArrayList<>();
+        try (PreparedStatement pst = conn.prepareStatement("SELECT r.activity_id, a.act_title, r.capacity, r.bookings, r.spots_booked FROM rollup_activity_fill r "
+                + "JOIN Activity a ON a.activity_id = r.activity_id ORDER BY CAST(r.spots_booked AS DECIMAL(12, 4)) / r.capacity DESC, r.activity_id LIMIT ?")) {
+            pst.setInt(1, limit);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) rows.add(new ActivityFill(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)));
+            }
+        }
+        return rows;
+    }
+
+    public List<DailyBookings> bookingsPerDay(Connection conn, int days) throws SQLException {
+        List<DailyBookings> rows = new ArrayList<>();
+        try (PreparedStatement pst = conn.prepareStatement("SELECT booking_day, SUM(bookings), SUM(spots) FROM rollup_daily_bookings "
+                + "GROUP BY booking_day ORDER BY booking_day DESC LIMIT ?")) {
+            pst.setInt(1, days);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) rows.add(new DailyBookings(rs.getDate(1), rs.getInt(2), rs.getInt(3)));
+            }
+        }
+        return rows;
+    }
+
+    private static boolean updateActivityFill(Connection conn, int activityId, int sign, int spots) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement("UPDATE rollup_activity_fill SET bookings = bookings + ?, spots_booked = spots_booked + ? WHERE activity_id = ?")) {
+            pst.setInt(1, sign);
+            pst.setInt(2, sign * spots);
+            pst.setInt(3, activityId);
+            return pst.executeUpdate() > 0;
+        }
+    }
+
+    private static boolean updateDaily(Connection conn, String dayExpr, java.sql.Date day, int shard, int sign, int spots) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement("UPDATE rollup_daily_bookings SET bookings = bookings + ?, spots = spots + ? WHERE booking_day = " + dayExpr + " AND shard = ?")) {
+            int i = 1;
+            pst.setInt(i++, sign);
+            pst.setInt(i++, sign * spots);
+            if (day != null) pst.setDate(i++, day);
+            pst.setInt(i, shard);
+            return pst.executeUpdate() > 0;
+        }
+    }
+
+    private static boolean updateHostRevenue(Connection conn, int hostId, BigDecimal delta, int count) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement("UPDATE rollup_host_revenue SET revenue = revenue + ?, paid_bookings = paid_bookings + ? WHERE host_id = ?")) {
+            pst.setBigDecimal(1, delta);
+            pst.setInt(2, count);
+            pst.setInt(3, hostId);
+            return pst.executeUpdate() > 0;
+        }
+    }
+
+    // Another transaction may create the same rollup row first; the follow-up UPDATE then applies to theirs.
+    // A savepoint keeps the duplicate-key error from aborting the caller's transaction on PostgreSQL.
+    private static void insertIgnoringDuplicate(Connection conn, PreparedStatement ins) throws SQLException {
+        Savepoint sp = conn.getAutoCommit() ? null : conn.setSavepoint();
+        try {
+            ins.executeUpdate();
+            if (sp != null) conn.releaseSavepoint(sp);
+        } catch (SQLException ex) {
+            if (!"23505".equals(ex.getSQLState())) throw ex;
+            if (sp != null) conn.rollback(sp);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streaming bulk loader for partner catalogs.
+//   java -cp ".;lib\*" BulkImporter hosts|activities <file.csv|file.jsonl> [--batch-size N] [--resume] [--no-copy] [--errors errors.txt]
+// Host records: username, password, email, cin, description, phone (one UserAccount + Host pair each).
+// Activity records: host_id or host_username, title, description, image, location, date (YYYY-MM-DD), time (HH:MM[:SS]),
+// capacity, available_seats (defaults to capacity), status (defaults to Active).
+// Rows are read one at a time and written in JDBC batches; only one batch is held in memory.
+// A row that fails is reported and skipped, the rest of its batch is still imported.
+// After every committed batch the last input line is written to <file>.checkpoint so --resume can continue from there.
+public class BulkImporter {
+    public enum Kind { HOSTS, ACTIVITIES }
+
+    // Receives rows that could not be imported
+    public interface ErrorSink {
+        void rowFailed(long line, String message);
+    }
+
+    public record Result(long read, long imported, long failed, long skipped, double seconds) {
+        public double rowsPerSecond() { return seconds > 0 ? imported / seconds : imported; }
+
+        @Override
+        public String toString() {
+            return String.format("read=%d imported=%d failed=%d skipped(resume)=%d in %.2fs (%.0f rows/s)",
+                    read, imported, failed, skipped, seconds, rowsPerSecond());
+        }
+    }
+
+    static final String SQL_INSERT_ACTIVITY = "INSERT INTO Activity (host_id, act_title, act_description, act_image, act_location, act_date, act_time, act_capacity, act_available_seats, act_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String COPY_ACTIVITY = "COPY Activity (host_id, act_title, act_description, act_image, act_location, act_date, act_time, act_capacity, act_available_seats, act_status) FROM STDIN WITH (FORMAT csv)";
+    private static final int HOST_LOOKUP_CACHE = 10_000;
+
+    private final ConnectionPool.ConnectionFactory source;
+    private final int batchSize;
+    private final boolean useCopy;
+    private final HostRepository hosts = new HostRepository();
+    private final Map<String, Integer> hostIds = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > HOST_LOOKUP_CACHE;
+        }
+    };
+
+    public BulkImporter(ConnectionPool.ConnectionFactory source, int batchSize, boolean useCopy) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+        this.source = source;
+        this.batchSize = batchSize;
+        this.useCopy = useCopy;
+    }
+
+    private record HostRow(long line, String username, String password, String email, String cin, String description, String phone) {}
+
+    private record ActivityRow(long line, int hostId, String title, String description, String image, String location,
+                               java.sql.Date date, java.sql.Time time, int capacity, int available, String status) {}
+
+    // checkpoint may be null; when resume is true, rows up to the line stored in it are skipped
+    public Result importFile(Kind kind, Path file, Path checkpoint, boolean resume, ErrorSink errors) throws IOException, SQLException {
+        long resumeAfter = resume ? readCheckpoint(checkpoint) : 0;
+        if (resumeAfter > 0) System.out.println("Resuming after line " + resumeAfter);
+        long t0 = System.nanoTime();
+        long[] counts = new long[4]; // read, imported, failed, skipped
+
+        try (RecordReader reader = RecordReader.open(file);
+             Connection conn = source.open()) {
+            boolean copy = useCopy && kind == Kind.ACTIVITIES && Dialect.of(conn) == Dialect.POSTGRESQL && copyApi(conn) != null;
+            List<Object> batch = new ArrayList<>(batchSize);
+            long lastLine = resumeAfter;
+            while (true) {
+                RecordReader.Row row;
+                try {
+                    row = reader.next();
+                } catch (IllegalArgumentException bad) {
+                    if (reader.currentLine() <= resumeAfter) {
+                        counts[3]++;
+                        continue;
+                    }
+                    counts[0]++;
+                    counts[2]++;
+                    errors.rowFailed(reader.currentLine(), bad.getMessage());
+                    continue;
+                }
+                if (row == null) break;
+                if (row.line() <= resumeAfter) {
+                    counts[3]++;
+                    continue;
+                }
+                counts[0]++;
+                lastLine = row.line();
+                try {
+                    batch.add(kind == Kind.HOSTS ? parseHost(row) : parseActivity(conn, row));
+                } catch (IllegalArgumentException | SQLException bad) {
+                    counts[2]++;
+                    errors.rowFailed(row.line(), bad.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(conn, kind, batch, copy, counts, errors);
+                    writeCheckpoint(checkpoint, lastLine);
+                }
+            }
+            flush(conn, kind, batch, copy, counts, errors);
+            writeCheckpoint(checkpoint, lastLine);
+        }
+        return new Result(counts[0], counts[1], counts[2], counts[3], (System.nanoTime() - t0) / 1e9);
+    }
+
+    private void flush(Connection conn, Kind kind, List<Object> batch, boolean copy, long[] counts, ErrorSink errors) throws SQLException {
+        if (batch.isEmpty()) return;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (kind == Kind.HOSTS) insertHostBatch(conn, batch);
+            else if (copy) copyActivityBatch(conn, batch);
+            else insertActivityBatch(conn, batch);
+            conn.commit();
+            counts[1] += batch.size();
+        } catch (SQLException batchFailure) {
+            conn.rollback();
+            // Replay one row per transaction so only the offending rows are rejected
+            for (Object r : batch) {
+                try {
+                    if (r instanceof HostRow h) {
+                        hosts.registerHost(conn, h.username(), h.password(), h.email(), h.cin(), h.description(), h.phone());
+                    } else {
+                        insertActivityBatch(conn, List.of(r));
+                    }
+                    conn.commit();
+                    counts[1]++;
+                } catch (SQLException rowFailure) {
+                    try { conn.rollback(); } catch (SQLException ignore) {}
+                    counts[2]++;
+                    errors.rowFailed(r instanceof HostRow h ? h.line() : ((ActivityRow) r).line(), rowFailure.getMessage());
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+            batch.clear();
+        }
+    }
+
+    // UserAccount rows in one batch, their generated ids read back in order, then the Host rows
+    private void insertHostBatch(Connection conn, List<Object> batch) throws SQLException {
+        int[] ids = new int[batch.size()];
+        try (PreparedStatement pst = conn.prepareStatement(HostRepository.SQL_INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            for (Object o : batch) {
+                HostRow h = (HostRow) o;
+                pst.setString(1, h.username());
+                pst.setString(2, h.password());
+                pst.setString(3, h.email());
+                pst.addBatch();
+            }
+            pst.executeBatch();
+            int n = 0;
+            try (ResultSet rs = pst.getGeneratedKeys()) {
+                while (rs != null && rs.next() && n < ids.length) ids[n++] = rs.getInt(1);
+            }
+            if (n != ids.length) throw new SQLException("Driver returned " + n + " generated keys for " + ids.length + " rows");
+        }
+        try (PreparedStatement pst = conn.prepareStatement(HostRepository.SQL_INSERT_HOST)) {
+            for (int i = 0; i < ids.length; i++) {
+                HostRow h = (HostRow) batch.get(i);
+                pst.setInt(1, ids[i]);
+                pst.setString(2, h.cin());
+                pst.setString(3, h.description());
+                pst.setString(4, h.phone());
+                pst.addBatch();
+            }
+            pst.executeBatch();
+        }
+    }
+
+    private void insertActivityBatch(Connection conn, List<Object> batch) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement(SQL_INSERT_ACTIVITY)) {
+            for (Object o : batch) {
+                ActivityRow a = (ActivityRow) o;
+                pst.setInt(1, a.hostId());
+                pst.setString(2, a.title());
+                pst.setString(3, a.description());
+                pst.setString(4, a.image());
+                pst.setString(5, a.location());
+                pst.setDate(6, a.date());
+                pst.setTime(7, a.time());
+                pst.setInt(8, a.capacity());
+                pst.setInt(9, a.available());
+                pst.setString(10, a.status());
+                pst.addBatch();
+            }
+            pst.executeBatch();
+        }
+    }
+
+    // PostgreSQL COPY ... FROM STDIN for activity rows (no generated keys are needed back)
+    private void copyActivityBatch(Connection conn, List<Object> batch) throws SQLException {
+        StringBuilder csv = new StringBuilder(batch.size() * 128);
+        for (Object o : batch) {
+            ActivityRow a = (ActivityRow) o;
+            csv.append(a.hostId()).append(',');
+            csvField(csv, a.title()).append(',');
+            csvField(csv, a.description()).append(',');
+            csvField(csv, a.image()).append(',');
+            csvField(csv, a.location()).append(',');
+            csvField(csv, a.date() == null ? null : a.date().toString()).append(',');
+            csvField(csv, a.time() == null ? null : a.time().toString()).append(',');
+            csv.append(a.capacity()).append(',').append(a.available()).append(',');
+            csvField(csv, a.status()).append('\n');
+        }
+        Object api = copyApi(conn);
+        try {
+            api.getClass().getMethod("copyIn", String.class, java.io.Reader.class).invoke(api, COPY_ACTIVITY, new StringReader(csv.toString()));
+        } catch (java.lang.reflect.InvocationTargetException ite) {
+            Throwable cause = ite.getCause();
+            throw cause instanceof SQLException ? (SQLException) cause : new SQLException("COPY failed: " + cause, cause);
+        } catch (ReflectiveOperationException ex) {
+            throw new SQLException("COPY not available: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static StringBuilder csvField(StringBuilder sb, String value) {
+        if (value == null) return sb; // empty unquoted field = NULL in COPY csv
+        return sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    // The PostgreSQL driver's CopyManager, looked up reflectively so the driver stays an optional runtime dependency
+    private static Object copyApi(Connection conn) {
+        try {
+            Class<?> pgConn = Class.forName("org.postgresql.PGConnection");
+            Object pg = conn.unwrap(pgConn);
+            return pgConn.getMethod("getCopyAPI").invoke(pg);
+        } catch (Exception | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private static HostRow parseHost(RecordReader.Row row) {
+        return new HostRow(row.line(), required(row, "username"), required(row, "password"), required(row, "email"),
+                row.get("cin"), row.get("description"), row.get("phone"));
+    }
+
+    private ActivityRow parseActivity(Connection conn, RecordReader.Row row) throws SQLException {
+        int hostId;
+        if (row.get("host_id") != null) hostId = parseInt(row, "host_id");
+        else hostId = resolveHost(conn, required(row, "host_username"));
+        int capacity = parseInt(row, "capacity");
+        int available = row.get("available_seats") == null ? capacity : parseInt(row, "available_seats");
+        String status = row.get("status") == null ? "Active" : row.get("status");
+        java.sql.Date date = row.get("date") == null ? null : java.sql.Date.valueOf(row.get("date"));
+        String t = row.get("time");
+        java.sql.Time time = t == null ? null : java.sql.Time.valueOf(t.length() == 5 ? t + ":00" : t);
+        return new ActivityRow(row.line(), hostId, required(row, "title"), row.get("description"), row.get("image"),
+                row.get("location"), date, time, capacity, available, status);
+    }
+
+    private int resolveHost(Connection conn, String username) throws SQLException {
+        Integer cached = hostIds.get(username);
+        if (cached != null) return cached;
+        try (PreparedStatement pst = conn.prepareStatement("SELECT h.host_id FROM Host h JOIN UserAccount u ON h.host_id = u.User_id WHERE u.username = ?")) {
+            pst.setString(1, username);
+            try (ResultSet rs = pst.executeQuery()) {
+                if (!rs.next()) throw new SQLException("Unknown host_username '" + username + "'");
+                int id = rs.getInt(1);
+                hostIds.put(username, id);
+                return id;
+            }
+        }
+    }
+
+    private static String required(RecordReader.Row row, String key) {
+        String v = row.get(key);
+        if (v == null) throw new IllegalArgumentException("missing required field '" + key + "'");
+        return v;
+    }
+
+    private static int parseInt(RecordReader.Row row, String key) {
+        String v = required(row, key);
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("field '" + key + "' is not a number: " + v);
+        }
+    }
+
+    static long readCheckpoint(Path checkpoint) throws IOException {
+        if (checkpoint == null || !Files.exists(checkpoint)) return 0;
+        String text = Files.readString(checkpoint, StandardCharsets.UTF_8).trim();
+        return text.isEmpty() ? 0 : Long.parseLong(text);
+    }
+
+    static void writeCheckpoint(Path checkpoint, long line) throws IOException {
+        if (checkpoint == null) return;
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.writeString(tmp, Long.toString(line), StandardCharsets.UTF_8);
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BulkImporter hosts|activities <file.csv|file.jsonl> [--batch-size N] [--resume] [--no-copy] [--errors errors.txt]");
+            System.exit(2);
+        }
+        Kind kind = Kind.valueOf(args[0].toUpperCase());
+        Path file = Paths.get(args[1]);
+        int batchSize = 1000;
+        boolean resume = false;
+        boolean copy = true;
+        Path errorFile = null;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch-size": batchSize = Integer.parseInt(args[++i]); break;
+                case "--resume": resume = true; break;
+                case "--no-copy": copy = false; break;
+                case "--errors": errorFile = Paths.get(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        Path checkpoint = file.resolveSibling(file.getFileName() + ".checkpoint");
+        BulkImporter importer = new BulkImporter(() -> {
+            Connection c = DBConnection.connect();
+            if (c == null) throw new SQLException("Cannot connect to database");
+            return c;
+        }, batchSize, copy);
+
+        PrintWriter errOut = errorFile == null ? new PrintWriter(System.err, true)
+                : new PrintWriter(Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8));
+        try (errOut) {
+            Result result = importer.importFile(kind, file, checkpoint, resume, (line, msg) -> errOut.println("line " + line + ": " + msg));
+            System.out.println("Import finished: " + result);
+            // A complete run does not need its checkpoint any more
+            Files.deleteIfExists(checkpoint);
+        }
+        System.exit(0);
+    }
+}
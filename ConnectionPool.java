@@ -0,0 +1,558 @@
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded JDBC connection pool. Connections handed out are leases: close() returns
+// the physical connection to the pool and prepareStatement() is served from a small
+// per-connection statement cache. Leases and cached statements are plain delegating
+// classes (like JdbcInstrumentation's), since every JDBC call goes through them.
+public class ConnectionPool implements AutoCloseable {
+
+    // Opens a new physical connection (PostgreSQL or H2)
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final String name;
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final LatencyRecorder acquireLatency = new LatencyRecorder(1024);
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, ConnectionFactory factory, int maxSize, long maxWaitMillis,
+                          long idleTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be > 0");
+        this.name = name;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-evictor-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Borrow a connection, waiting at most maxWaitMillis for a free slot
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool '" + name + "' is closed");
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", ie);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLTransientConnectionException("Timed out after " + maxWaitMillis + " ms waiting for a connection from pool '" + name + "'");
+        }
+        try {
+            PooledConnection pc = takeValidIdle();
+            if (pc == null) {
+                Connection physical = factory.open();
+                try {
+                    pc = new PooledConnection(physical);
+                } catch (SQLException | RuntimeException ex) {
+                    try { physical.close(); } catch (SQLException ignore) {}
+                    throw ex;
+                }
+                createdCount.incrementAndGet();
+            }
+            active.incrementAndGet();
+            borrowCount.incrementAndGet();
+            acquireLatency.record(System.nanoTime() - start);
+            return pc.lease();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            PooledConnection pc;
+            synchronized (idle) {
+                pc = idle.pollFirst();
+            }
+            if (pc == null) return null;
+            if (pc.isUsable()) return pc;
+            pc.closePhysical();
+            evictedCount.incrementAndGet();
+        }
+    }
+
+    private void giveBack(PooledConnection pc) {
+        active.decrementAndGet();
+        boolean reusable = !closed && pc.reset();
+        if (reusable) {
+            pc.lastUsed = System.nanoTime();
+            synchronized (idle) {
+                idle.addFirst(pc);
+            }
+        } else {
+            pc.closePhysical();
+        }
+        permits.release();
+    }
+
+    // Close connections that have been idle longer than idleTimeoutMillis
+    void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        List<PooledConnection> stale = new ArrayList<>();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                if (pc.lastUsed < cutoff) {
+                    it.remove();
+                    stale.add(pc);
+                }
+            }
+        }
+        for (PooledConnection pc : stale) {
+            pc.closePhysical();
+            evictedCount.incrementAndGet();
+        }
+    }
+
+    // Close all idle connections; connections currently borrowed are closed when returned
+    public void drainIdle() {
+        List<PooledConnection> all;
+        synchronized (idle) {
+            all = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledConnection pc : all) pc.closePhysical();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        drainIdle();
+    }
+
+    public String getName() { return name; }
+
+    public Metrics metrics() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long[] p = acquireLatency.percentiles(50, 95, 99);
+        return new Metrics(name, maxSize, active.get(), idleCount, waiters.get(), borrowCount.get(),
+                timeoutCount.get(), createdCount.get(), evictedCount.get(), p[0], p[1], p[2]);
+    }
+
+    public record Metrics(String pool, int maxSize, int active, int idle, int waiters, long borrows,
+                          long timeouts, long created, long evicted,
+                          long acquireP50Micros, long acquireP95Micros, long acquireP99Micros) {
+        @Override
+        public String toString() {
+            return String.format("%s: active=%d idle=%d max=%d waiters=%d borrows=%d timeouts=%d created=%d evicted=%d acquire p50=%dus p95=%dus p99=%dus",
+                    pool, active, idle, maxSize, waiters, borrows, timeouts, created, evicted,
+                    acquireP50Micros, acquireP95Micros, acquireP99Micros);
+        }
+    }
+
+    // Fixed-size ring of recent samples; percentiles are computed on demand from a copy
+    static final class LatencyRecorder {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyRecorder(int capacity) { this.samples = new long[capacity]; }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) count++;
+        }
+
+        long[] percentiles(int... ps) {
+            long[] copy;
+            synchronized (this) {
+                copy = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(copy);
+            long[] out = new long[ps.length];
+            for (int i = 0; i < ps.length; i++) {
+                if (copy.length == 0) continue;
+                int idx = (int) Math.ceil(ps[i] / 100.0 * copy.length) - 1;
+                out[i] = copy[Math.max(0, Math.min(copy.length - 1, idx))] / 1000;
+            }
+            return out;
+        }
+    }
+
+    // One physical connection plus its statement cache
+    private final class PooledConnection {
+        final Connection physical;
+        final int defaultIsolation;
+        final Map<String, CachedStatement> statements;
+        volatile long lastUsed = System.nanoTime();
+
+        PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= statementCacheSize) return false;
+                    eldest.getValue().evict();
+                    return true;
+                }
+            };
+        }
+
+        boolean isUsable() {
+            try {
+                return !physical.isClosed() && physical.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        Connection lease() {
+            return new LogicalConnection(this);
+        }
+
+        // Restore defaults before the connection goes back to the idle list
+        boolean reset() {
+            try {
+                if (physical.isClosed()) return false;
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) physical.setReadOnly(false);
+                if (physical.getTransactionIsolation() != defaultIsolation) physical.setTransactionIsolation(defaultIsolation);
+                physical.clearWarnings();
+                // Statements the borrower never closed are no longer reachable through a live lease
+                for (CachedStatement cs : statements.values()) cs.inUse = false;
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Hands out the cached statement only if no one else on this lease holds it;
+        // nested use of the same SQL gets a fresh, uncached statement instead
+        PreparedStatement prepare(String key, StatementCreator creator) throws SQLException {
+            if (statementCacheSize <= 0) return creator.create();
+            CachedStatement cs = statements.get(key);
+            if (cs != null && cs.inUse) return creator.create();
+            if (cs == null || cs.ps.isClosed()) {
+                cs = new CachedStatement(creator.create());
+                statements.put(key, cs);
+            } else {
+                cs.ps.clearParameters();
+            }
+            cs.inUse = true;
+            return new CheckedOutStatement(cs);
+        }
+
+        void closePhysical() {
+            for (CachedStatement cs : statements.values()) {
+                try { cs.ps.close(); } catch (SQLException ignore) {}
+            }
+            statements.clear();
+            try { physical.close(); } catch (SQLException ignore) {}
+        }
+    }
+
+    // A cached statement and whether a caller currently has it checked out
+    private static final class CachedStatement {
+        final PreparedStatement ps;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement ps) { this.ps = ps; }
+
+        // Dropped from the cache: close now, or when the current holder releases it
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                try { ps.close(); } catch (SQLException ignore) {}
+            }
+        }
+
+        void release() throws SQLException {
+            if (!inUse) return;
+            inUse = false;
+            if (evicted) {
+                ps.close();
+                return;
+            }
+            ResultSet rs = ps.getResultSet();
+            if (rs != null) rs.close();
+            ps.clearParameters();
+        }
+    }
+
+    private interface StatementCreator {
+        PreparedStatement create() throws SQLException;
+    }
+
+    // The Connection given to callers. Valid until close() is called.
+    private final class LogicalConnection implements Connection {
+        private final PooledConnection pc;
+        private final long leasedAt = System.nanoTime();
+        private boolean released;
+
+        LogicalConnection(PooledConnection pc) { this.pc = pc; }
+
+        private Connection physical() throws SQLException {
+            if (released) throw new SQLException("Connection has already been returned to the pool");
+            return pc.physical;
+        }
+
+        // setClientInfo may only throw SQLClientInfoException
+        private Connection clientInfoTarget() throws SQLClientInfoException {
+            if (released) throw new SQLClientInfoException("Connection has already been returned to the pool", null);
+            return pc.physical;
+        }
+
+        @Override public void close() {
+            if (released) return;
+            released = true;
+            if (JdbcStats.ENABLED) JdbcStats.global().connectionReleased(System.nanoTime() - leasedAt);
+            giveBack(pc);
+        }
+
+        @Override public boolean isClosed() throws SQLException { return released || pc.physical.isClosed(); }
+        @Override public String toString() { return "Pooled[" + name + "] " + pc.physical; }
+        @Override public <T> T unwrap(Class<T> iface) throws SQLException { return iface.isInstance(this) ? iface.cast(this) : physical().unwrap(iface); }
+        @Override public boolean isWrapperFor(Class<?> iface) throws SQLException { return iface.isInstance(this) || physical().isWrapperFor(iface); }
+
+        // prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached; other overloads are not
+        @Override public PreparedStatement prepareStatement(String sql) throws SQLException {
+            Connection physical = physical();
+            return pc.prepare(sql, () -> physical.prepareStatement(sql));
+        }
+
+        @Override public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            Connection physical = physical();
+            return pc.prepare(autoGeneratedKeys + "|" + sql, () -> physical.prepareStatement(sql, autoGeneratedKeys));
+        }
+
+        @Override public Statement createStatement() throws SQLException { return physical().createStatement(); }
+        @Override public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException { return physical().createStatement(resultSetType, resultSetConcurrency); }
+        @Override public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException { return physical().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability); }
+        @Override public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException { return physical().prepareStatement(sql, resultSetType, resultSetConcurrency); }
+        @Override public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException { return physical().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability); }
+        @Override public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException { return physical().prepareStatement(sql, columnIndexes); }
+        @Override public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException { return physical().prepareStatement(sql, columnNames); }
+        @Override public void commit() throws SQLException { physical().commit(); }
+        @Override public void rollback() throws SQLException { physical().rollback(); }
+        @Override public void rollback(Savepoint savepoint) throws SQLException { physical().rollback(savepoint); }
+        @Override public CallableStatement prepareCall(String sql) throws SQLException { return physical().prepareCall(sql); }
+        @Override public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException { return physical().prepareCall(sql, resultSetType, resultSetConcurrency); }
+        @Override public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException { return physical().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability); }
+        @Override public void abort(java.util.concurrent.Executor executor) throws SQLException { physical().abort(executor); }
+        @Override public void beginRequest() throws SQLException { physical().beginRequest(); }
+        @Override public void clearWarnings() throws SQLException { physical().clearWarnings(); }
+        @Override public Array createArrayOf(String typeName, Object[] elements) throws SQLException { return physical().createArrayOf(typeName, elements); }
+        @Override public Blob createBlob() throws SQLException { return physical().createBlob(); }
+        @Override public Clob createClob() throws SQLException { return physical().createClob(); }
+        @Override public NClob createNClob() throws SQLException { return physical().createNClob(); }
+        @Override public SQLXML createSQLXML() throws SQLException { return physical().createSQLXML(); }
+        @Override public Struct createStruct(String typeName, Object[] attributes) throws SQLException { return physical().createStruct(typeName, attributes); }
+        @Override public void endRequest() throws SQLException { physical().endRequest(); }
+        @Override public boolean getAutoCommit() throws SQLException { return physical().getAutoCommit(); }
+        @Override public String getCatalog() throws SQLException { return physical().getCatalog(); }
+        @Override public java.util.Properties getClientInfo() throws SQLException { return physical().getClientInfo(); }
+        @Override public String getClientInfo(String name) throws SQLException { return physical().getClientInfo(name); }
+        @Override public int getHoldability() throws SQLException { return physical().getHoldability(); }
+        @Override public DatabaseMetaData getMetaData() throws SQLException { return physical().getMetaData(); }
+        @Override public int getNetworkTimeout() throws SQLException { return physical().getNetworkTimeout(); }
+        @Override public String getSchema() throws SQLException { return physical().getSchema(); }
+        @Override public int getTransactionIsolation() throws SQLException { return physical().getTransactionIsolation(); }
+        @Override public java.util.Map<String, Class<?>> getTypeMap() throws SQLException { return physical().getTypeMap(); }
+        @Override public SQLWarning getWarnings() throws SQLException { return physical().getWarnings(); }
+        @Override public boolean isReadOnly() throws SQLException { return physical().isReadOnly(); }
+        @Override public boolean isValid(int timeout) throws SQLException { return physical().isValid(timeout); }
+        @Override public String nativeSQL(String sql) throws SQLException { return physical().nativeSQL(sql); }
+        @Override public void releaseSavepoint(Savepoint savepoint) throws SQLException { physical().releaseSavepoint(savepoint); }
+        @Override public void setAutoCommit(boolean autoCommit) throws SQLException { physical().setAutoCommit(autoCommit); }
+        @Override public void setCatalog(String catalog) throws SQLException { physical().setCatalog(catalog); }
+        @Override public void setClientInfo(java.util.Properties properties) throws SQLClientInfoException { clientInfoTarget().setClientInfo(properties); }
+        @Override public void setClientInfo(String name, String value) throws SQLClientInfoException { clientInfoTarget().setClientInfo(name, value); }
+        @Override public void setHoldability(int holdability) throws SQLException { physical().setHoldability(holdability); }
+        @Override public void setNetworkTimeout(java.util.concurrent.Executor executor, int milliseconds) throws SQLException { physical().setNetworkTimeout(executor, milliseconds); }
+        @Override public void setReadOnly(boolean readOnly) throws SQLException { physical().setReadOnly(readOnly); }
+        @Override public Savepoint setSavepoint() throws SQLException { return physical().setSavepoint(); }
+        @Override public Savepoint setSavepoint(String name) throws SQLException { return physical().setSavepoint(name); }
+        @Override public void setSchema(String schema) throws SQLException { physical().setSchema(schema); }
+        @Override public void setShardingKey(ShardingKey shardingKey) throws SQLException { physical().setShardingKey(shardingKey); }
+        @Override public void setShardingKey(ShardingKey shardingKey, ShardingKey superShardingKey) throws SQLException { physical().setShardingKey(shardingKey, superShardingKey); }
+        @Override public boolean setShardingKeyIfValid(ShardingKey shardingKey, int timeout) throws SQLException { return physical().setShardingKeyIfValid(shardingKey, timeout); }
+        @Override public boolean setShardingKeyIfValid(ShardingKey shardingKey, ShardingKey superShardingKey, int timeout) throws SQLException { return physical().setShardingKeyIfValid(shardingKey, superShardingKey, timeout); }
+        @Override public void setTransactionIsolation(int level) throws SQLException { physical().setTransactionIsolation(level); }
+        @Override public void setTypeMap(java.util.Map<String, Class<?>> map) throws SQLException { physical().setTypeMap(map); }
+    }
+
+    // One checkout of a cached statement. close() returns the statement to the cache (once);
+    // the pool closes the underlying statement when it is evicted.
+    @SuppressWarnings("deprecation")
+    private static final class CheckedOutStatement implements PreparedStatement {
+        private final CachedStatement cs;
+        private boolean closed;
+
+        CheckedOutStatement(CachedStatement cs) { this.cs = cs; }
+
+        private PreparedStatement ps() throws SQLException {
+            if (closed) throw new SQLException("Statement is closed");
+            return cs.ps;
+        }
+
+        @Override public void close() throws SQLException {
+            if (closed) return;
+            closed = true;
+            cs.release();
+        }
+
+        @Override public boolean isClosed() { return closed; }
+        @Override public String toString() { return "Cached[" + cs.ps + "]"; }
+        @Override public <T> T unwrap(Class<T> iface) throws SQLException { return iface.isInstance(this) ? iface.cast(this) : ps().unwrap(iface); }
+        @Override public boolean isWrapperFor(Class<?> iface) throws SQLException { return iface.isInstance(this) || ps().isWrapperFor(iface); }
+
+        @Override public ResultSet executeQuery(String sql) throws SQLException { return ps().executeQuery(sql); }
+        @Override public int executeUpdate(String sql) throws SQLException { return ps().executeUpdate(sql); }
+        @Override public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException { return ps().executeUpdate(sql, autoGeneratedKeys); }
+        @Override public int executeUpdate(String sql, int[] columnIndexes) throws SQLException { return ps().executeUpdate(sql, columnIndexes); }
+        @Override public int executeUpdate(String sql, String[] columnNames) throws SQLException { return ps().executeUpdate(sql, columnNames); }
+        @Override public long executeLargeUpdate(String sql) throws SQLException { return ps().executeLargeUpdate(sql); }
+        @Override public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException { return ps().executeLargeUpdate(sql, autoGeneratedKeys); }
+        @Override public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException { return ps().executeLargeUpdate(sql, columnIndexes); }
+        @Override public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException { return ps().executeLargeUpdate(sql, columnNames); }
+        @Override public boolean execute(String sql) throws SQLException { return ps().execute(sql); }
+        @Override public boolean execute(String sql, int autoGeneratedKeys) throws SQLException { return ps().execute(sql, autoGeneratedKeys); }
+        @Override public boolean execute(String sql, int[] columnIndexes) throws SQLException { return ps().execute(sql, columnIndexes); }
+        @Override public boolean execute(String sql, String[] columnNames) throws SQLException { return ps().execute(sql, columnNames); }
+        @Override public void addBatch(String sql) throws SQLException { ps().addBatch(sql); }
+        @Override public int[] executeBatch() throws SQLException { return ps().executeBatch(); }
+        @Override public long[] executeLargeBatch() throws SQLException { return ps().executeLargeBatch(); }
+        @Override public ResultSet getResultSet() throws SQLException { return ps().getResultSet(); }
+        @Override public void cancel() throws SQLException { ps().cancel(); }
+        @Override public void clearBatch() throws SQLException { ps().clearBatch(); }
+        @Override public void clearWarnings() throws SQLException { ps().clearWarnings(); }
+        @Override public void closeOnCompletion() throws SQLException { ps().closeOnCompletion(); }
+        @Override public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException { return ps().enquoteIdentifier(identifier, alwaysQuote); }
+        @Override public String enquoteLiteral(String val) throws SQLException { return ps().enquoteLiteral(val); }
+        @Override public String enquoteNCharLiteral(String val) throws SQLException { return ps().enquoteNCharLiteral(val); }
+        @Override public Connection getConnection() throws SQLException { return ps().getConnection(); }
+        @Override public int getFetchDirection() throws SQLException { return ps().getFetchDirection(); }
+        @Override public int getFetchSize() throws SQLException { return ps().getFetchSize(); }
+        @Override public ResultSet getGeneratedKeys() throws SQLException { return ps().getGeneratedKeys(); }
+        @Override public long getLargeMaxRows() throws SQLException { return ps().getLargeMaxRows(); }
+        @Override public long getLargeUpdateCount() throws SQLException { return ps().getLargeUpdateCount(); }
+        @Override public int getMaxFieldSize() throws SQLException { return ps().getMaxFieldSize(); }
+        @Override public int getMaxRows() throws SQLException { return ps().getMaxRows(); }
+        @Override public boolean getMoreResults() throws SQLException { return ps().getMoreResults(); }
+        @Override public boolean getMoreResults(int current) throws SQLException { return ps().getMoreResults(current); }
+        @Override public int getQueryTimeout() throws SQLException { return ps().getQueryTimeout(); }
+        @Override public int getResultSetConcurrency() throws SQLException { return ps().getResultSetConcurrency(); }
+        @Override public int getResultSetHoldability() throws SQLException { return ps().getResultSetHoldability(); }
+        @Override public int getResultSetType() throws SQLException { return ps().getResultSetType(); }
+        @Override public int getUpdateCount() throws SQLException { return ps().getUpdateCount(); }
+        @Override public SQLWarning getWarnings() throws SQLException { return ps().getWarnings(); }
+        @Override public boolean isCloseOnCompletion() throws SQLException { return ps().isCloseOnCompletion(); }
+        @Override public boolean isPoolable() throws SQLException { return ps().isPoolable(); }
+        @Override public boolean isSimpleIdentifier(String identifier) throws SQLException { return ps().isSimpleIdentifier(identifier); }
+        @Override public void setCursorName(String name) throws SQLException { ps().setCursorName(name); }
+        @Override public void setEscapeProcessing(boolean enable) throws SQLException { ps().setEscapeProcessing(enable); }
+        @Override public void setFetchDirection(int direction) throws SQLException { ps().setFetchDirection(direction); }
+        @Override public void setFetchSize(int rows) throws SQLException { ps().setFetchSize(rows); }
+        @Override public void setLargeMaxRows(long max) throws SQLException { ps().setLargeMaxRows(max); }
+        @Override public void setMaxFieldSize(int max) throws SQLException { ps().setMaxFieldSize(max); }
+        @Override public void setMaxRows(int max) throws SQLException { ps().setMaxRows(max); }
+        @Override public void setPoolable(boolean enable) throws SQLException { ps().setPoolable(enable); }
+        @Override public void setQueryTimeout(int seconds) throws SQLException { ps().setQueryTimeout(seconds); }
+        @Override public ResultSet executeQuery() throws SQLException { return ps().executeQuery(); }
+        @Override public int executeUpdate() throws SQLException { return ps().executeUpdate(); }
+        @Override public long executeLargeUpdate() throws SQLException { return ps().executeLargeUpdate(); }
+        @Override public boolean execute() throws SQLException { return ps().execute(); }
+        @Override public void addBatch() throws SQLException { ps().addBatch(); }
+        @Override public void clearParameters() throws SQLException { ps().clearParameters(); }
+        @Override public ResultSetMetaData getMetaData() throws SQLException { return ps().getMetaData(); }
+        @Override public ParameterMetaData getParameterMetaData() throws SQLException { return ps().getParameterMetaData(); }
+        @Override public void setArray(int parameterIndex, Array x) throws SQLException { ps().setArray(parameterIndex, x); }
+        @Override public void setAsciiStream(int parameterIndex, java.io.InputStream x, int length) throws SQLException { ps().setAsciiStream(parameterIndex, x, length); }
+        @Override public void setAsciiStream(int parameterIndex, java.io.InputStream x, long length) throws SQLException { ps().setAsciiStream(parameterIndex, x, length); }
+        @Override public void setAsciiStream(int parameterIndex, java.io.InputStream x) throws SQLException { ps().setAsciiStream(parameterIndex, x); }
+        @Override public void setBigDecimal(int parameterIndex, java.math.BigDecimal x) throws SQLException { ps().setBigDecimal(parameterIndex, x); }
+        @Override public void setBinaryStream(int parameterIndex, java.io.InputStream x, int length) throws SQLException { ps().setBinaryStream(parameterIndex, x, length); }
+        @Override public void setBinaryStream(int parameterIndex, java.io.InputStream x, long length) throws SQLException { ps().setBinaryStream(parameterIndex, x, length); }
+        @Override public void setBinaryStream(int parameterIndex, java.io.InputStream x) throws SQLException { ps().setBinaryStream(parameterIndex, x); }
+        @Override public void setBlob(int parameterIndex, java.io.InputStream x, long length) throws SQLException { ps().setBlob(parameterIndex, x, length); }
+        @Override public void setBlob(int parameterIndex, java.io.InputStream x) throws SQLException { ps().setBlob(parameterIndex, x); }
+        @Override public void setBlob(int parameterIndex, Blob x) throws SQLException { ps().setBlob(parameterIndex, x); }
+        @Override public void setBoolean(int parameterIndex, boolean x) throws SQLException { ps().setBoolean(parameterIndex, x); }
+        @Override public void setByte(int parameterIndex, byte x) throws SQLException { ps().setByte(parameterIndex, x); }
+        @Override public void setBytes(int parameterIndex, byte[] x) throws SQLException { ps().setBytes(parameterIndex, x); }
+        @Override public void setCharacterStream(int parameterIndex, java.io.Reader x, int length) throws SQLException { ps().setCharacterStream(parameterIndex, x, length); }
+        @Override public void setCharacterStream(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps().setCharacterStream(parameterIndex, x, length); }
+        @Override public void setCharacterStream(int parameterIndex, java.io.Reader x) throws SQLException { ps().setCharacterStream(parameterIndex, x); }
+        @Override public void setClob(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps().setClob(parameterIndex, x, length); }
+        @Override public void setClob(int parameterIndex, java.io.Reader x) throws SQLException { ps().setClob(parameterIndex, x); }
+        @Override public void setClob(int parameterIndex, Clob x) throws SQLException { ps().setClob(parameterIndex, x); }
+        @Override public void setDate(int parameterIndex, java.sql.Date x, java.util.Calendar cal) throws SQLException { ps().setDate(parameterIndex, x, cal); }
+        @Override public void setDate(int parameterIndex, java.sql.Date x) throws SQLException { ps().setDate(parameterIndex, x); }
+        @Override public void setDouble(int parameterIndex, double x) throws SQLException { ps().setDouble(parameterIndex, x); }
+        @Override public void setFloat(int parameterIndex, float x) throws SQLException { ps().setFloat(parameterIndex, x); }
+        @Override public void setInt(int parameterIndex, int x) throws SQLException { ps().setInt(parameterIndex, x); }
+        @Override public void setLong(int parameterIndex, long x) throws SQLException { ps().setLong(parameterIndex, x); }
+        @Override public void setNCharacterStream(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps().setNCharacterStream(parameterIndex, x, length); }
+        @Override public void setNCharacterStream(int parameterIndex, java.io.Reader x) throws SQLException { ps().setNCharacterStream(parameterIndex, x); }
+        @Override public void setNClob(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps().setNClob(parameterIndex, x, length); }
+        @Override public void setNClob(int parameterIndex, java.io.Reader x) throws SQLException { ps().setNClob(parameterIndex, x); }
+        @Override public void setNClob(int parameterIndex, NClob x) throws SQLException { ps().setNClob(parameterIndex, x); }
+        @Override public void setNString(int parameterIndex, String x) throws SQLException { ps().setNString(parameterIndex, x); }
+        @Override public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException { ps().setNull(parameterIndex, sqlType, typeName); }
+        @Override public void setNull(int parameterIndex, int sqlType) throws SQLException { ps().setNull(parameterIndex, sqlType); }
+        @Override public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException { ps().setObject(parameterIndex, x, targetSqlType, scaleOrLength); }
+        @Override public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException { ps().setObject(parameterIndex, x, targetSqlType); }
+        @Override public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException { ps().setObject(parameterIndex, x, targetSqlType, scaleOrLength); }
+        @Override public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException { ps().setObject(parameterIndex, x, targetSqlType); }
+        @Override public void setObject(int parameterIndex, Object x) throws SQLException { ps().setObject(parameterIndex, x); }
+        @Override public void setRef(int parameterIndex, Ref x) throws SQLException { ps().setRef(parameterIndex, x); }
+        @Override public void setRowId(int parameterIndex, RowId x) throws SQLException { ps().setRowId(parameterIndex, x); }
+        @Override public void setSQLXML(int parameterIndex, SQLXML x) throws SQLException { ps().setSQLXML(parameterIndex, x); }
+        @Override public void setShort(int parameterIndex, short x) throws SQLException { ps().setShort(parameterIndex, x); }
+        @Override public void setString(int parameterIndex, String x) throws SQLException { ps().setString(parameterIndex, x); }
+        @Override public void setTime(int parameterIndex, Time x, java.util.Calendar cal) throws SQLException { ps().setTime(parameterIndex, x, cal); }
+        @Override public void setTime(int parameterIndex, Time x) throws SQLException { ps().setTime(parameterIndex, x); }
+        @Override public void setTimestamp(int parameterIndex, Timestamp x, java.util.Calendar cal) throws SQLException { ps().setTimestamp(parameterIndex, x, cal); }
+        @Override public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException { ps().setTimestamp(parameterIndex, x); }
+        @Override public void setURL(int parameterIndex, java.net.URL x) throws SQLException { ps().setURL(parameterIndex, x); }
+        @Override public void setUnicodeStream(int parameterIndex, java.io.InputStream x, int length) throws SQLException { ps().setUnicodeStream(parameterIndex, x, length); }
+    }
+}
@@ -10,9 +10,154 @@ public class DBConnection {
     private static final String DB_PASSWORD = System.getenv().getOrDefault("DB_PASSWORD", "507729");
     private static final String URL = String.format("jdbc:postgresql://%s:%s/%s", DB_HOST, DB_PORT, DB_NAME);
 
+    // Connection pool settings (see README for the full list of DB_POOL_* variables)
+    private static final int POOL_MAX_SIZE = Integer.parseInt(System.getenv().getOrDefault("DB_POOL_MAX_SIZE", "10"));
+    private static final long POOL_MAX_WAIT_MS = Long.parseLong(System.getenv().getOrDefault("DB_POOL_MAX_WAIT_MS", "5000"));
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.parseLong(System.getenv().getOrDefault("DB_POOL_IDLE_TIMEOUT_MS", "300000"));
+    private static final int POOL_VALIDATION_TIMEOUT_S = Integer.parseInt(System.getenv().getOrDefault("DB_POOL_VALIDATION_TIMEOUT_S", "2"));
+    private static final int POOL_STATEMENT_CACHE = Integer.parseInt(System.getenv().getOrDefault("DB_POOL_STATEMENT_CACHE", "32"));
+
+    // Backend health probing: short connect timeout for probes, interval of the background monitor
+    private static final int PROBE_TIMEOUT_S = Integer.parseInt(System.getenv().getOrDefault("DB_PROBE_TIMEOUT_S", "2"));
+    private static final int CONNECT_TIMEOUT_S = Integer.parseInt(System.getenv().getOrDefault("DB_CONNECT_TIMEOUT_S", "5"));
+    private static final long HEALTH_INTERVAL_MS = Long.parseLong(System.getenv().getOrDefault("DB_HEALTH_INTERVAL_MS", "10000"));
+
+    // Statements issued in this run are merged into this file at exit (input for QueryPlanAdvisor --capture)
+    private static final String SQL_CAPTURE_FILE = System.getenv().getOrDefault("DB_SQL_CAPTURE_FILE", "");
+
+    private static final String H2_DATA_DIR = "data";
+    private static final String H2_DB_FILE = "hostlinkDB.mv.db";
+    // H2 is closed by our own shutdown hook (see below), after in-flight work has drained, rather than by H2's
+    private static final String H2_URL = "jdbc:h2:file:./" + H2_DATA_DIR + "/hostlinkDB;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final MigrationEngine MIGRATIONS = new MigrationEngine(java.nio.file.Paths.get("migrations"));
+
+    private static volatile BackendMonitor monitor;
+    private static volatile DbBackend h2ForShutdown;
+    private static volatile boolean h2SchemaChecked;
+    private static volatile boolean pgSchemaChecked;
+
+    // JVM shutdown runs hooks in no particular order, so there is one hook for the database side: it runs the tasks
+    // registered with onShutdown (e.g. the HTTP server draining requests) in order, then closes the pools and H2.
+    private static final java.util.List<Runnable> SHUTDOWN_TASKS = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdown, "db-shutdown"));
+    }
+
+    public static void onShutdown(Runnable task) {
+        SHUTDOWN_TASKS.add(task);
+    }
+
+    private static void shutdown() {
+        for (Runnable task : SHUTDOWN_TASKS) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Shutdown task failed: " + e);
+            }
+        }
+        if (!SQL_CAPTURE_FILE.isEmpty()) {
+            try {
+                JdbcStats.global().appendSamples(java.nio.file.Paths.get(SQL_CAPTURE_FILE));
+            } catch (java.io.IOException e) {
+                System.err.println("Could not write SQL capture file: " + e.getMessage());
+            }
+        }
+        BackendMonitor m = monitor;
+        if (m != null) m.close();
+        DbBackend h2 = h2ForShutdown;
+        if (h2 != null && h2SchemaChecked) {
+            try (Connection c = h2.open(CONNECT_TIMEOUT_S); Statement st = c.createStatement()) {
+                st.execute("SHUTDOWN");
+            } catch (SQLException e) {
+                System.err.println("H2 shutdown failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // Borrow a pooled connection. Closing it returns it to the pool. Returns null if no DB is reachable.
     public static Connection connect() {
-        Connection conn = null;
-        // Diagnostic info for troubleshooting classpath/lib issues
+        try {
+            return borrow();
+        } catch (SQLException e) {
+            System.err.println("Connection failure: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Same as connect(), but the failure is thrown, so callers can tell a pool wait timeout
+    // (SQLTransientConnectionException) from an unreachable database
+    public static Connection borrow() throws SQLException {
+        return getMonitor().borrow();
+    }
+
+    // Pool of the backend currently in use
+    public static ConnectionPool getPool() {
+        return getMonitor().activePool();
+    }
+
+    public static ConnectionPool.Metrics poolMetrics() {
+        ConnectionPool p = getPool();
+        return p == null ? null : p.metrics();
+    }
+
+    public static Dialect activeDialect() {
+        DbBackend b = getMonitor().activeBackend();
+        return b == null ? null : b.getDialect();
+    }
+
+    public static BackendMonitor getMonitor() {
+        BackendMonitor m = monitor;
+        if (m == null) {
+            synchronized (DBConnection.class) {
+                m = monitor;
+                if (m == null) {
+                    m = resolveBackends();
+                    monitor = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    // Runs once: load drivers, build backends and pools, probe PostgreSQL, start the health monitor
+    private static BackendMonitor resolveBackends() {
+        printDiagnostics();
+
+        DbBackend pg = null;
+        java.sql.Driver pgDriver = loadDriver("org.postgresql.Driver", "postgresql-");
+        if (pgDriver != null) pg = new DbBackend("PostgreSQL", Dialect.POSTGRESQL, new DriverShim(pgDriver), URL, DB_USER, DB_PASSWORD);
+
+        DbBackend h2 = null;
+        java.sql.Driver h2Driver = loadDriver("org.h2.Driver", "h2");
+        if (h2Driver != null) h2 = new DbBackend("H2", Dialect.H2, new DriverShim(h2Driver), H2_URL, "sa", "");
+        h2ForShutdown = h2;
+
+        boolean pgUp = false;
+        if (pg != null) {
+            System.out.println("Probing " + pg + " as " + DB_USER + " (timeout " + PROBE_TIMEOUT_S + "s)");
+            pgUp = pg.probe(PROBE_TIMEOUT_S);
+            System.out.println(pgUp ? "PostgreSQL server is reachable." : "PostgreSQL server is not reachable. Hint: Is the PostgreSQL server running? Try running run-db.bat (Docker) or ensure the service is started.");
+        }
+        if (!pgUp && h2 != null) System.out.println("Using embedded H2 database (no external DB required) until PostgreSQL becomes available");
+
+        final DbBackend pgBackend = pg;
+        final DbBackend h2Backend = h2;
+        ConnectionPool pgPool = pg == null ? null : newPool("postgresql", () -> openPostgres(pgBackend));
+        ConnectionPool h2Pool = h2 == null ? null : newPool("h2", () -> openH2(h2Backend));
+
+        BackendMonitor m = new BackendMonitor(pg, pgPool, h2, h2Pool, PROBE_TIMEOUT_S, pgUp);
+        m.start(HEALTH_INTERVAL_MS);
+        return m;
+    }
+
+    private static ConnectionPool newPool(String name, ConnectionPool.ConnectionFactory factory) {
+        return new ConnectionPool(name, factory, POOL_MAX_SIZE, POOL_MAX_WAIT_MS,
+                POOL_IDLE_TIMEOUT_MS, POOL_VALIDATION_TIMEOUT_S, POOL_STATEMENT_CACHE);
+    }
+
+    // Diagnostic info for troubleshooting classpath/lib issues (printed once at startup)
+    private static void printDiagnostics() {
         System.out.println("Runtime user.dir: " + System.getProperty("user.dir"));
         System.out.println("Runtime java.class.path: " + System.getProperty("java.class.path"));
         java.io.File libDirCheck = new java.io.File("lib");
@@ -22,126 +167,133 @@ public class DBConnection {
         } else {
             System.out.println("lib/ directory not found at runtime");
         }
+    }
+
+    // Load a JDBC driver from the classpath, or from a jar in ./lib whose name starts with jarPrefix.
+    // Called once per driver, so at most one DriverShim is registered per driver.
+    private static java.sql.Driver loadDriver(String className, String jarPrefix) {
         try {
-            // Try to load the driver normally first
-            try {
-                Class.forName("org.postgresql.Driver");
-            } catch (ClassNotFoundException cnfe) {
-                System.err.println("PostgreSQL JDBC Driver not found on classpath. Attempting to load from ./lib/...");
-                // Try to find a postgresql jar in ./lib and load it dynamically
-                try {
-                    java.io.File libDir = new java.io.File("lib");
-                    if (libDir.exists() && libDir.isDirectory()) {
-                        java.io.File[] jars = libDir.listFiles((d, name) -> name.toLowerCase().startsWith("postgresql-") && name.toLowerCase().endsWith(".jar"));
-                        if (jars != null && jars.length > 0) {
-                            java.net.URL[] urls = new java.net.URL[jars.length];
-                            for (int i = 0; i < jars.length; i++) urls[i] = jars[i].toURI().toURL();
-                            java.net.URLClassLoader loader = new java.net.URLClassLoader(urls, DBConnection.class.getClassLoader());
-                            Class<?> drvClass = Class.forName("org.postgresql.Driver", true, loader);
-                            java.sql.Driver drv = (java.sql.Driver) drvClass.getDeclaredConstructor().newInstance();
-                            // Register a shim so DriverManager can use it
-                            java.sql.DriverManager.registerDriver(new DriverShim(drv));
-                            System.out.println("Loaded PostgreSQL JDBC driver from: " + jars[0].getPath());
-                        } else {
-                            System.err.println("No PostgreSQL JDBC jar found in ./lib. Please download and place it there (see README).");
-                            return null;
-                        }
-                    } else {
-                        System.err.println("./lib directory not found. Please create a lib/ and put the PostgreSQL JDBC jar there (see README).");
-                        return null;
-                    }
-                } catch (Exception ex) {
-                    System.err.println("Failed to load PostgreSQL JDBC driver from ./lib/: " + ex.getMessage());
-                    ex.printStackTrace();
-                    return null;
-                }
+            return (java.sql.Driver) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException cnfe) {
+            System.err.println(className + " not found on classpath. Attempting to load from ./lib/...");
+        } catch (ReflectiveOperationException ex) {
+            System.err.println("Failed to instantiate " + className + ": " + ex.getMessage());
+            return null;
+        }
+        try {
+            java.io.File libDir = new java.io.File("lib");
+            if (!libDir.exists() || !libDir.isDirectory()) {
+                System.err.println("./lib directory not found. Please create a lib/ and put the JDBC jar there (see README).");
+                return null;
             }
-
-            System.out.println("Attempting to connect to: " + URL + " as " + DB_USER);
-            conn = DriverManager.getConnection(URL, DB_USER, DB_PASSWORD);
-            System.out.println("Connected to the PostgreSQL server successfully.");
-        } catch (SQLException e) {
-            System.err.println("Connection failure: " + e.getMessage());
-            e.printStackTrace();
-            // Helpful hints
-            if (e.getMessage().toLowerCase().contains("connection refused") || e.getMessage().toLowerCase().contains("could not connect")) {
-                System.err.println("Hint: Is the PostgreSQL server running? Try running run-db.bat (Docker) or ensure the service is started.");
+            java.io.File[] jars = libDir.listFiles((d, name) -> name.toLowerCase().startsWith(jarPrefix) && name.toLowerCase().endsWith(".jar"));
+            if (jars == null || jars.length == 0) {
+                System.err.println("No " + jarPrefix + "*.jar found in ./lib. Please download and place it there (see README).");
+                return null;
             }
+            java.net.URL[] urls = new java.net.URL[jars.length];
+            for (int i = 0; i < jars.length; i++) urls[i] = jars[i].toURI().toURL();
+            java.net.URLClassLoader loader = new java.net.URLClassLoader(urls, DBConnection.class.getClassLoader());
+            Class<?> drvClass = Class.forName(className, true, loader);
+            java.sql.Driver drv = (java.sql.Driver) drvClass.getDeclaredConstructor().newInstance();
+            // Register a shim so DriverManager can use it too
+            java.sql.DriverManager.registerDriver(new DriverShim(drv));
+            System.out.println("Loaded " + className + " from: " + jars[0].getPath());
+            return drv;
+        } catch (Exception ex) {
+            System.err.println("Failed to load " + className + " from ./lib/: " + ex.getMessage());
+            ex.printStackTrace();
+            return null;
         }
+    }
 
-        // If PostgreSQL is unavailable or driver not present, fallback to embedded H2 DB
-        if (conn == null) {
-            System.out.println("Falling back to embedded H2 database (no external DB required)");
+    // Open an H2 connection. The first time, a fresh store is restored from a snapshot when one
+    // matches the migration scripts; otherwise pending migrations are applied (and a snapshot is taken).
+    private static Connection openH2(DbBackend h2) throws SQLException {
+        if (h2SchemaChecked) return h2.open(0);
+        synchronized (DBConnection.class) {
+            if (h2SchemaChecked) return h2.open(0);
+            long t0 = System.nanoTime();
             try {
+                java.nio.file.Path dataDir = java.nio.file.Paths.get(H2_DATA_DIR);
+                boolean fresh = !java.nio.file.Files.exists(dataDir.resolve(H2_DB_FILE));
+                java.nio.file.Path snapshot = H2Snapshot.pathFor(dataDir.resolve("snapshots"), MIGRATIONS.fingerprint());
+                boolean restored = fresh && H2Snapshot.restore(snapshot, dataDir);
+                if (restored) System.out.println("Created embedded H2 store from snapshot " + snapshot.getFileName());
+                Connection conn = h2.open(0);
                 try {
-                    Class.forName("org.h2.Driver");
-                } catch (ClassNotFoundException cnfe) {
-                    System.err.println("H2 JDBC Driver not found on classpath. Attempting to load from ./lib/...");
-                    // Try to load h2 jar from lib
-                    try {
-                        java.io.File libDir = new java.io.File("lib");
-                        if (libDir.exists() && libDir.isDirectory()) {
-                            java.io.File[] jars = libDir.listFiles((d, name) -> name.toLowerCase().startsWith("h2") && name.toLowerCase().endsWith(".jar"));
-                            if (jars != null && jars.length > 0) {
-                                java.net.URL[] urls = new java.net.URL[jars.length];
-                                for (int i = 0; i < jars.length; i++) urls[i] = jars[i].toURI().toURL();
-                                java.net.URLClassLoader loader = new java.net.URLClassLoader(urls, DBConnection.class.getClassLoader());
-                                Class<?> drvClass = Class.forName("org.h2.Driver", true, loader);
-                                java.sql.Driver drv = (java.sql.Driver) drvClass.getDeclaredConstructor().newInstance();
-                                java.sql.DriverManager.registerDriver(new DriverShim(drv));
-                                System.out.println("Loaded H2 JDBC driver from: " + jars[0].getPath());
-                            } else {
-                                System.err.println("No H2 JDBC jar found in ./lib. Please download and place it there (see README).");
-                                return null;
-                            }
-                        } else {
-                            System.err.println("./lib directory not found. Please create a lib/ and put the H2 JDBC jar there (see README).");
-                            return null;
-                        }
-                    } catch (Exception ex) {
-                        System.err.println("Failed to load H2 JDBC driver from ./lib/: " + ex.getMessage());
-                        ex.printStackTrace();
-                        return null;
+                    int applied = MIGRATIONS.migrate(conn, Dialect.H2);
+                    if (fresh && !restored && applied > 0) H2Snapshot.create(conn, snapshot);
+                    if (applied > 0) {
+                        // H2 binds CHECK (... IN (...)) constraints to the session that created them and they fail once
+                        // it closes; reopening the store re-reads them from disk
+                        shutdownH2(conn);
+                        conn = h2.open(0);
                     }
+                } catch (SQLException | java.io.IOException | RuntimeException ex) {
+                    // A failed migration may have restored the schema in this session; drop it the same way
+                    shutdownH2(conn);
+                    throw ex;
                 }
+                h2SchemaChecked = true;
+                System.out.println("H2 schema ready (V" + MIGRATIONS.latestVersion() + ") in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+                return conn;
+            } catch (java.io.IOException ex) {
+                throw new SQLException("H2 schema bootstrap failed: " + ex.getMessage(), ex);
+            }
+        }
+    }
 
-                // H2 DB file location
-                java.io.File dataDir = new java.io.File("data");
-                if (!dataDir.exists()) dataDir.mkdirs();
-                String h2Url = "jdbc:h2:file:./data/hostlinkDB;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
-                System.out.println("Attempting to connect to H2 DB at: " + h2Url);
-                conn = DriverManager.getConnection(h2Url, "sa", "");
-                System.out.println("Connected to H2 DB.");
-
-                // Check if tables exist; if not, initialize schema
-                try (Statement s = conn.createStatement()) {
-                    ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME='USERACCOUNT'");
-                    boolean needInit = true;
-                    if (rs.next()) {
-                        int cnt = rs.getInt(1);
-                        needInit = (cnt == 0);
-                    }
-                    if (needInit) {
-                        System.out.println("Initializing embedded H2 schema from hostlinkDB.sql (transformed)");
-                        initializeH2Schema(conn);
-                    }
-                }
+    private static void shutdownH2(Connection conn) {
+        try (Statement st = conn.createStatement()) {
+            st.execute("SHUTDOWN");
+        } catch (SQLException ignore) {
+        }
+        try { conn.close(); } catch (SQLException ignore) {}
+    }
 
-            } catch (Exception ex) {
-                System.err.println("H2 fallback failed: " + ex.getMessage());
-                ex.printStackTrace();
-                return null;
+    // Open a PostgreSQL connection, applying pending migrations the first time
+    private static Connection openPostgres(DbBackend pg) throws SQLException {
+        Connection conn = pg.open(CONNECT_TIMEOUT_S);
+        if (pgSchemaChecked) return conn;
+        synchronized (DBConnection.class) {
+            if (!pgSchemaChecked) {
+                try {
+                    MIGRATIONS.migrate(conn, Dialect.POSTGRESQL);
+                    pgSchemaChecked = true;
+                } catch (SQLException | java.io.IOException | RuntimeException ex) {
+                    try { conn.close(); } catch (SQLException ignore) {}
+                    throw ex instanceof SQLException ? (SQLException) ex : new SQLException("PostgreSQL migration failed: " + ex.getMessage(), ex);
+                }
             }
         }
-
         return conn;
     }
 
-    // Helper shim to register drivers loaded by a custom classloader
+    public static MigrationEngine migrations() {
+        return MIGRATIONS;
+    }
+
+    // Wraps every driver the backends use: registers drivers loaded by a custom classloader with
+    // DriverManager, and hands out connections instrumented by JdbcInstrumentation (DB_INSTRUMENTATION)
     public static class DriverShim implements java.sql.Driver {
         private final java.sql.Driver driver;
         public DriverShim(java.sql.Driver d) { this.driver = d; }
-        public java.sql.Connection connect(String url, java.util.Properties info) throws java.sql.SQLException { return driver.connect(url, info); }
+        public java.sql.Connection connect(String url, java.util.Properties info) throws java.sql.SQLException {
+            if (!JdbcStats.ENABLED) return driver.connect(url, info);
+            JdbcStats stats = JdbcStats.global();
+            long t0 = System.nanoTime();
+            java.sql.Connection conn;
+            try {
+                conn = driver.connect(url, info);
+            } catch (java.sql.SQLException ex) {
+                stats.connectFailed();
+                throw ex;
+            }
+            if (conn == null) return null; // URL not meant for this driver
+            stats.connectionOpened(System.nanoTime() - t0);
+            return JdbcInstrumentation.wrap(conn, stats);
+        }
         public boolean acceptsURL(String url) throws java.sql.SQLException { return driver.acceptsURL(url); }
         public java.sql.DriverPropertyInfo[] getPropertyInfo(String url, java.util.Properties info) throws java.sql.SQLException { return driver.getPropertyInfo(url, info); }
         public int getMajorVersion() { return driver.getMajorVersion(); }
@@ -149,44 +301,4 @@ public class DBConnection {
         public boolean jdbcCompliant() { return driver.jdbcCompliant(); }
         public java.util.logging.Logger getParentLogger() throws java.sql.SQLFeatureNotSupportedException { return driver.getParentLogger(); }
     }
-
-    // Initialize H2 schema by transforming the project's SQL file to H2-friendly statements
-    private static void initializeH2Schema(Connection conn) throws Exception {
-        java.io.File sqlFile = new java.io.File("hostlinkDB.sql");
-        if (!sqlFile.exists()) {
-            System.err.println("hostlinkDB.sql not found in project root; skipping initialization.");
-            return;
-        }
-        String sql = new String(java.nio.file.Files.readAllBytes(sqlFile.toPath()), java.nio.charset.StandardCharsets.UTF_8);
-
-        // Simple transformations for H2 compatibility
-        sql = sql.replaceAll("(?i)DROP TABLE IF EXISTS\\s+([a-zA-Z0-9_]+)\\s+CASCADE;", "DROP TABLE IF EXISTS $1;");
-        sql = sql.replaceAll("(?i)DROP TABLE IF EXISTS\\s+([a-zA-Z0-9_]+);", "DROP TABLE IF EXISTS $1;");
-        sql = sql.replaceAll("(?i)RETURNING\\s+User_id", "");
-        sql = sql.replaceAll("(?i)SERIAL", "BIGINT AUTO_INCREMENT");
-        sql = sql.replaceAll("--.*?\\r?\\n", "\n"); // remove SQL comments
-
-        // Split statements by semicolon
-        String[] statements = sql.split(";\\s*\\n");
-        try (Statement st = conn.createStatement()) {
-            for (String stmt : statements) {
-                String s = stmt.trim();
-                if (s.isEmpty()) continue;
-                // H2 doesn't like certain CREATE VIEW placements; ensure statements end with semicolon removed
-                if (s.toUpperCase().startsWith("CREATE VIEW") || s.toUpperCase().startsWith("DROP VIEW")) {
-                    // execute as single statement
-                    System.out.println("Executing view statement: " + (s.length() > 60 ? s.substring(0,60)+"..." : s));
-                    st.execute(s);
-                } else {
-                    try {
-                        st.execute(s);
-                    } catch (Exception ex) {
-                        System.err.println("Failed to execute statement (ignored): " + ex.getMessage());
-                        // print statement for debugging
-                        System.err.println(s);
-                    }
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,612 @@
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+// Streaming export of the reporting views to a file.
+//   java -cp ".;lib\*" DataExporter bookings|activities <out-file> [--format csv|jsonl|col] [--from YYYY-MM-DD] [--to YYYY-MM-DD] [--fetch-size N]
+// bookings = vw_BookingSummary (date range on bkg_Date), activities = vw_ActivityDetails (date range on act_date).
+// Rows are read through a forward-only, read-only cursor (PostgreSQL: fetch size inside a transaction; H2: lazy query
+// execution) and encoded straight into a reused direct buffer that is written to a FileChannel, so memory use does not
+// depend on the row count. The columnar format holds at most one row group (COL_GROUP_ROWS rows) in memory.
+//
+// Formats:
+//   csv   - header row, RFC 4180 quoting, NULL as an empty field, ISO dates/times, UTF-8.
+//   jsonl - one {"column": value} object per line; numbers unquoted, NULL as null.
+//   col   - compact columnar binary, big-endian; varint = unsigned LEB128, zigzag(v) = (v << 1) ^ (v >> 63):
+//             "HLC2", int columnCount, per column: byte type, short nameLength, name (UTF-8), byte decimalScale
+//             row groups: int rowCount (> 0), then per column: null bitmap ((rowCount + 7) / 8 bytes, bit set = NULL)
+//               followed by the non-NULL values of the column:
+//               LONG / DECIMAL (unscaled) / DATE (epoch day) / TIME (millis of day) / TIMESTAMP (epoch micros, local
+//                 time as UTC): byte encoding, then one varint per value: 0 = zigzag(value), 1 = zigzag(value - previous
+//                 value), the first value taken against 0. The writer picks the smaller of the two per group.
+//               DOUBLE double | BOOLEAN bitmap (bit set = true)
+//               STRING: byte encoding. 0 = varint lengths, then the UTF-8 bytes. 1 = dictionary: varint entryCount,
+//                 per entry varint length and UTF-8 bytes, then a varint entry index per value. Smaller one wins.
+//             end: int 0, long totalRows
+public class DataExporter {
+    public enum Source {
+        BOOKINGS("vw_BookingSummary", "bkg_Date", true),
+        ACTIVITIES("vw_ActivityDetails", "act_date", false);
+
+        final String view;
+        final String dateColumn;
+        final boolean timestampColumn;
+
+        Source(String view, String dateColumn, boolean timestampColumn) {
+            this.view = view;
+            this.dateColumn = dateColumn;
+            this.timestampColumn = timestampColumn;
+        }
+    }
+
+    public enum Format {
+        CSV("csv"), JSONL("jsonl"), COL("hlc");
+
+        public final String extension;
+
+        Format(String extension) { this.extension = extension; }
+    }
+
+    public record Result(long rows, long bytes, double seconds) {
+        public double rowsPerSecond() { return seconds > 0 ? rows / seconds : rows; }
+
+        @Override
+        public String toString() {
+            return String.format("rows=%d bytes=%d in %.2fs (%.0f rows/s, %.1f MB/s)",
+                    rows, bytes, seconds, rowsPerSecond(), seconds > 0 ? bytes / seconds / 1e6 : 0);
+        }
+    }
+
+    static final int DEFAULT_FETCH_SIZE = Integer.parseInt(System.getenv().getOrDefault("DB_EXPORT_FETCH_SIZE", "5000"));
+    static final int BUFFER_BYTES = 256 * 1024;
+    static final int COL_GROUP_ROWS = 8192;
+    static final long PROGRESS_ROWS = 100_000;
+
+    private final int fetchSize;
+
+    public DataExporter(int fetchSize) {
+        if (fetchSize <= 0) throw new IllegalArgumentException("fetchSize must be > 0");
+        this.fetchSize = fetchSize;
+    }
+
+    public DataExporter() {
+        this(DEFAULT_FETCH_SIZE);
+    }
+
+    // from/to are inclusive and may be null. progress (may be null) is called every PROGRESS_ROWS rows with the row count.
+    public Result export(Connection conn, Source source, Format format, LocalDate from, LocalDate to, Path file, LongConsumer progress)
+            throws SQLException, IOException {
+        long t0 = System.nanoTime();
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(source.view);
+        if (from != null) sql.append(" WHERE ").append(source.dateColumn).append(" >= ?");
+        if (to != null) sql.append(from == null ? " WHERE " : " AND ").append(source.dateColumn).append(" < ?");
+
+        Dialect dialect = Dialect.of(conn);
+        boolean autoCommit = conn.getAutoCommit();
+        // PostgreSQL only uses a cursor (honours the fetch size) inside a transaction; H2 streams with lazy execution
+        if (autoCommit) conn.setAutoCommit(false);
+        if (dialect == Dialect.H2) setLazy(conn, true);
+        try (PreparedStatement pst = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pst.setFetchSize(fetchSize);
+            int p = 1;
+            if (from != null) pst.setObject(p++, bound(source, from));
+            if (to != null) pst.setObject(p, bound(source, to.plusDays(1)));
+            long rows;
+            long bytes;
+            try (ResultSet rs = pst.executeQuery();
+                 ChannelOut out = new ChannelOut(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                Column[] columns = columns(rs.getMetaData());
+                RowWriter writer = switch (format) {
+                    case CSV -> new CsvWriter(out, columns);
+                    case JSONL -> new JsonLinesWriter(out, columns);
+                    case COL -> new ColumnarWriter(out, columns);
+                };
+                rows = 0;
+                while (rs.next()) {
+                    writer.row(rs);
+                    if (++rows % PROGRESS_ROWS == 0 && progress != null) progress.accept(rows);
+                }
+                writer.finish(rows);
+                out.flush();
+                bytes = out.written;
+            }
+            if (autoCommit) conn.commit();
+            return new Result(rows, bytes, (System.nanoTime() - t0) / 1e9);
+        } catch (SQLException | IOException | RuntimeException ex) {
+            if (autoCommit) try { conn.rollback(); } catch (SQLException ignore) {}
+            throw ex;
+        } finally {
+            if (dialect == Dialect.H2) try { setLazy(conn, false); } catch (SQLException ignore) {}
+            if (autoCommit) try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
+        }
+    }
+
+    private static Object bound(Source source, LocalDate day) {
+        return source.timestampColumn ? Timestamp.valueOf(day.atStartOfDay()) : java.sql.Date.valueOf(day);
+    }
+
+    private static void setLazy(Connection conn, boolean lazy) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("SET LAZY_QUERY_EXECUTION " + (lazy ? "TRUE" : "FALSE"));
+        }
+    }
+
+    // --- Columns ---
+
+    enum Type { LONG, DECIMAL, DOUBLE, DATE, TIME, TIMESTAMP, BOOLEAN, STRING }
+
+    // Column labels are lower-cased so H2 and PostgreSQL exports look the same
+    record Column(String name, Type type, int scale) {}
+
+    static Column[] columns(ResultSetMetaData md) throws SQLException {
+        Column[] columns = new Column[md.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            int sqlType = md.getColumnType(i + 1);
+            Type type = switch (sqlType) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Type.LONG;
+                case Types.DECIMAL, Types.NUMERIC -> Type.DECIMAL;
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> Type.DOUBLE;
+                case Types.DATE -> Type.DATE;
+                case Types.TIME -> Type.TIME;
+                case Types.TIMESTAMP -> Type.TIMESTAMP;
+                case Types.BOOLEAN, Types.BIT -> Type.BOOLEAN;
+                default -> Type.STRING;
+            };
+            columns[i] = new Column(md.getColumnLabel(i + 1).toLowerCase(), type, type == Type.DECIMAL ? Math.max(0, md.getScale(i + 1)) : 0);
+        }
+        return columns;
+    }
+
+    // Text form of one value (CSV and JSON lines); null for SQL NULL
+    static String text(ResultSet rs, int i, Column c) throws SQLException {
+        switch (c.type()) {
+            case LONG: {
+                long v = rs.getLong(i);
+                return rs.wasNull() ? null : Long.toString(v);
+            }
+            case DECIMAL: {
+                BigDecimal v = rs.getBigDecimal(i);
+                return v == null ? null : v.toPlainString();
+            }
+            case DOUBLE: {
+                double v = rs.getDouble(i);
+                return rs.wasNull() ? null : Double.toString(v);
+            }
+            case DATE: {
+                LocalDate v = rs.getObject(i, LocalDate.class);
+                return v == null ? null : v.toString();
+            }
+            case TIME: {
+                LocalTime v = rs.getObject(i, LocalTime.class);
+                return v == null ? null : v.toString();
+            }
+            case TIMESTAMP: {
+                LocalDateTime v = rs.getObject(i, LocalDateTime.class);
+                return v == null ? null : v.toString();
+            }
+            case BOOLEAN: {
+                boolean v = rs.getBoolean(i);
+                return rs.wasNull() ? null : Boolean.toString(v);
+            }
+            default:
+                return rs.getString(i);
+        }
+    }
+
+    // --- Output ---
+
+    // Reused direct buffer in front of a FileChannel; text is encoded into it without intermediate byte arrays
+    static final class ChannelOut implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder();
+        long written;
+
+        ChannelOut(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) flush();
+        }
+
+        void putByte(int v) throws IOException { ensure(1); buf.put((byte) v); }
+
+        void putShort(int v) throws IOException { ensure(2); buf.putShort((short) v); }
+
+        void putInt(int v) throws IOException { ensure(4); buf.putInt(v); }
+
+        void putLong(long v) throws IOException { ensure(8); buf.putLong(v); }
+
+        void putDouble(double v) throws IOException { ensure(8); buf.putDouble(v); }
+
+        // Unsigned LEB128: 7 bits per byte, high bit set on all but the last
+        void putVarLong(long v) throws IOException {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buf.put((byte) v);
+        }
+
+        void put(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buf.hasRemaining()) flush();
+                int n = Math.min(len, buf.remaining());
+                buf.put(b, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        void text(CharSequence s) throws IOException {
+            CharBuffer in = CharBuffer.wrap(s);
+            utf8.reset();
+            while (true) {
+                CoderResult r = utf8.encode(in, buf, true);
+                if (r.isOverflow()) flush();
+                else if (r.isUnderflow()) break;
+                else r.throwException();
+            }
+            while (utf8.flush(buf).isOverflow()) flush();
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) written += channel.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    interface RowWriter {
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        default void finish(long rows) throws IOException {}
+    }
+
+    static final class CsvWriter implements RowWriter {
+        private final ChannelOut out;
+        private final Column[] columns;
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvWriter(ChannelOut out, Column[] columns) throws IOException {
+            this.out = out;
+            this.columns = columns;
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) line.append(',');
+                field(columns[i].name());
+            }
+            end();
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) line.append(',');
+                String v = text(rs, i + 1, columns[i]);
+                if (v != null) field(v);
+            }
+            end();
+        }
+
+        private void field(String v) {
+            boolean quote = false;
+            for (int i = 0; i < v.length() && !quote; i++) {
+                char c = v.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(v);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void end() throws IOException {
+            line.append("\r\n");
+            out.text(line);
+            line.setLength(0);
+        }
+    }
+
+    static final class JsonLinesWriter implements RowWriter {
+        private final ChannelOut out;
+        private final Column[] columns;
+        private final String[] keys; // "name": prefixes, quoted once
+        private final StringBuilder line = new StringBuilder(512);
+
+        JsonLinesWriter(ChannelOut out, Column[] columns) {
+            this.out = out;
+            this.columns = columns;
+            this.keys = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) keys[i] = Json.quote(columns[i].name()) + ":";
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            line.append('{');
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) line.append(',');
+                line.append(keys[i]);
+                String v = text(rs, i + 1, columns[i]);
+                Type t = columns[i].type();
+                if (v == null) line.append("null");
+                else if (t == Type.LONG || t == Type.DECIMAL || t == Type.BOOLEAN || (t == Type.DOUBLE && Double.isFinite(Double.parseDouble(v)))) line.append(v);
+                else Json.appendQuoted(line, v);
+            }
+            line.append("}\n");
+            out.text(line);
+            line.setLength(0);
+        }
+    }
+
+    // Buffers one row group per column in primitive arrays, then writes it column by column
+    static final class ColumnarWriter implements RowWriter {
+        private final ChannelOut out;
+        private final Column[] columns;
+        private final boolean[][] nulls;
+        private final long[][] longs;       // LONG, DECIMAL, DATE, TIME, TIMESTAMP, BOOLEAN and DOUBLE bits
+        private final int[][] lengths;      // STRING byte lengths
+        private final byte[][] bytes;       // STRING data
+        private final int[] byteCount;
+        private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder();
+        private int n;
+
+        ColumnarWriter(ChannelOut out, Column[] columns) throws IOException {
+            this.out = out;
+            this.columns = columns;
+            int k = columns.length;
+            nulls = new boolean[k][COL_GROUP_ROWS];
+            longs = new long[k][];
+            lengths = new int[k][];
+            bytes = new byte[k][];
+            byteCount = new int[k];
+            for (int i = 0; i < k; i++) {
+                if (columns[i].type() == Type.STRING) {
+                    lengths[i] = new int[COL_GROUP_ROWS];
+                    bytes[i] = new byte[64 * 1024];
+                } else {
+                    longs[i] = new long[COL_GROUP_ROWS];
+                }
+            }
+            out.put("HLC2".getBytes(StandardCharsets.US_ASCII), 0, 4);
+            out.putInt(k);
+            for (Column c : columns) {
+                byte[] name = c.name().getBytes(StandardCharsets.UTF_8);
+                out.putByte(c.type().ordinal());
+                out.putShort(name.length);
+                out.put(name, 0, name.length);
+                out.putByte(c.scale());
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.length; i++) {
+                Column c = columns[i];
+                int col = i + 1;
+                long v = 0;
+                boolean isNull;
+                switch (c.type()) {
+                    case LONG -> { v = rs.getLong(col); isNull = rs.wasNull(); }
+                    case DECIMAL -> {
+                        BigDecimal d = rs.getBigDecimal(col);
+                        isNull = d == null;
+                        if (!isNull) v = d.setScale(c.scale(), java.math.RoundingMode.HALF_UP).unscaledValue().longValueExact();
+                    }
+                    case DOUBLE -> { v = Double.doubleToLongBits(rs.getDouble(col)); isNull = rs.wasNull(); }
+                    case DATE -> {
+                        LocalDate d = rs.getObject(col, LocalDate.class);
+                        isNull = d == null;
+                        if (!isNull) v = d.toEpochDay();
+                    }
+                    case TIME -> {
+                        LocalTime t = rs.getObject(col, LocalTime.class);
+                        isNull = t == null;
+                        if (!isNull) v = t.toNanoOfDay() / 1_000_000;
+                    }
+                    case TIMESTAMP -> {
+                        LocalDateTime t = rs.getObject(col, LocalDateTime.class);
+                        isNull = t == null;
+                        if (!isNull) v = t.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + t.getNano() / 1000;
+                    }
+                    case BOOLEAN -> { v = rs.getBoolean(col) ? 1 : 0; isNull = rs.wasNull(); }
+                    default -> {
+                        String s = rs.getString(col);
+                        isNull = s == null;
+                        if (!isNull) appendString(i, s);
+                    }
+                }
+                nulls[i][n] = isNull;
+                if (longs[i] != null) longs[i][n] = v;
+            }
+            if (++n == COL_GROUP_ROWS) writeGroup();
+        }
+
+        private void appendString(int i, String s) throws IOException {
+            int start = byteCount[i];
+            int max = (int) (s.length() * (double) utf8.maxBytesPerChar());
+            if (bytes[i].length - start < max) bytes[i] = Arrays.copyOf(bytes[i], Math.max(bytes[i].length * 2, start + max));
+            ByteBuffer target = ByteBuffer.wrap(bytes[i], start, bytes[i].length - start);
+            utf8.reset();
+            CoderResult r = utf8.encode(CharBuffer.wrap(s), target, true);
+            if (r.isError()) r.throwException();
+            utf8.flush(target);
+            byteCount[i] = target.position();
+            lengths[i][n] = byteCount[i] - start;
+        }
+
+        private void writeGroup() throws IOException {
+            if (n == 0) return;
+            out.putInt(n);
+            for (int i = 0; i < columns.length; i++) {
+                boolean[] isNull = nulls[i];
+                for (int b = 0; b < n; b += 8) {
+                    int bits = 0;
+                    for (int j = 0; j < 8 && b + j < n; j++) if (isNull[b + j]) bits |= 1 << j;
+                    out.putByte(bits);
+                }
+                Type t = columns[i].type();
+                if (t == Type.STRING) {
+                    writeStrings(i, isNull);
+                    byteCount[i] = 0;
+                    // Do not keep a buffer that one huge group made large
+                    if (bytes[i].length > 4 * 1024 * 1024) bytes[i] = new byte[64 * 1024];
+                } else if (t == Type.DOUBLE) {
+                    for (int r = 0; r < n; r++) if (!isNull[r]) out.putLong(longs[i][r]);
+                } else if (t == Type.BOOLEAN) {
+                    int bits = 0;
+                    int k = 0;
+                    for (int r = 0; r < n; r++) {
+                        if (isNull[r]) continue;
+                        if (longs[i][r] != 0) bits |= 1 << k;
+                        if (++k == 8) {
+                            out.putByte(bits);
+                            bits = 0;
+                            k = 0;
+                        }
+                    }
+                    if (k > 0) out.putByte(bits);
+                } else {
+                    writeIntegers(longs[i], isNull);
+                }
+            }
+            n = 0;
+        }
+
+        // Ids, dates and timestamps usually grow in small steps, so deltas are short; other columns are stored as is
+        private void writeIntegers(long[] values, boolean[] isNull) throws IOException {
+            long plain = 0;
+            long delta = 0;
+            long prev = 0;
+            for (int r = 0; r < n; r++) {
+                if (isNull[r]) continue;
+                plain += varintSize(zigzag(values[r]));
+                delta += varintSize(zigzag(values[r] - prev));
+                prev = values[r];
+            }
+            boolean useDelta = delta < plain;
+            out.putByte(useDelta ? 1 : 0);
+            prev = 0;
+            for (int r = 0; r < n; r++) {
+                if (isNull[r]) continue;
+                out.putVarLong(zigzag(useDelta ? values[r] - prev : values[r]));
+                prev = values[r];
+            }
+        }
+
+        // Low-cardinality columns (status, method, names) are written once per group and referenced by index
+        private void writeStrings(int i, boolean[] isNull) throws IOException {
+            byte[] data = bytes[i];
+            int[] len = lengths[i];
+            Map<ByteBuffer, Integer> dictionary = new HashMap<>();
+            int[] index = new int[n];
+            long plain = 0;
+            long dict = 0;
+            int off = 0;
+            for (int r = 0; r < n; r++) {
+                if (isNull[r]) continue;
+                plain += varintSize(len[r]) + len[r];
+                Integer id = dictionary.get(ByteBuffer.wrap(data, off, len[r]));
+                if (id == null) {
+                    id = dictionary.size();
+                    dictionary.put(ByteBuffer.wrap(data, off, len[r]), id);
+                    dict += varintSize(len[r]) + len[r];
+                }
+                index[r] = id;
+                dict += varintSize(id);
+                off += len[r];
+            }
+            dict += varintSize(dictionary.size());
+            if (dict < plain) {
+                out.putByte(1);
+                out.putVarLong(dictionary.size());
+                ByteBuffer[] entries = new ByteBuffer[dictionary.size()];
+                for (Map.Entry<ByteBuffer, Integer> e : dictionary.entrySet()) entries[e.getValue()] = e.getKey();
+                for (ByteBuffer e : entries) {
+                    out.putVarLong(e.remaining());
+                    out.put(data, e.position(), e.remaining());
+                }
+                for (int r = 0; r < n; r++) if (!isNull[r]) out.putVarLong(index[r]);
+            } else {
+                out.putByte(0);
+                for (int r = 0; r < n; r++) if (!isNull[r]) out.putVarLong(len[r]);
+                out.put(data, 0, byteCount[i]);
+            }
+        }
+
+        private static long zigzag(long v) {
+            return (v << 1) ^ (v >> 63);
+        }
+
+        private static int varintSize(long v) {
+            return v == 0 ? 1 : (63 - Long.numberOfLeadingZeros(v)) / 7 + 1;
+        }
+
+        @Override
+        public void finish(long rows) throws IOException {
+            writeGroup();
+            out.putInt(0);
+            out.putLong(rows);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: DataExporter bookings|activities <out-file> [--format csv|jsonl|col] [--from YYYY-MM-DD] [--to YYYY-MM-DD] [--fetch-size N]");
+            System.exit(2);
+        }
+        Source source = Source.valueOf(args[0].toUpperCase());
+        Path file = Paths.get(args[1]);
+        Format format = Format.CSV;
+        LocalDate from = null;
+        LocalDate to = null;
+        int fetchSize = DEFAULT_FETCH_SIZE;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format": format = Format.valueOf(args[++i].toUpperCase()); break;
+                case "--from": from = LocalDate.parse(args[++i]); break;
+                case "--to": to = LocalDate.parse(args[++i]); break;
+                case "--fetch-size": fetchSize = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        try (Connection conn = DBConnection.connect()) {
+            if (conn == null) throw new SQLException("Cannot connect to database");
+            long t0 = System.nanoTime();
+            Result result = new DataExporter(fetchSize).export(conn, source, format, from, to, file,
+                    rows -> System.out.printf("  %,d rows (%.0f rows/s)%n", rows, rows / ((System.nanoTime() - t0) / 1e9)));
+            System.out.println("Export finished: " + result + " -> " + file);
+        }
+        System.exit(0);
+    }
+}
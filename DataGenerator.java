@@ -0,0 +1,568 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Deterministic synthetic data for scale testing: every HostLink table, referentially consistent.
+//   java -cp ".;lib\*" DataGenerator [--scale N] [--seed S] [--skew Z] [--threads N] [--batch-size N] [--no-rollups]
+// Scale 1 is 20 admins, 2,000 hosts, 20,000 tourists, 10,000 activities and ~50,000 bookings (~150,000 rows in all);
+// rows grow linearly with the scale, so --scale 100 writes ~15 million rows.
+//
+// Determinism: each row is drawn from its own random stream, seeded by (seed, table, row index), so the same seed
+// gives the same rows whatever the thread count. Ids are assigned explicitly, starting after the largest existing
+// id, so on a freshly migrated database the output is identical run to run; identity columns are moved past the
+// new ids afterwards.
+// Consistency: bookings are planned per activity, so act_available_seats = capacity minus the spots of its
+// non-cancelled bookings, a tourist books an activity at most once, Cancelled activities only have Cancelled
+// bookings, past activities have Completed (or Cancelled) bookings, payments follow their booking's status, and
+// activity reviews come from Completed bookings. All CHECK constraints hold. Report rollups are rebuilt at the end.
+// Skew (Zipf exponent, 0 = uniform): activity demand, the hosts that own activities and the tourists that book are
+// power-law distributed; hot activities get a larger capacity and fill up.
+// Loading: batched INSERTs, one transaction per batch. Tables run level by level in dependency order; the tables
+// of one level load in parallel and large tables are split into chunks across --threads connections.
+public class DataGenerator {
+    private static final long TAG_USER = 1, TAG_HOST = 3, TAG_TOURIST = 4, TAG_ACTIVITY = 5,
+            TAG_VERIFICATION = 6, TAG_HOST_REVIEW = 7, TAG_EXPERIENCE = 8, TAG_BOOKING = 9, TAG_ACTIVITY_REVIEW = 10;
+    private static final long PERMUTE = 1_000_000_007L; // prime: multiplying by it mod n permutes 0..n-1
+    private static final java.time.LocalDate FIRST_DAY = java.time.LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 730;
+    private static final int TODAY = 365; // activities before FIRST_DAY + TODAY are in the past
+    private static final double MEAN_BOOKINGS = 8;
+    private static final int MAX_CAPACITY = 500;
+
+    private static final String[] FIRST = {"amine", "sara", "youssef", "fatima", "omar", "salma", "mehdi", "imane", "hamza", "khadija",
+            "emily", "david", "maria", "james", "sophia", "lucas", "emma", "noah", "mia", "leo", "hana", "yuki", "ana", "pablo"};
+    private static final String[] LAST = {"alaoui", "benali", "chraibi", "el idrissi", "fassi", "tazi", "berrada", "smith", "garcia",
+            "martin", "muller", "rossi", "dubois", "silva", "kowalski", "tanaka", "johnson", "lopez", "bernard", "haddad"};
+    private static final String[] COUNTRIES = {"USA", "UK", "Spain", "France", "Germany", "Italy", "Netherlands", "Canada",
+            "Morocco", "Japan", "Brazil", "China", "Belgium", "Sweden", "Australia"};
+    private static final String[] CITIES = {"Marrakech", "Fes", "Casablanca", "Rabat", "Tangier", "Chefchaouen", "Essaouira",
+            "Agadir", "Merzouga", "Ouarzazate", "Atlas Mountains", "Dakhla", "Meknes", "Tetouan", "Ifrane", "Taghazout"};
+    private static final String[] KINDS = {"Walking Tour", "Cooking Class", "Desert Safari", "Hiking", "Surf Lesson", "Camel Trek",
+            "Hammam Experience", "Pottery Workshop", "Food Tour", "Photography Walk", "Kayak Trip", "Yoga Retreat",
+            "Market Visit", "Stargazing Night", "Quad Ride", "Calligraphy Class"};
+    private static final String[] ADJECTIVES = {"Sunrise", "Sunset", "Hidden", "Classic", "Private", "Family", "Authentic",
+            "Guided", "Evening", "Half-Day", "Full-Day", "Traditional"};
+    private static final String[] WORDS = {"explore", "local", "guide", "ancient", "medina", "traditional", "views", "tea",
+            "market", "dunes", "mountains", "village", "souk", "riad", "spices", "history", "craft", "ocean", "kasbah",
+            "oasis", "garden", "music", "tagine", "argan", "berber", "palace", "coast", "valley", "waterfall", "night"};
+    private static final String[] COMMENTS = {"Great experience", "Very friendly host", "Would book again", "Well organised",
+            "Not as described", "Amazing views", "A bit too long", "Excellent guide", "Good value", "Unforgettable"};
+    private static final String[] METHODS = {"Credit Card", "Debit Card", "PayPal", "Cash"};
+
+    public record Counts(int admins, int hosts, int tourists, int activities) {
+        static Counts forScale(double scale) {
+            return new Counts(Math.max(1, (int) (20 * scale)), Math.max(1, (int) (2_000 * scale)),
+                    Math.max(1, (int) (20_000 * scale)), Math.max(1, (int) (10_000 * scale)));
+        }
+    }
+
+    // Planned bookings of one activity, shared by the Activity, Booking, Payment and activity_review generators
+    record ActivityPlan(int host, int capacity, int available, BigDecimal price, int day, int minuteOfDay, String status,
+                        int[] tourists, int[] spots, String[] statuses, int[] bookedDaysBefore) {}
+
+    private final long seed;
+    private final double skew;
+    private final Counts counts;
+    private final int threads;
+    private final int batchSize;
+    private final ConnectionPool.ConnectionFactory source;
+
+    // Id bases: new ids are base + 1 + index
+    private int userBase, activityBase, verificationBase;
+    private long bookingBase, paymentBase;
+    private long[] bookingStart; // first booking index of each activity (prefix sums of the plans)
+    private AtomicIntegerArray touristCompleted; // Trs_ActivityCount: Completed bookings per tourist
+
+    private final Zipf hostPicker, touristPicker;
+    private final long activityRankInverse;
+    private final double activityDemandScale;
+
+    private final Map<String, AtomicLong> written = new ConcurrentHashMap<>();
+
+    public DataGenerator(ConnectionPool.ConnectionFactory source, Counts counts, long seed, double skew, int threads, int batchSize) {
+        if (threads <= 0 || batchSize <= 0) throw new IllegalArgumentException("threads and batchSize must be > 0");
+        this.source = source;
+        this.counts = counts;
+        this.seed = seed;
+        this.skew = skew;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.hostPicker = new Zipf(counts.hosts(), skew);
+        this.touristPicker = new Zipf(counts.tourists(), skew);
+        int n = counts.activities();
+        this.activityRankInverse = BigInteger.valueOf(PERMUTE % n == 0 ? 1 : PERMUTE % n).modInverse(BigInteger.valueOf(Math.max(n, 2))).longValue();
+        double harmonic = 0;
+        if (skew > 0) for (int k = 1; k <= n; k++) harmonic += Math.pow(k, -skew);
+        this.activityDemandScale = skew > 0 ? MEAN_BOOKINGS * n / harmonic : MEAN_BOOKINGS;
+    }
+
+    // --- Random streams and skewed picks ---
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private SplittableRandom rng(long tag, long index) {
+        return new SplittableRandom(mix(seed ^ mix(tag * 0x9E3779B97F4A7C15L + index)));
+    }
+
+    // Zipf-ranked pick mapped through a fixed permutation, so the hot items are spread over the id range
+    private static int permuted(int rank, int n) {
+        return (int) (((long) (rank - 1) * PERMUTE) % n);
+    }
+
+    private int pickHost(SplittableRandom r) {
+        return permuted(hostPicker.sample(r), counts.hosts());
+    }
+
+    private int pickTourist(SplittableRandom r) {
+        return permuted(touristPicker.sample(r), counts.tourists());
+    }
+
+    private static <T> T pick(SplittableRandom r, T[] values) {
+        return values[r.nextInt(values.length)];
+    }
+
+    // Zipf(n, s) over 1..n by rejection-inversion (Hoermann and Derflinger); s <= 0 means uniform
+    static final class Zipf {
+        private final int n;
+        private final double s, hIntegralX1, hIntegralN, threshold;
+
+        Zipf(int n, double s) {
+            this.n = n;
+            this.s = s;
+            if (s > 0) {
+                hIntegralX1 = hIntegral(1.5) - 1.0;
+                hIntegralN = hIntegral(n + 0.5);
+                threshold = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+            } else {
+                hIntegralX1 = hIntegralN = threshold = 0;
+            }
+        }
+
+        int sample(SplittableRandom r) {
+            if (s <= 0) return 1 + r.nextInt(n);
+            while (true) {
+                double u = hIntegralN + r.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) k = 1;
+                else if (k > n) k = n;
+                if (k - x <= threshold || u >= hIntegral(k + 0.5) - h(k)) return k;
+            }
+        }
+
+        private double h(double x) { return Math.exp(-s * Math.log(x)); }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1.0 - s) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(x * (1.0 - s), -1.0);
+            return Math.exp(helper1(t) * x);
+        }
+
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+        }
+    }
+
+    // --- Plans ---
+
+    ActivityPlan plan(int a) {
+        SplittableRandom r = rng(TAG_ACTIVITY, a);
+        int host = pickHost(r);
+        int n = counts.activities();
+        long rank = ((long) a * activityRankInverse) % n + 1; // inverse of permuted(): hot activities have a low rank
+        double demand = skew > 0 ? activityDemandScale * Math.pow(rank, -skew) : MEAN_BOOKINGS;
+        demand *= 0.5 + r.nextDouble();
+        int capacity = (int) Math.max(4, Math.min(MAX_CAPACITY, Math.round(demand * 2.5 * (0.8 + 0.6 * r.nextDouble()))));
+        BigDecimal price = BigDecimal.valueOf(50 + 10L * r.nextInt(146)); // 50..1500 MAD per spot
+        int day = r.nextInt(DAYS);
+        int minute = 7 * 60 + 30 * r.nextInt(27); // 07:00..20:00
+        double s = r.nextDouble();
+        String status = s < 0.05 ? "Cancelled" : s < 0.10 ? "Inactive" : "Active";
+
+        int wanted = (int) Math.min(capacity, Math.round(demand));
+        int[] tourists = new int[wanted];
+        int[] spots = new int[wanted];
+        String[] statuses = new String[wanted];
+        int[] before = new int[wanted];
+        Set<Integer> seen = new HashSet<>();
+        int remaining = capacity, k = 0;
+        for (int i = 0; i < wanted && remaining > 0; i++) {
+            int tourist = pickTourist(r);
+            for (int retry = 0; retry < 5 && seen.contains(tourist); retry++) tourist = pickTourist(r);
+            int spot = 1 + Math.min(r.nextInt(4), r.nextInt(4)); // mostly 1-2 spots
+            double u = r.nextDouble();
+            String bs;
+            if ("Cancelled".equals(status) || u < 0.08) bs = "Cancelled";
+            else if (day < TODAY) bs = "Completed";
+            else bs = u < 0.35 ? "Pending" : "Confirmed";
+            int daysBefore = 1 + r.nextInt(60);
+            if (seen.contains(tourist) || (!"Cancelled".equals(bs) && spot > remaining)) continue;
+            seen.add(tourist);
+            if (!"Cancelled".equals(bs)) remaining -= spot;
+            tourists[k] = tourist;
+            spots[k] = spot;
+            statuses[k] = bs;
+            before[k] = daysBefore;
+            k++;
+        }
+        return new ActivityPlan(host, capacity, remaining, price, day, minute, status,
+                Arrays.copyOf(tourists, k), Arrays.copyOf(spots, k), Arrays.copyOf(statuses, k), Arrays.copyOf(before, k));
+    }
+
+    // Booking counts of every activity (in parallel), turned into each activity's first booking index
+    private void planBookings(ExecutorService pool) throws Exception {
+        int n = counts.activities();
+        int[] perActivity = new int[n];
+        touristCompleted = new AtomicIntegerArray(counts.tourists());
+        List<Future<?>> parts = new ArrayList<>();
+        int chunk = Math.max(10_000, n / (threads * 4) + 1);
+        for (int from = 0; from < n; from += chunk) {
+            int lo = from, hi = Math.min(n, from + chunk);
+            parts.add(pool.submit(() -> {
+                for (int a = lo; a < hi; a++) {
+                    ActivityPlan p = plan(a);
+                    perActivity[a] = p.tourists().length;
+                    for (int i = 0; i < p.tourists().length; i++) {
+                        if ("Completed".equals(p.statuses()[i])) touristCompleted.incrementAndGet(p.tourists()[i]);
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : parts) f.get();
+        bookingStart = new long[n + 1];
+        for (int a = 0; a < n; a++) bookingStart[a + 1] = bookingStart[a] + perActivity[a];
+    }
+
+    // --- Ids ---
+
+    int adminId(int i) { return userBase + 1 + i; }
+
+    int hostId(int i) { return userBase + 1 + counts.admins() + i; }
+
+    int touristId(int i) { return userBase + 1 + counts.admins() + counts.hosts() + i; }
+
+    int activityId(int i) { return activityBase + 1 + i; }
+
+    private static java.sql.Date date(int day) {
+        return java.sql.Date.valueOf(FIRST_DAY.plusDays(day));
+    }
+
+    private static Timestamp timestamp(int day, int minuteOfDay) {
+        return Timestamp.valueOf(FIRST_DAY.plusDays(day).atTime(minuteOfDay / 60, minuteOfDay % 60));
+    }
+
+    // --- Tables ---
+
+    // One table: its INSERT and the rows contributed by each unit (user, host, activity, ...) of its range
+    private record Table(String name, String sql, int units, Emitter emitter) {}
+
+    private interface Emitter {
+        void emit(int unit, Batch out) throws SQLException;
+    }
+
+    private List<List<Table>> levels() {
+        int users = counts.admins() + counts.hosts() + counts.tourists();
+        Table userAccount = new Table("UserAccount",
+                "INSERT INTO UserAccount (User_id, username, user_password, user_email, userType, user_DateOfCreation) VALUES (?, ?, ?, ?, ?, ?)",
+                users, (u, out) -> {
+                    SplittableRandom r = rng(TAG_USER, u);
+                    int id = userBase + 1 + u;
+                    String type = u < counts.admins() ? "Admin" : u < counts.admins() + counts.hosts() ? "Host" : "Tourist";
+                    String name = (pick(r, FIRST) + "_" + pick(r, LAST)).replace(' ', '_') + "_" + id;
+                    out.row(id, name, "gen_pwd_" + Long.toHexString(r.nextLong()), name + "@example.com", type,
+                            timestamp(r.nextInt(TODAY), r.nextInt(24 * 60)));
+                });
+        Table admin = new Table("Admin", "INSERT INTO Admin (admin_id, adm_code) VALUES (?, ?)",
+                counts.admins(), (i, out) -> out.row(adminId(i), "ADM" + adminId(i)));
+        Table host = new Table("Host",
+                "INSERT INTO Host (host_id, hos_description, hos_DateSubmission, hos_cv, hos_cin, hos_tel) VALUES (?, ?, ?, ?, ?, ?)",
+                counts.hosts(), (i, out) -> {
+                    SplittableRandom r = rng(TAG_HOST, i);
+                    int id = hostId(i);
+                    out.row(id, pick(r, KINDS) + " host in " + pick(r, CITIES) + ", " + (1 + r.nextInt(20)) + " years experience",
+                            timestamp(r.nextInt(TODAY), r.nextInt(24 * 60)), "cv_" + id + ".pdf",
+                            "CIN" + (100_000 + r.nextInt(900_000)), "+2126" + (10_000_000 + r.nextInt(90_000_000)));
+                });
+        Table tourist = new Table("Tourist",
+                "INSERT INTO Tourist (tourist_id, Trs_originalCountry, Trs_age, Trs_emergencyContact, Trs_ActivityCount) VALUES (?, ?, ?, ?, ?)",
+                counts.tourists(), (i, out) -> {
+                    SplittableRandom r = rng(TAG_TOURIST, i);
+                    out.row(touristId(i), pick(r, COUNTRIES), 18 + r.nextInt(63), "+" + (10_000_000_000L + r.nextLong(90_000_000_000L)),
+                            touristCompleted.get(i));
+                });
+        Table activity = new Table("Activity",
+                "INSERT INTO Activity (activity_id, act_title, act_description, act_image, act_location, act_date, act_time, act_capacity, act_available_seats, act_status, host_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                counts.activities(), (a, out) -> {
+                    ActivityPlan p = plan(a);
+                    SplittableRandom r = rng(TAG_ACTIVITY, -1L - a); // text only, independent of the plan stream
+                    String city = pick(r, CITIES);
+                    StringBuilder desc = new StringBuilder();
+                    for (int w = 4 + r.nextInt(12); w > 0; w--) desc.append(pick(r, WORDS)).append(w > 1 ? " " : ".");
+                    out.row(activityId(a), pick(r, ADJECTIVES) + " " + pick(r, KINDS) + " in " + city, desc.toString(),
+                            "img_" + activityId(a) + ".jpg", city, date(p.day()), Time.valueOf(java.time.LocalTime.of(p.minuteOfDay() / 60, p.minuteOfDay() % 60)),
+                            p.capacity(), p.available(), p.status(), hostId(p.host()));
+                });
+        Table verification = new Table("Verification",
+                "INSERT INTO Verification (verification_id, Host_id, ver_Date, ver_Status, admin_id) VALUES (?, ?, ?, ?, ?)",
+                counts.hosts(), (h, out) -> {
+                    SplittableRandom r = rng(TAG_VERIFICATION, h);
+                    int submitted = r.nextInt(TODAY);
+                    double s = r.nextDouble();
+                    String status = s < 0.80 ? "Approved" : s < 0.92 ? "Pending" : "Rejected";
+                    if (!"Rejected".equals(status) && r.nextDouble() < 0.15) {
+                        // An earlier rejected attempt
+                        out.row(verificationBase + 1 + 2 * h, hostId(h), timestamp(submitted, 9 * 60), "Rejected", adminId(r.nextInt(counts.admins())));
+                    }
+                    out.row(verificationBase + 2 + 2 * h, hostId(h), timestamp(Math.min(DAYS - 1, submitted + 5 + r.nextInt(30)), 10 * 60), status,
+                            adminId(r.nextInt(counts.admins())));
+                });
+        Table hostReview = new Table("host_Review",
+                "INSERT INTO host_Review (host_id, tourist_id, hos_rating, Trs_comment) VALUES (?, ?, ?, ?)",
+                counts.hosts(), (h, out) -> {
+                    SplittableRandom r = rng(TAG_HOST_REVIEW, h);
+                    int reviews = Math.min(counts.tourists(), (int) (Math.pow(r.nextDouble(), 3) * 12));
+                    Set<Integer> seen = new HashSet<>();
+                    for (int k = 0; k < reviews; k++) {
+                        int t = pickTourist(r);
+                        if (!seen.add(t)) continue;
+                        out.row(hostId(h), touristId(t), rating(r), pick(r, COMMENTS));
+                    }
+                });
+        Table experiences = new Table("Experiences", "INSERT INTO Experiences (admin_id, activity_id) VALUES (?, ?)",
+                counts.activities(), (a, out) -> {
+                    SplittableRandom r = rng(TAG_EXPERIENCE, a);
+                    if (r.nextDouble() < 0.05) out.row(adminId(r.nextInt(counts.admins())), activityId(a));
+                });
+        Table booking = new Table("Booking",
+                "INSERT INTO Booking (booking_id, activity_id, tourist_id, bkg_Date, bkg_Status, bkg_spotsReserved) VALUES (?, ?, ?, ?, ?, ?)",
+                counts.activities(), (a, out) -> {
+                    ActivityPlan p = plan(a);
+                    SplittableRandom r = rng(TAG_BOOKING, a);
+                    for (int i = 0; i < p.tourists().length; i++) {
+                        out.row(bookingBase + 1 + bookingStart[a] + i, activityId(a), touristId(p.tourists()[i]),
+                                timestamp(Math.max(0, p.day() - p.bookedDaysBefore()[i]), r.nextInt(24 * 60)), p.statuses()[i], p.spots()[i]);
+                    }
+                });
+        Table payment = new Table("Payment",
+                "INSERT INTO Payment (payment_id, booking_id, payTotalAmount, paymentMethod, paymentStatus, tourist_id) VALUES (?, ?, ?, ?, ?, ?)",
+                counts.activities(), (a, out) -> {
+                    ActivityPlan p = plan(a);
+                    SplittableRandom r = rng(TAG_BOOKING, -1L - a);
+                    for (int i = 0; i < p.tourists().length; i++) {
+                        double u = r.nextDouble();
+                        String method = pick(r, METHODS);
+                        String status = switch (p.statuses()[i]) {
+                            case "Completed", "Confirmed" -> u < 0.96 ? "Completed" : "Failed";
+                            case "Cancelled" -> u < 0.4 ? "Refunded" : null;
+                            default -> u < 0.3 ? "Pending" : null;
+                        };
+                        if (status == null) continue;
+                        long index = bookingStart[a] + i;
+                        out.row(paymentBase + 1 + index, bookingBase + 1 + index, p.price().multiply(BigDecimal.valueOf(p.spots()[i])),
+                                method, status, touristId(p.tourists()[i]));
+                    }
+                });
+        Table activityReview = new Table("activity_review",
+                "INSERT INTO activity_review (tourist_id, activity_id, rev_text, rev_activityRating, rev_hostRating, rev_date) VALUES (?, ?, ?, ?, ?, ?)",
+                counts.activities(), (a, out) -> {
+                    ActivityPlan p = plan(a);
+                    SplittableRandom r = rng(TAG_ACTIVITY_REVIEW, a);
+                    for (int i = 0; i < p.tourists().length; i++) {
+                        if (!"Completed".equals(p.statuses()[i]) || r.nextDouble() >= 0.35) continue;
+                        out.row(touristId(p.tourists()[i]), activityId(a), pick(r, COMMENTS), rating(r), rating(r),
+                                timestamp(Math.min(DAYS - 1, p.day() + 1 + r.nextInt(10)), r.nextInt(24 * 60)));
+                    }
+                });
+        return List.of(List.of(userAccount), List.of(admin, host, tourist), List.of(activity, verification, hostReview),
+                List.of(booking, experiences, activityReview), List.of(payment));
+    }
+
+    // 1.0..5.0 in steps of 0.5, mostly 4 and up
+    private static BigDecimal rating(SplittableRandom r) {
+        int halves = 10 - Math.min(8, (int) (-Math.log(1 - r.nextDouble()) * 2));
+        return BigDecimal.valueOf(halves * 5L, 1);
+    }
+
+    // --- Loading ---
+
+    // PreparedStatement batch committed every batchSize rows
+    private final class Batch implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement pst;
+        private final AtomicLong counter;
+        private int pending;
+
+        Batch(Connection conn, Table table) throws SQLException {
+            this.conn = conn;
+            this.pst = conn.prepareStatement(table.sql());
+            this.counter = written.computeIfAbsent(table.name(), k -> new AtomicLong());
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) pst.setObject(i + 1, values[i]);
+            pst.addBatch();
+            if (++pending == batchSize) flush();
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) return;
+            pst.executeBatch();
+            conn.commit();
+            counter.addAndGet(pending);
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                pst.close();
+            }
+        }
+    }
+
+    private void load(Table table, int from, int to) throws SQLException {
+        try (Connection conn = source.open()) {
+            conn.setAutoCommit(false);
+            try (Batch out = new Batch(conn, table)) {
+                for (int unit = from; unit < to; unit++) table.emitter().emit(unit, out);
+            } catch (SQLException | RuntimeException ex) {
+                try { conn.rollback(); } catch (SQLException ignore) {}
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    public void run(boolean rebuildRollups) throws Exception {
+        long t0 = System.nanoTime();
+        try (Connection conn = source.open()) {
+            userBase = maxId(conn, "SELECT MAX(User_id) FROM UserAccount");
+            activityBase = maxId(conn, "SELECT MAX(activity_id) FROM Activity");
+            bookingBase = maxId(conn, "SELECT MAX(booking_id) FROM Booking");
+            paymentBase = maxId(conn, "SELECT MAX(payment_id) FROM Payment");
+            verificationBase = maxId(conn, "SELECT MAX(verification_id) FROM Verification");
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            planBookings(pool);
+            System.out.printf("Planned %,d bookings for %,d activities in %.1fs%n", bookingStart[counts.activities()], counts.activities(), (System.nanoTime() - t0) / 1e9);
+            for (List<Table> level : levels()) {
+                long l0 = System.nanoTime();
+                List<Future<?>> parts = new ArrayList<>();
+                for (Table table : level) {
+                    // Chunks small enough to spread one big table over all threads
+                    int chunk = Math.max(batchSize, table.units() / (threads * 4) + 1);
+                    for (int from = 0; from < table.units(); from += chunk) {
+                        int lo = from, hi = Math.min(table.units(), from + chunk);
+                        parts.add(pool.submit(() -> {
+                            load(table, lo, hi);
+                            return null;
+                        }));
+                    }
+                }
+                for (Future<?> f : parts) f.get();
+                double sec = (System.nanoTime() - l0) / 1e9;
+                long levelRows = 0;
+                for (Table table : level) {
+                    long rows = written.getOrDefault(table.name(), new AtomicLong()).get();
+                    levelRows += rows;
+                    System.out.printf("  %-16s %,12d rows%n", table.name(), rows);
+                }
+                System.out.printf("  -> %,d rows in %.1fs (%,.0f rows/s)%n", levelRows, sec, levelRows / Math.max(sec, 1e-9));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (Connection conn = source.open()) {
+            restartIdentity(conn, "UserAccount", "User_id", userBase + counts.admins() + counts.hosts() + counts.tourists());
+            restartIdentity(conn, "Activity", "activity_id", activityBase + counts.activities());
+            restartIdentity(conn, "Booking", "booking_id", bookingBase + bookingStart[counts.activities()]);
+            restartIdentity(conn, "Payment", "payment_id", paymentBase + bookingStart[counts.activities()]);
+            restartIdentity(conn, "Verification", "verification_id", verificationBase + 2L * counts.hosts());
+            if (rebuildRollups) {
+                long r0 = System.nanoTime();
+                new BookingAggregates().rebuild(conn);
+                System.out.printf("Rebuilt report rollups in %.1fs%n", (System.nanoTime() - r0) / 1e9);
+            }
+            if (Dialect.of(conn) == Dialect.POSTGRESQL) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("ANALYZE");
+                }
+            }
+        }
+        long total = written.values().stream().mapToLong(AtomicLong::get).sum();
+        double sec = (System.nanoTime() - t0) / 1e9;
+        System.out.printf("Generated %,d rows in %.1fs (%,.0f rows/s)%n", total, sec, total / sec);
+    }
+
+    private static int maxId(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Move an identity/serial column past the explicitly inserted ids so later INSERTs do not collide
+    private static void restartIdentity(Connection conn, String table, String column, long maxId) throws SQLException {
+        long current = maxId(conn, "SELECT MAX(" + column + ") FROM " + table);
+        long next = Math.max(maxId, current) + 1;
+        try (Statement st = conn.createStatement()) {
+            if (Dialect.of(conn) == Dialect.POSTGRESQL) {
+                st.execute("SELECT setval(pg_get_serial_sequence('" + table.toLowerCase() + "', '" + column.toLowerCase() + "'), " + (next - 1) + ")");
+            } else {
+                st.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double scale = 1;
+        long seed = 42;
+        double skew = 1.1;
+        int threads = 4;
+        int batchSize = 1000;
+        boolean rollups = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scale": scale = Double.parseDouble(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--skew": skew = Double.parseDouble(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--batch-size": batchSize = Integer.parseInt(args[++i]); break;
+                case "--no-rollups": rollups = false; break;
+                default:
+                    System.err.println("Usage: DataGenerator [--scale N] [--seed S] [--skew Z] [--threads N] [--batch-size N] [--no-rollups]");
+                    System.exit(2);
+            }
+        }
+        Counts counts = Counts.forScale(scale);
+        System.out.printf("Generating scale %s (seed %d, skew %s): %,d admins, %,d hosts, %,d tourists, %,d activities on %d threads%n",
+                scale, seed, skew, counts.admins(), counts.hosts(), counts.tourists(), counts.activities(), threads);
+        DataGenerator generator = new DataGenerator(() -> {
+            Connection c = DBConnection.connect();
+            if (c == null) throw new SQLException("Cannot connect to database");
+            return c;
+        }, counts, seed, skew, threads, batchSize);
+        generator.run(rollups);
+        System.exit(0);
+    }
+}
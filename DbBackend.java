@@ -0,0 +1,58 @@
+import java.sql.*;
+import java.util.Properties;
+
+// A resolved JDBC backend: driver instance, URL, credentials and dialect.
+// Built once at startup by DBConnection; opening connections goes straight to the driver.
+public class DbBackend {
+    private final String name;
+    private final Dialect dialect;
+    private final Driver driver;
+    private final String url;
+    private final String user;
+    private final String password;
+
+    // Lets the PostgreSQL driver rewrite JDBC batches of INSERTs into multi-row INSERTs
+    private static final boolean REWRITE_BATCHED_INSERTS = Boolean.parseBoolean(System.getenv().getOrDefault("DB_REWRITE_BATCHED_INSERTS", "true"));
+
+    public DbBackend(String name, Dialect dialect, Driver driver, String url, String user, String password) {
+        this.name = name;
+        this.dialect = dialect;
+        this.driver = driver;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    public String getName() { return name; }
+    public Dialect getDialect() { return dialect; }
+    public String getUrl() { return url; }
+
+    // Open a physical connection, giving up after timeoutSeconds (0 = driver default)
+    public Connection open(int timeoutSeconds) throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        if (dialect == Dialect.POSTGRESQL && REWRITE_BATCHED_INSERTS) props.setProperty("reWriteBatchedInserts", "true");
+        if (dialect == Dialect.POSTGRESQL && timeoutSeconds > 0) {
+            props.setProperty("connectTimeout", String.valueOf(timeoutSeconds));
+            props.setProperty("loginTimeout", String.valueOf(timeoutSeconds));
+        }
+        Connection conn = driver.connect(url, props);
+        if (conn == null) throw new SQLException("Driver " + driver.getClass().getName() + " does not accept URL " + url);
+        return conn;
+    }
+
+    // Cheap health check: connect with a short timeout and validate
+    public boolean probe(int timeoutSeconds) {
+        try (Connection conn = open(timeoutSeconds)) {
+            return conn.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + url + ")";
+    }
+}
@@ -0,0 +1,196 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs JDBC work off the calling thread. Each task borrows a pooled connection,
+// runs on a virtual thread when the JVM supports them (Java 21+), and is bounded
+// by a concurrency cap: work submitted while the cap is reached is rejected at once.
+public class DbExecutor implements AutoCloseable {
+
+    // Unit of JDBC work run against a borrowed connection
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private static final int MAX_CONCURRENT = Integer.parseInt(System.getenv().getOrDefault("DB_MAX_CONCURRENT", "8"));
+    static final long DEFAULT_TIMEOUT_MS = Long.parseLong(System.getenv().getOrDefault("DB_REQUEST_TIMEOUT_MS", "30000"));
+
+    private static volatile DbExecutor shared;
+
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxConcurrent;
+    private final long defaultTimeoutMillis;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public DbExecutor(int maxConcurrent, long defaultTimeoutMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.executor = newExecutor();
+    }
+
+    public static DbExecutor shared() {
+        DbExecutor e = shared;
+        if (e == null) {
+            synchronized (DbExecutor.class) {
+                e = shared;
+                if (e == null) {
+                    e = new DbExecutor(MAX_CONCURRENT, DEFAULT_TIMEOUT_MS);
+                    shared = e;
+                }
+            }
+        }
+        return e;
+    }
+
+    // Virtual-thread-per-task executor when available, otherwise a cached pool of daemon threads
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "db-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(SqlWork<T> work) {
+        return submit(work, defaultTimeoutMillis);
+    }
+
+    // Runs work that needs no connection (e.g. backend probes) on the executor's threads
+    public <T> CompletableFuture<T> supply(java.util.function.Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, executor);
+    }
+
+    // Cancelling the returned future, or letting it time out, cancels the statements the work
+    // has open. The worker is not interrupted: JDBC drivers ignore interrupts, and H2 closes
+    // its database file when a thread is interrupted during file I/O.
+    public <T> CompletableFuture<T> submit(SqlWork<T> work, long timeoutMillis) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!inFlight.tryAcquire()) {
+            rejected.incrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException("Too many database requests in progress (limit " + maxConcurrent + "), try again shortly"));
+            return result;
+        }
+        StatementTracker tracker = new StatementTracker();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                // The permit and the connection are given back before the caller is told, so a caller that
+                // submits its next request as soon as this one completes is not counted twice
+                T value = null;
+                Throwable failure = null;
+                try {
+                    if (result.isDone()) return;
+                    try (Connection conn = DBConnection.borrow()) {
+                        value = work.run(tracker.track(conn));
+                    }
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    inFlight.release();
+                }
+                if (failure == null) result.complete(value);
+                else result.completeExceptionally(failure);
+            });
+        } catch (RejectedExecutionException ree) {
+            inFlight.release();
+            result.completeExceptionally(ree);
+            return result;
+        }
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled() || error instanceof TimeoutException) {
+                tracker.cancelAll();
+                task.cancel(false);
+            }
+        });
+        if (timeoutMillis > 0) result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    // Remembers the statements a task creates so a timeout can call Statement.cancel() on them.
+    // Statements created after cancellation are refused.
+    private static final class StatementTracker implements InvocationHandler {
+        private final List<Statement> open = new ArrayList<>();
+        private Connection target;
+        private boolean cancelled;
+
+        Connection track(Connection conn) {
+            target = conn;
+            return (Connection) Proxy.newProxyInstance(DbExecutor.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String m = method.getName();
+            if (m.equals("equals")) return proxy == args[0];
+            if (m.equals("hashCode")) return System.identityHashCode(proxy);
+            Object out;
+            try {
+                out = method.invoke(target, args);
+            } catch (InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+            if (out instanceof Statement st && (m.equals("createStatement") || m.equals("prepareStatement") || m.equals("prepareCall"))) {
+                register(st);
+            }
+            return out;
+        }
+
+        private synchronized void register(Statement st) throws SQLException {
+            if (cancelled) {
+                st.close();
+                throw new SQLException("Database request was cancelled");
+            }
+            if (open.size() >= 64) open.removeIf(DbExecutor::isClosedQuietly);
+            open.add(st);
+        }
+
+        synchronized void cancelAll() {
+            cancelled = true;
+            for (Statement st : open) {
+                try {
+                    if (!st.isClosed()) st.cancel();
+                } catch (SQLException ignore) {
+                }
+            }
+            open.clear();
+        }
+    }
+
+    private static boolean isClosedQuietly(Statement st) {
+        try {
+            return st.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    public int inFlight() { return maxConcurrent - inFlight.availablePermits(); }
+
+    public long rejectedCount() { return rejected.get(); }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+// SQL dialect of the backend a connection belongs to
+public enum Dialect {
+    POSTGRESQL,
+    H2;
+
+    public static Dialect of(java.sql.Connection conn) throws java.sql.SQLException {
+        String product = conn.getMetaData().getDatabaseProductName();
+        return product != null && product.toLowerCase().contains("h2") ? H2 : POSTGRESQL;
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Rewrites migration statements written in PostgreSQL syntax for the target backend.
+// Works on tokens, so string literals, quoted identifiers and comments are never touched.
+// PostgreSQL statements pass through unchanged; for H2 (MODE=PostgreSQL):
+//   SERIAL / SMALLSERIAL / BIGSERIAL  -> INTEGER / SMALLINT / BIGINT GENERATED BY DEFAULT AS IDENTITY
+//   CREATE INDEX CONCURRENTLY        -> CREATE INDEX
+//   USING btree / hash in CREATE INDEX -> dropped (H2 picks the index type)
+public final class DialectTranslator {
+    private DialectTranslator() {}
+
+    public static String translate(List<SqlTokenizer.Token> statement, Dialect target) {
+        if (target == Dialect.POSTGRESQL) return SqlTokenizer.join(statement);
+        List<SqlTokenizer.Token> out = new ArrayList<>(statement.size());
+        boolean createIndex = startsWith(statement, "CREATE", "INDEX") || startsWith(statement, "CREATE", "UNIQUE", "INDEX");
+        for (int i = 0; i < statement.size(); i++) {
+            SqlTokenizer.Token t = statement.get(i);
+            if (t.type() == SqlTokenizer.Type.WORD) {
+                String w = t.text().toUpperCase();
+                if (w.equals("SERIAL") || w.equals("SERIAL4")) {
+                    out.add(word("INTEGER GENERATED BY DEFAULT AS IDENTITY"));
+                    continue;
+                }
+                if (w.equals("BIGSERIAL") || w.equals("SERIAL8")) {
+                    out.add(word("BIGINT GENERATED BY DEFAULT AS IDENTITY"));
+                    continue;
+                }
+                if (w.equals("SMALLSERIAL") || w.equals("SERIAL2")) {
+                    out.add(word("SMALLINT GENERATED BY DEFAULT AS IDENTITY"));
+                    continue;
+                }
+                if (createIndex && w.equals("CONCURRENTLY")) continue;
+                if (createIndex && w.equals("USING")) {
+                    int next = nextSignificant(statement, i + 1);
+                    if (next > 0 && (statement.get(next).isWord("btree") || statement.get(next).isWord("hash"))) {
+                        i = next;
+                        continue;
+                    }
+                }
+            }
+            out.add(t);
+        }
+        return SqlTokenizer.join(out);
+    }
+
+    private static SqlTokenizer.Token word(String text) {
+        return new SqlTokenizer.Token(SqlTokenizer.Type.WORD, text);
+    }
+
+    private static boolean startsWith(List<SqlTokenizer.Token> stmt, String... words) {
+        int k = 0;
+        for (SqlTokenizer.Token t : stmt) {
+            if (!t.isSignificant()) continue;
+            if (!t.isWord(words[k])) return false;
+            if (++k == words.length) return true;
+        }
+        return false;
+    }
+
+    private static int nextSignificant(List<SqlTokenizer.Token> stmt, int from) {
+        for (int i = from; i < stmt.size(); i++) if (stmt.get(i).isSignificant()) return i;
+        return -1;
+    }
+}
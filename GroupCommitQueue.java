@@ -0,0 +1,201 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Group commit for small concurrent writes (Register Host, Create Activity). Submitted writes are queued and a
+// flusher thread runs them in batches: one transaction, one commit, for up to maxBatch writes collected within
+// lingerMillis of the first one. Each write still gets its own result (generated id) or its own error:
+//   - the batch is run without savepoints; if every write succeeds it is committed once,
+//   - if a write fails, the batch is rolled back and replayed one write per transaction, so only the failing
+//     writes report an error (same approach as BulkImporter's batches). Writes must be safe to run again
+//     after a rollback (plain INSERTs are),
+//   - if the commit itself fails, the outcome is unknown (the server may have committed before the error
+//     reached us), so the batch is not replayed: every write in it fails with an error saying so.
+// Batches run through the DbExecutor, so they count against its concurrency cap and are cancelled by its
+// request timeout like any other database work.
+public class GroupCommitQueue implements AutoCloseable {
+
+    public record Stats(long writes, long batches, long commits, long replays, long rejected, int queued) {
+        public double averageBatch() { return batches == 0 ? 0 : (double) writes / batches; }
+
+        @Override
+        public String toString() {
+            return String.format("writes=%d batches=%d (avg %.1f/batch) commits=%d replays=%d rejected=%d queued=%d",
+                    writes, batches, averageBatch(), commits, replays, rejected, queued);
+        }
+    }
+
+    private record Pending<T>(DbExecutor.SqlWork<T> work, CompletableFuture<T> result) {
+        void run(Connection conn, List<Object> out) throws SQLException {
+            out.add(work.run(conn));
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object value) {
+            result.complete((T) value);
+        }
+    }
+
+    private final DbExecutor executor;
+    private final BlockingQueue<Pending<?>> queue;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final Thread[] flushers;
+    private volatile boolean closed;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // flusherThreads > 1 lets several batches commit at once (each on its own pooled connection)
+    public GroupCommitQueue(DbExecutor executor, int maxBatch, long lingerMillis, int capacity, int flusherThreads) {
+        if (maxBatch <= 0 || flusherThreads <= 0) throw new IllegalArgumentException("maxBatch and flusherThreads must be > 0");
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushers = new Thread[flusherThreads];
+        for (int i = 0; i < flusherThreads; i++) {
+            flushers[i] = new Thread(this::flushLoop, "group-commit-" + i);
+            flushers[i].setDaemon(true);
+            flushers[i].start();
+        }
+    }
+
+    // Rejected at once (RejectedExecutionException) when the queue is full or closed, like DbExecutor.submit
+    public <T> CompletableFuture<T> submit(DbExecutor.SqlWork<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (closed || !queue.offer(new Pending<>(work, result))) {
+            rejected.incrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException(closed ? "Write queue is closed" : "Too many writes queued, try again shortly"));
+        }
+        return result;
+    }
+
+    public Stats stats() {
+        return new Stats(writes.get(), batches.get(), commits.get(), replays.get(), rejected.get(), queue.size());
+    }
+
+    private void flushLoop() {
+        List<Pending<?>> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            try {
+                Pending<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) return;
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch) {
+                    long wait = deadline - System.nanoTime();
+                    Pending<?> next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (closed && queue.isEmpty()) return;
+            } catch (Throwable t) {
+                for (Pending<?> p : batch) p.result().completeExceptionally(t);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending<?>> batch) throws InterruptedException {
+        batches.incrementAndGet();
+        writes.addAndGet(batch.size());
+        // Whoever claims the batch completes its futures: the executor task, or this thread if the task never started
+        AtomicBoolean claimed = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+        CompletableFuture<Void> task = executor.submit(conn -> {
+            if (!claimed.compareAndSet(false, true)) return null;
+            try {
+                runBatch(conn, batch);
+            } finally {
+                finished.countDown();
+            }
+            return null;
+        });
+        try {
+            task.get();
+        } catch (ExecutionException ex) {
+            // Rejected by the cap, no connection, or timed out. A running batch has had its statements cancelled
+            // and finishes on its own; wait for it so its writes are reported as they actually ended.
+            if (!claimed.compareAndSet(false, true)) finished.await();
+            Throwable cause = SwingAsync.unwrap(ex);
+            for (Pending<?> p : batch) p.result().completeExceptionally(cause);
+        }
+    }
+
+    private void runBatch(Connection conn, List<Pending<?>> batch) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            List<Object> results = new ArrayList<>(batch.size());
+            try {
+                for (Pending<?> p : batch) p.run(conn, results);
+            } catch (SQLException | RuntimeException writeFailure) {
+                try { conn.rollback(); } catch (SQLException ignore) {}
+                if (batch.size() == 1) batch.get(0).result().completeExceptionally(writeFailure);
+                else replay(conn, batch);
+                return;
+            }
+            try {
+                conn.commit();
+            } catch (SQLException commitFailure) {
+                try { conn.rollback(); } catch (SQLException ignore) {}
+                SQLException unknown = new SQLException("Commit failed for a group of " + batch.size()
+                        + " writes; they may or may not have been saved: " + commitFailure.getMessage(), commitFailure.getSQLState(), commitFailure);
+                for (Pending<?> p : batch) p.result().completeExceptionally(unknown);
+                return;
+            }
+            commits.incrementAndGet();
+            for (int i = 0; i < batch.size(); i++) batch.get(i).complete(results.get(i));
+        } finally {
+            try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
+        }
+    }
+
+    // Replay one write per transaction so only the offending writes fail
+    private void replay(Connection conn, List<Pending<?>> batch) {
+        replays.incrementAndGet();
+        for (Pending<?> p : batch) {
+            List<Object> one = new ArrayList<>(1);
+            try {
+                p.run(conn, one);
+                conn.commit();
+                commits.incrementAndGet();
+                p.complete(one.get(0));
+            } catch (SQLException | RuntimeException writeFailure) {
+                try { conn.rollback(); } catch (SQLException ignore) {}
+                p.result().completeExceptionally(writeFailure);
+            }
+        }
+    }
+
+    // Stop taking writes, let the flushers finish what is queued (up to 10 s), then stop them
+    @Override
+    public void close() {
+        closed = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (Thread t : flushers) {
+            try {
+                t.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Thread t : flushers) t.interrupt();
+        Pending<?> left;
+        while ((left = queue.poll()) != null) left.result().completeExceptionally(new RejectedExecutionException("Write queue is closed"));
+    }
+}
@@ -0,0 +1,51 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Binary snapshots of a freshly migrated embedded H2 store. A new store is created by
+// unzipping the snapshot that matches the current migration scripts instead of
+// replaying all DDL and seed data. Snapshots are taken with H2's online BACKUP command.
+public final class H2Snapshot {
+    private H2Snapshot() {}
+
+    public static Path pathFor(Path snapshotDir, String fingerprint) {
+        return snapshotDir.resolve("hostlinkDB-" + fingerprint + ".zip");
+    }
+
+    // Unzip the snapshot into dataDir; false when there is no snapshot for this fingerprint
+    public static boolean restore(Path snapshot, Path dataDir) throws IOException {
+        if (!Files.isRegularFile(snapshot)) return false;
+        Files.createDirectories(dataDir);
+        Path root = dataDir.toAbsolutePath().normalize();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(snapshot))) {
+            ZipEntry e;
+            while ((e = zip.getNextEntry()) != null) {
+                if (e.isDirectory()) continue;
+                Path target = root.resolve(Paths.get(e.getName()).getFileName().toString()).normalize();
+                if (!target.startsWith(root)) throw new IOException("Bad entry in snapshot: " + e.getName());
+                copy(zip, target);
+            }
+        }
+        return true;
+    }
+
+    public static void create(Connection conn, Path snapshot) throws SQLException, IOException {
+        Files.createDirectories(snapshot.getParent());
+        Path tmp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (Statement st = conn.createStatement()) {
+            st.execute("BACKUP TO '" + tmp.toAbsolutePath().toString().replace("'", "''") + "'");
+        }
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void copy(InputStream in, Path target) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".restore");
+        Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,15 +1,16 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.*;
 
 public class HostLinkGUI extends JFrame {
 
     // Tabbed Pane to hold different screens
     private JTabbedPane tabbedPane;
 
+    // All database work goes through the async service so the EDT never blocks on JDBC
+    private final HostLinkService service = new HostLinkService(DbExecutor.shared());
+
     public HostLinkGUI() {
         setTitle("HostLink Management System");
         setSize(800, 600);
@@ -25,8 +26,11 @@ public class HostLinkGUI extends JFrame {
         tabbedPane.addTab("Register Host", createRegisterPanel());
         tabbedPane.addTab("Create Activity", createActivityPanel());
         tabbedPane.addTab("View Activities", createViewPanel());
+        tabbedPane.addTab("Reports", createReportsPanel());
 
         add(tabbedPane);
+        // Writes still queued for group commit are committed before the pools close
+        DBConnection.onShutdown(service::close);
     }
 
     // --- SCREEN 1: REGISTER HOST ---
@@ -50,54 +54,19 @@ public class HostLinkGUI extends JFrame {
         panel.add(new JLabel("Phone:")); panel.add(phoneField);
         panel.add(new JLabel("")); panel.add(registerBtn);
 
-        // Button Action
+        // Button Action: JDBC runs on the DbExecutor, the result is shown back on the EDT
         registerBtn.addActionListener(e -> {
-            // Use standard generated keys to support multiple DBs (Postgres/H2)
-            String sqlUser = "INSERT INTO UserAccount (username, user_password, user_email, userType) VALUES (?, ?, ?, 'Host')";
-            String sqlHost = "INSERT INTO Host (host_id, hos_cin, hos_description, hos_tel) VALUES (?, ?, ?, ?)";
-
-            Connection conn = DBConnection.connect();
-            if (conn == null) {
-                JOptionPane.showMessageDialog(this, "Cannot connect to database. Ensure JDBC driver is on the classpath and the DB server is running.", "DB Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            try {
-                conn.setAutoCommit(false);
-                int userId = -1;
-
-                // Insert User and fetch generated key (works for Postgres and H2)
-                try (PreparedStatement pst = conn.prepareStatement(sqlUser, Statement.RETURN_GENERATED_KEYS)) {
-                    pst.setString(1, userField.getText());
-                    pst.setString(2, new String(passField.getPassword()));
-                    pst.setString(3, emailField.getText());
-                    pst.executeUpdate();
-                    try (ResultSet rs = pst.getGeneratedKeys()) {
-                        if (rs != null && rs.next()) userId = rs.getInt(1);
-                    }
-                }
-
-                // Insert Host
-                if (userId != -1) {
-                    try (PreparedStatement pst = conn.prepareStatement(sqlHost)) {
-                        pst.setInt(1, userId);
-                        pst.setString(2, cinField.getText());
-                        pst.setString(3, descField.getText());
-                        pst.setString(4, phoneField.getText());
-                        pst.executeUpdate();
-                    }
-                    conn.commit();
-                    JOptionPane.showMessageDialog(this, "Success! Host ID: " + userId);
-                } else {
-                    conn.rollback();
-                    JOptionPane.showMessageDialog(this, "Failed to create user.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
-            } catch (SQLException ex) {
-                try { if (conn != null) conn.rollback(); } catch (SQLException ignore) {}
-                JOptionPane.showMessageDialog(this, "Database Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            } finally {
-                try { if (conn != null) conn.close(); } catch (SQLException ignore) {}
-            }
+            registerBtn.setEnabled(false);
+            SwingAsync.onEdt(service.registerHost(userField.getText(), new String(passField.getPassword()), emailField.getText(),
+                            cinField.getText(), descField.getText(), phoneField.getText()),
+                    userId -> {
+                        registerBtn.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Success! Host ID: " + userId);
+                    },
+                    ex -> {
+                        registerBtn.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Database Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    });
         });
 
         return panel;
@@ -123,105 +92,325 @@ public class HostLinkGUI extends JFrame {
         panel.add(new JLabel("")); panel.add(createBtn);
 
         createBtn.addActionListener(e -> {
-            String sql = "INSERT INTO Activity (host_id, act_title, act_location, act_date, act_capacity, act_available_seats, act_status) VALUES (?, ?, ?, ?, ?, ?, 'Active')";
-            Connection conn = DBConnection.connect();
-            if (conn == null) {
-                JOptionPane.showMessageDialog(this, "Cannot connect to database. Ensure JDBC driver is on the classpath and the DB server is running.", "DB Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            try (PreparedStatement pst = conn.prepareStatement(sql)) {
-                
-                pst.setInt(1, Integer.parseInt(hostIdField.getText()));
-                pst.setString(2, titleField.getText());
-                pst.setString(3, locField.getText());
-                pst.setDate(4, java.sql.Date.valueOf(dateField.getText()));
-                int cap = Integer.parseInt(capField.getText());
-                pst.setInt(5, cap);
-                pst.setInt(6, cap); // Available seats = capacity initially
-
-                pst.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Activity Created Successfully!");
-            } catch (Exception ex) {
+            int hostId;
+            int cap;
+            java.sql.Date date;
+            try {
+                hostId = Integer.parseInt(hostIdField.getText());
+                date = java.sql.Date.valueOf(dateField.getText());
+                cap = Integer.parseInt(capField.getText());
+            } catch (IllegalArgumentException ex) {
                 JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            } finally {
-                try { if (conn != null) conn.close(); } catch (SQLException ignore) {}
+                return;
             }
+            createBtn.setEnabled(false);
+            SwingAsync.onEdt(service.createActivity(hostId, titleField.getText(), locField.getText(), date, cap),
+                    id -> {
+                        createBtn.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Activity Created Successfully!");
+                    },
+                    ex -> {
+                        createBtn.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    });
         });
 
         return panel;
     }
 
     // --- SCREEN 3: VIEW ACTIVITIES ---
+    // Search-as-you-type: pause after the last keystroke, and rows shown per search
+    private static final int SEARCH_DELAY_MS = 150;
+    private static final int SEARCH_ROWS = 500;
+
     private JPanel createViewPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         JButton refreshBtn = new JButton("Refresh Data");
-        
-        // Table setup
-        String[] columns = {"ID", "Title", "Location", "Date", "Host Name", "Host Email"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        JTextField filterField = new JTextField();
+
+        // Table setup: rows are fetched page by page as the table scrolls
+        ActivityTableModel model = new ActivityTableModel(service);
+        model.setErrorHandler(ex -> JOptionPane.showMessageDialog(this, "Error loading data: " + ex.getMessage()));
         JTable table = new JTable(model);
         JScrollPane scrollPane = new JScrollPane(table);
 
-        panel.add(refreshBtn, BorderLayout.NORTH);
+        JPanel filterRow = new JPanel(new BorderLayout(5, 5));
+        filterRow.add(new JLabel(" Filter:"), BorderLayout.WEST);
+        filterRow.add(filterField, BorderLayout.CENTER);
+        filterRow.add(refreshBtn, BorderLayout.EAST);
+
+        // Search row: answered from the in-memory index, results replace the paged rows while it is in use
+        JTextField searchField = new JTextField();
+        JTextField fromField = new JTextField(8);
+        JTextField toField = new JTextField(8);
+        JLabel searchStatus = new JLabel(" ");
+        JPanel dates = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        dates.add(new JLabel("From (yyyy-mm-dd):")); dates.add(fromField);
+        dates.add(new JLabel("To:")); dates.add(toField);
+        dates.add(searchStatus);
+        JPanel searchRow = new JPanel(new BorderLayout(5, 5));
+        searchRow.add(new JLabel(" Search:"), BorderLayout.WEST);
+        searchRow.add(searchField, BorderLayout.CENTER);
+        searchRow.add(dates, BorderLayout.EAST);
+
+        JPanel top = new JPanel(new GridLayout(2, 1, 5, 5));
+        top.add(filterRow);
+        top.add(searchRow);
+        panel.add(top, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
 
         // Load Data Action
-        refreshBtn.addActionListener(e -> {
-            model.setRowCount(0); // Clear table
-            String sql = "SELECT activity_id, act_title, act_location, act_date, host_name, host_email FROM vw_ActivityDetails";
-            
-            Connection conn = DBConnection.connect();
-            if (conn == null) {
-                JOptionPane.showMessageDialog(this, "Cannot connect to database. Ensure JDBC driver is on the classpath and the DB server is running.", "DB Error", JOptionPane.ERROR_MESSAGE);
+        refreshBtn.addActionListener(e -> model.refresh());
+
+        javax.swing.table.DefaultTableModel searchModel = new javax.swing.table.DefaultTableModel(
+                new Object[]{"ID", "Title", "Location", "Date", "Host Name", "Host Email"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) { return false; }
+        };
+        int[] searchGeneration = {0};
+        Timer searchDelay = new Timer(SEARCH_DELAY_MS, e -> {
+            int gen = ++searchGeneration[0];
+            String query = searchField.getText();
+            java.time.LocalDate from, to;
+            try {
+                from = fromField.getText().isBlank() ? null : java.time.LocalDate.parse(fromField.getText().trim());
+                to = toField.getText().isBlank() ? null : java.time.LocalDate.parse(toField.getText().trim());
+            } catch (java.time.format.DateTimeParseException ex) {
+                searchStatus.setText("Invalid date");
                 return;
             }
-            try (Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-                while (rs.next()) {
-                    Object[] row = {
-                        rs.getInt("activity_id"),
-                        rs.getString("act_title"),
-                        rs.getString("act_location"),
-                        rs.getDate("act_date"),
-                        rs.getString("host_name"),
-                        rs.getString("host_email")
-                    };
-                    model.addRow(row);
-                }
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this, "Error loading data: " + ex.getMessage());
-            } finally {
-                try { if (conn != null) conn.close(); } catch (SQLException ignore) {}
+            if (query.isBlank() && from == null && to == null) {
+                searchStatus.setText(" ");
+                table.setModel(model);
+                return;
             }
+            SwingAsync.onEdt(service.searchActivities(query, from, to, SEARCH_ROWS),
+                    result -> {
+                        if (gen != searchGeneration[0]) return;
+                        searchModel.setRowCount(0);
+                        for (ActivityDetail d : result.rows()) searchModel.addRow(d.toRow());
+                        if (table.getModel() != searchModel) table.setModel(searchModel);
+                        searchStatus.setText(String.format("%,d matches (%.1f ms)%s", result.total(), result.micros() / 1000.0,
+                                result.total() > result.rows().size() ? ", first " + result.rows().size() + " shown" : ""));
+                    },
+                    ex -> {
+                        if (gen == searchGeneration[0]) searchStatus.setText("Search failed: " + ex.getMessage());
+                    });
+        });
+        searchDelay.setRepeats(false);
+        javax.swing.event.DocumentListener searchListener = new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { searchDelay.restart(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { searchDelay.restart(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { searchDelay.restart(); }
+        };
+        searchField.getDocument().addDocumentListener(searchListener);
+        fromField.getDocument().addDocumentListener(searchListener);
+        toField.getDocument().addDocumentListener(searchListener);
+        // Build the index now so the first keystroke does not wait for it
+        SwingAsync.onEdt(service.loadSearchIndex(), n -> {}, ex -> searchStatus.setText("Search index failed: " + ex.getMessage()));
+
+        // Sorting is done in SQL: clicking a header re-queries in the new order
+        table.getTableHeader().addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                if (table.getModel() != model) return; // search results keep index order
+                int col = table.columnAtPoint(e.getPoint());
+                if (col < 0) return;
+                model.toggleSort(table.convertColumnIndexToModel(col));
+                table.getTableHeader().repaint();
+            }
+        });
+
+        // Filter is applied in SQL once typing pauses
+        Timer filterDelay = new Timer(300, e -> model.setFilter(filterField.getText()));
+        filterDelay.setRepeats(false);
+        filterField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { filterDelay.restart(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { filterDelay.restart(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { filterDelay.restart(); }
         });
 
         return panel;
     }
 
+    // --- SCREEN 4: REPORTS ---
+    // Served from the rollup tables, so each report costs the same whatever the size of Booking/Payment
+    private JPanel createReportsPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        JComboBox<String> reportBox = new JComboBox<>(new String[]{"Revenue per host", "Fill rate per activity", "Bookings per day"});
+        JButton refreshBtn = new JButton("Refresh Report");
+        javax.swing.table.DefaultTableModel model = new javax.swing.table.DefaultTableModel() {
+            @Override
+            public boolean isCellEditable(int row, int column) { return false; }
+        };
+        JTable table = new JTable(model);
+
+        JPanel top = new JPanel(new BorderLayout(5, 5));
+        top.add(new JLabel(" Report:"), BorderLayout.WEST);
+        top.add(reportBox, BorderLayout.CENTER);
+        top.add(refreshBtn, BorderLayout.EAST);
+        panel.add(top, BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        // Only the latest request may fill the table: an older, slower report must not overwrite it
+        int[] reportGeneration = {0};
+        ActionListener load = e -> {
+            int gen = ++reportGeneration[0];
+            refreshBtn.setEnabled(false);
+            java.util.function.Consumer<Throwable> onError = ex -> {
+                if (gen != reportGeneration[0]) return;
+                refreshBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error loading report: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            };
+            switch (reportBox.getSelectedIndex()) {
+                case 0 -> SwingAsync.onEdt(service.revenueByHost(REPORT_ROWS), rows -> {
+                    if (gen != reportGeneration[0]) return;
+                    model.setDataVector(new Object[0][], new Object[]{"Host ID", "Host", "Revenue", "Paid Bookings"});
+                    for (BookingAggregates.HostRevenue r : rows) model.addRow(new Object[]{r.hostId(), r.hostName(), r.revenue(), r.paidBookings()});
+                    refreshBtn.setEnabled(true);
+                }, onError);
+                case 1 -> SwingAsync.onEdt(service.fillByActivity(REPORT_ROWS), rows -> {
+                    if (gen != reportGeneration[0]) return;
+                    model.setDataVector(new Object[0][], new Object[]{"Activity ID", "Title", "Capacity", "Bookings", "Spots Booked", "Fill Rate"});
+                    for (BookingAggregates.ActivityFill r : rows) model.addRow(new Object[]{r.activityId(), r.title(), r.capacity(), r.bookings(), r.spotsBooked(), String.format("%.1f%%", r.fillRate() * 100)});
+                    refreshBtn.setEnabled(true);
+                }, onError);
+                default -> SwingAsync.onEdt(service.bookingsPerDay(REPORT_ROWS), rows -> {
+                    if (gen != reportGeneration[0]) return;
+                    model.setDataVector(new Object[0][], new Object[]{"Day", "Bookings", "Spots"});
+                    for (BookingAggregates.DailyBookings r : rows) model.addRow(new Object[]{r.day(), r.bookings(), r.spots()});
+                    refreshBtn.setEnabled(true);
+                }, onError);
+            }
+        };
+        refreshBtn.addActionListener(load);
+        reportBox.addActionListener(load);
+
+        return panel;
+    }
+
+    private static final int REPORT_ROWS = 100;
+
     private JMenuBar createMenuBar() {
         JMenuBar mb = new JMenuBar();
         JMenu tools = new JMenu("Tools");
         JMenuItem test = new JMenuItem("Test DB Connection");
-        test.addActionListener(e -> {
-            Connection conn = DBConnection.connect();
-            if (conn != null) {
-                try {
-                    String product = conn.getMetaData().getDatabaseProductName();
-                    conn.close();
-                    JOptionPane.showMessageDialog(this, "DB connection successful (" + product + ").");
-                } catch (SQLException ex) {
-                    JOptionPane.showMessageDialog(this, "DB connection established but failed to read metadata: " + ex.getMessage(), "DB Warning", JOptionPane.WARNING_MESSAGE);
-                }
-            } else {
-                JOptionPane.showMessageDialog(this, "DB connection failed. Ensure JDBC jar is in lib/ and the DB is running (run-db.bat) or add H2 to lib/ for embedded fallback.", "DB Error", JOptionPane.ERROR_MESSAGE);
-            }
-        });
+        test.addActionListener(e -> SwingAsync.onEdt(service.testConnection(),
+                product -> JOptionPane.showMessageDialog(this, "DB connection successful (" + product + ")."),
+                ex -> JOptionPane.showMessageDialog(this, "DB connection failed: " + ex.getMessage() + "\nEnsure JDBC jar is in lib/ and the DB is running (run-db.bat) or add H2 to lib/ for embedded fallback.", "DB Error", JOptionPane.ERROR_MESSAGE)));
         tools.add(test);
+        JMenuItem poolStats = new JMenuItem("Connection Pool Stats");
+        poolStats.addActionListener(e -> SwingAsync.onEdt(service.poolStats(),
+                msg -> JOptionPane.showMessageDialog(this, msg, "Connection Pool", JOptionPane.INFORMATION_MESSAGE),
+                ex -> JOptionPane.showMessageDialog(this, "Could not read pool stats: " + ex.getMessage(), "Connection Pool", JOptionPane.ERROR_MESSAGE)));
+        tools.add(poolStats);
+        JMenuItem cacheStats = new JMenuItem("Activity Cache Stats");
+        cacheStats.addActionListener(e -> JOptionPane.showMessageDialog(this, service.cacheStats().toString(), "Activity Cache", JOptionPane.INFORMATION_MESSAGE));
+        tools.add(cacheStats);
+        JMenuItem dbStats = new JMenuItem("DB Stats");
+        dbStats.addActionListener(e -> showDbStats());
+        tools.add(dbStats);
+        JMenuItem rebuild = new JMenuItem("Rebuild Report Rollups");
+        rebuild.addActionListener(e -> {
+            rebuild.setEnabled(false);
+            SwingAsync.onEdt(service.rebuildRollups(),
+                    v -> {
+                        rebuild.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Report rollups rebuilt.");
+                    },
+                    ex -> {
+                        rebuild.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Rebuild failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    });
+        });
+        tools.add(rebuild);
+        JMenuItem export = new JMenuItem("Export Data...");
+        export.addActionListener(e -> exportData(export));
+        tools.add(export);
         mb.add(tools);
         return mb;
     }
 
+    // Stream vw_BookingSummary or vw_ActivityDetails to a file on the executor; the menu item stays disabled until it is done
+    private void exportData(JMenuItem item) {
+        JComboBox<DataExporter.Source> sourceBox = new JComboBox<>(DataExporter.Source.values());
+        JComboBox<DataExporter.Format> formatBox = new JComboBox<>(DataExporter.Format.values());
+        JTextField fromField = new JTextField(10);
+        JTextField toField = new JTextField(10);
+        JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+        form.add(new JLabel("Data:"));
+        form.add(sourceBox);
+        form.add(new JLabel("Format:"));
+        form.add(formatBox);
+        form.add(new JLabel("From (yyyy-mm-dd, optional):"));
+        form.add(fromField);
+        form.add(new JLabel("To (yyyy-mm-dd, optional):"));
+        form.add(toField);
+        if (JOptionPane.showConfirmDialog(this, form, "Export Data", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) return;
+
+        java.time.LocalDate from, to;
+        try {
+            from = fromField.getText().isBlank() ? null : java.time.LocalDate.parse(fromField.getText().trim());
+            to = toField.getText().isBlank() ? null : java.time.LocalDate.parse(toField.getText().trim());
+        } catch (java.time.format.DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid date: " + ex.getParsedString(), "Export", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        DataExporter.Source source = (DataExporter.Source) sourceBox.getSelectedItem();
+        DataExporter.Format format = (DataExporter.Format) formatBox.getSelectedItem();
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File(source.name().toLowerCase() + "." + format.extension));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+
+        item.setEnabled(false);
+        SwingAsync.onEdt(service.exportData(source, format, from, to, file),
+                result -> {
+                    item.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Exported " + result + "\nto " + file, "Export", JOptionPane.INFORMATION_MESSAGE);
+                },
+                ex -> {
+                    item.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Export failed: " + ex.getMessage(), "Export", JOptionPane.ERROR_MESSAGE);
+                });
+    }
+
+    // Per-statement latency, rows and slow statements recorded by the JDBC instrumentation (in memory, no DB access)
+    private void showDbStats() {
+        JdbcStats stats = JdbcStats.global();
+        String[] columns = {"Calls", "Total ms", "p50 us", "p95 us", "p99 us", "Max us", "Rows", "Errors", "Statement"};
+        java.util.List<JdbcStats.StatementSummary> rows = stats.statements();
+        Object[][] data = new Object[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            JdbcStats.StatementSummary r = rows.get(i);
+            JdbcStats.Summary l = r.latency();
+            data[i] = new Object[]{l.count(), l.totalMicros() / 1000, l.p50Micros(), l.p95Micros(), l.p99Micros(), l.maxMicros(), r.rows(), r.errors(), r.fingerprint()};
+        }
+        JTable table = new JTable(data, columns);
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(8).setPreferredWidth(500);
+        JScrollPane tableScroll = new JScrollPane(table);
+        tableScroll.setPreferredSize(new Dimension(950, 300));
+
+        StringBuilder slow = new StringBuilder();
+        for (JdbcStats.SlowQuery q : stats.slowQueries()) slow.append(q).append('\n');
+        JTextArea slowArea = new JTextArea(slow.length() == 0 ? "No slow statements recorded." : slow.toString(), 8, 80);
+        slowArea.setEditable(false);
+
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        JPanel header = new JPanel(new GridLayout(0, 1));
+        header.add(new JLabel(JdbcStats.ENABLED ? stats.toString() : "JDBC instrumentation is off (DB_INSTRUMENTATION=false)."));
+        GroupCommitQueue.Stats groupCommit = service.groupCommitStats();
+        if (groupCommit != null) header.add(new JLabel("Group commit: " + groupCommit));
+        panel.add(header, BorderLayout.NORTH);
+        panel.add(tableScroll, BorderLayout.CENTER);
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.add(new JLabel("Slow statements (newest first):"), BorderLayout.NORTH);
+        bottom.add(new JScrollPane(slowArea), BorderLayout.CENTER);
+        panel.add(bottom, BorderLayout.SOUTH);
+        JOptionPane.showMessageDialog(this, panel, "DB Stats", JOptionPane.PLAIN_MESSAGE);
+    }
+
     public static void main(String[] args) {
         // Run the GUI
         SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,338 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+// Headless HTTP mode: the HostLinkService operations as a JSON API on the JDK's built-in HTTP server.
+//   java -cp ".;lib\*" HostLinkServer [--port 8080]
+//   POST /hosts                      {"username","password","email","cin","description","phone"} -> 201 {"host_id"}
+//   POST /activities                 {"host_id","title","location","date":"YYYY-MM-DD","capacity"} -> 201 {"activity_id"}
+//   GET  /activities?sort=id|title|location|date|host_name|host_email&order=asc|desc&filter=&limit=&offset=
+//                    &after_id=&after_value=        keyset page; the response ends with the "next" cursor parameters
+//   GET  /activities?host_id=N | ?location=L | ?date=YYYY-MM-DD    every activity of a host, place or day
+//   GET  /activities/{id}
+//   POST /bookings                   {"activity_id","tourist_id","spots"} -> 201 {"booking_id"}
+//   POST /bookings/{id}/confirm, POST /bookings/{id}/cancel
+//   GET  /health
+// Each request runs on its own thread (a virtual thread on Java 21+, see DbExecutor.newExecutor). An activity page is
+// read into memory and the pooled connection returned before anything is written, so a slow client never holds a
+// connection. Requests beyond HTTP_MAX_IN_FLIGHT get 429 with Retry-After; the server's DbExecutor is sized to the same
+// limit, so admission is decided here and not by DB_MAX_CONCURRENT. Admitted requests that then time out waiting for a
+// pooled connection (DB_POOL_MAX_SIZE is usually smaller) also get 429 with Retry-After. On shutdown (Ctrl+C / SIGTERM) new requests get
+// 503 while those in progress are given HTTP_SHUTDOWN_GRACE_S seconds to finish, then the executor and pools are closed.
+public class HostLinkServer {
+    private static final int MAX_IN_FLIGHT = Integer.parseInt(System.getenv().getOrDefault("HTTP_MAX_IN_FLIGHT", "64"));
+    private static final int SHUTDOWN_GRACE_S = Integer.parseInt(System.getenv().getOrDefault("HTTP_SHUTDOWN_GRACE_S", "10"));
+    private static final int MAX_PAGE = Integer.parseInt(System.getenv().getOrDefault("HTTP_MAX_PAGE", "1000"));
+    private static final int DEFAULT_PAGE = 100;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final HostLinkService service;
+    private final HttpServer server;
+    private final ExecutorService requestThreads = DbExecutor.newExecutor();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private volatile boolean stopping;
+
+    // Signals a response status other than 500 from inside a handler
+    static class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    public HostLinkServer(HostLinkService service, int port) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(requestThreads);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("HostLink HTTP server listening on port " + server.getAddress().getPort());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // Stop accepting connections, let running exchanges finish within the grace period, then release threads
+    public void stop() {
+        stopping = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_GRACE_S);
+        try {
+            while (inFlight.availablePermits() < MAX_IN_FLIGHT && System.nanoTime() < deadline) Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int unfinished = MAX_IN_FLIGHT - inFlight.availablePermits();
+        if (unfinished > 0) System.err.println("Shutting down with " + unfinished + " request(s) still running");
+        server.stop(0);
+        requestThreads.shutdownNow();
+        System.out.println("HostLink HTTP server stopped");
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            if (stopping) {
+                sendError(ex, 503, "Server is shutting down");
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                ex.getResponseHeaders().set("Retry-After", "1");
+                sendError(ex, 429, "Too many requests in progress (limit " + MAX_IN_FLIGHT + "), try again shortly");
+                return;
+            }
+            try {
+                route(ex);
+            } catch (Throwable t) {
+                if (ex.getResponseCode() != -1) {
+                    // Headers (and possibly rows) already went out: all we can do is cut the response short
+                    System.err.println("Error while writing " + ex.getRequestURI() + ": " + SwingAsync.unwrap(t));
+                    return;
+                }
+                Throwable cause = SwingAsync.unwrap(t);
+                if (cause instanceof UncheckedIOException uio) cause = uio.getCause();
+                int status = statusFor(cause);
+                if (status == 429) ex.getResponseHeaders().set("Retry-After", "1");
+                if (status == 500) System.err.println("Request " + ex.getRequestMethod() + " " + ex.getRequestURI() + " failed: " + cause);
+                sendError(ex, status, cause.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    private static int statusFor(Throwable t) {
+        if (t instanceof HttpError he) return he.status;
+        if (t instanceof RejectedExecutionException) return 429;
+        // No pooled connection freed up within DB_POOL_MAX_WAIT_MS: back-pressure from the pool, not a server fault
+        if (t instanceof SQLTransientConnectionException) return 429;
+        if (t instanceof TimeoutException) return 503;
+        if (t instanceof IllegalArgumentException) return 400; // includes NumberFormatException
+        if (t instanceof ReservationEngine.SeatsUnavailableException) return 409;
+        if (t instanceof SQLException se && se.getSQLState() != null) {
+            if (se.getSQLState().equals(ReservationEngine.STATE_NO_BOOKING)) return 404;
+            if (se.getSQLState().equals(ReservationEngine.STATE_WRONG_STATUS) || se.getSQLState().startsWith("23")) return 409;
+        }
+        return 500;
+    }
+
+    private void route(HttpExchange ex) throws Exception {
+        String method = ex.getRequestMethod();
+        String[] path = ex.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+        switch (path[0]) {
+            case "health" -> {
+                requireMethod(method, "GET");
+                sendJson(ex, 200, "{\"status\":\"ok\",\"database\":" + Json.quote(service.testConnection().get()) + "}");
+            }
+            case "hosts" -> {
+                requireMethod(method, "POST");
+                if (path.length != 1) throw new HttpError(404, "Not found");
+                Map<String, String> body = readBody(ex);
+                int hostId = service.registerHost(required(body, "username"), required(body, "password"), required(body, "email"),
+                        body.get("cin"), body.get("description"), body.get("phone")).get();
+                sendJson(ex, 201, "{\"host_id\":" + hostId + "}");
+            }
+            case "activities" -> {
+                if (path.length == 1 && method.equals("GET")) listActivities(ex);
+                else if (path.length == 1) {
+                    requireMethod(method, "POST");
+                    Map<String, String> body = readBody(ex);
+                    int id = service.createActivity(Integer.parseInt(required(body, "host_id")), required(body, "title"), body.get("location"),
+                            java.sql.Date.valueOf(required(body, "date")), Integer.parseInt(required(body, "capacity"))).get();
+                    sendJson(ex, 201, "{\"activity_id\":" + id + "}");
+                } else if (path.length == 2) {
+                    requireMethod(method, "GET");
+                    ActivityDetail d = service.getActivity(Integer.parseInt(path[1])).get();
+                    if (d == null) throw new HttpError(404, "Activity " + path[1] + " does not exist");
+                    StringBuilder sb = new StringBuilder();
+                    appendActivity(sb, d);
+                    sendJson(ex, 200, sb.toString());
+                } else throw new HttpError(404, "Not found");
+            }
+            case "bookings" -> {
+                requireMethod(method, "POST");
+                if (path.length == 1) {
+                    Map<String, String> body = readBody(ex);
+                    int bookingId = service.holdSeats(Integer.parseInt(required(body, "activity_id")), Integer.parseInt(required(body, "tourist_id")),
+                            Integer.parseInt(body.getOrDefault("spots", "1"))).get();
+                    sendJson(ex, 201, "{\"booking_id\":" + bookingId + ",\"status\":\"Pending\"}");
+                } else if (path.length == 3 && path[2].equals("confirm")) {
+                    service.confirmBooking(Integer.parseInt(path[1])).get();
+                    sendJson(ex, 200, "{\"booking_id\":" + Integer.parseInt(path[1]) + ",\"status\":\"Confirmed\"}");
+                } else if (path.length == 3 && path[2].equals("cancel")) {
+                    service.cancelBooking(Integer.parseInt(path[1])).get();
+                    sendJson(ex, 200, "{\"booking_id\":" + Integer.parseInt(path[1]) + ",\"status\":\"Cancelled\"}");
+                } else throw new HttpError(404, "Not found");
+            }
+            default -> throw new HttpError(404, "Not found");
+        }
+    }
+
+    // Sends {"rows":[...],"count":n,"next":{...}}; next is omitted when the page is not full.
+    // The page (at most HTTP_MAX_PAGE rows) is loaded first, so the connection is back in the pool while the client reads.
+    private void listActivities(HttpExchange ex) throws Exception {
+        Map<String, String> q = queryParams(ex);
+        if (q.containsKey("host_id") || q.containsKey("location") || q.containsKey("date")) {
+            listActivitiesBy(ex, q);
+            return;
+        }
+        ActivityRepository.SortColumn sort = ActivityRepository.SortColumn.valueOf(q.getOrDefault("sort", "id").toUpperCase());
+        boolean ascending = !"desc".equalsIgnoreCase(q.get("order"));
+        int limit = Math.min(Integer.parseInt(q.getOrDefault("limit", String.valueOf(DEFAULT_PAGE))), MAX_PAGE);
+        int offset = Integer.parseInt(q.getOrDefault("offset", "0"));
+        if (limit <= 0 || offset < 0) throw new IllegalArgumentException("limit must be > 0 and offset >= 0");
+        ActivityRepository.PageKey after = null;
+        if (q.containsKey("after_id")) {
+            Object value = null;
+            if (sort != ActivityRepository.SortColumn.ID) {
+                String v = q.get("after_value");
+                if (v == null) throw new IllegalArgumentException("after_value is required with after_id when sorting by " + sort.name().toLowerCase());
+                value = sort == ActivityRepository.SortColumn.DATE ? java.sql.Date.valueOf(v) : v;
+            }
+            after = new ActivityRepository.PageKey(value, Integer.parseInt(q.get("after_id")));
+        }
+
+        List<ActivityDetail> rows = service.loadActivityPage(sort, ascending, q.get("filter"), after, offset, limit).get();
+
+        Writer out = openStream(ex, "{\"rows\":[");
+        StringBuilder sb = new StringBuilder(256);
+        for (int i = 0; i < rows.size(); i++) {
+            sb.setLength(0);
+            if (i > 0) sb.append(',');
+            appendActivity(sb, rows.get(i));
+            out.append(sb);
+        }
+        sb.setLength(0);
+        sb.append("],\"count\":").append(rows.size());
+        if (rows.size() == limit) {
+            ActivityRepository.PageKey next = ActivityRepository.PageKey.after(sort, rows.get(rows.size() - 1));
+            sb.append(",\"next\":{\"after_id\":").append(next.activityId());
+            if (sort != ActivityRepository.SortColumn.ID) {
+                sb.append(",\"after_value\":");
+                Json.appendQuoted(sb, String.valueOf(next.sortValue()));
+            }
+            sb.append('}');
+        }
+        sb.append('}');
+        out.append(sb);
+        out.flush();
+    }
+
+    // Secondary lookups, answered from the activity cache once it is warm: {"rows":[...],"count":n}
+    private void listActivitiesBy(HttpExchange ex, Map<String, String> q) throws Exception {
+        List<ActivityDetail> rows;
+        if (q.containsKey("host_id")) rows = service.activitiesByHost(Integer.parseInt(q.get("host_id"))).get();
+        else if (q.containsKey("location")) rows = service.activitiesByLocation(q.get("location")).get();
+        else rows = service.activitiesByDate(java.sql.Date.valueOf(q.get("date"))).get();
+        StringBuilder sb = new StringBuilder(64 + rows.size() * 160).append("{\"rows\":[");
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sb.append(',');
+            appendActivity(sb, rows.get(i));
+        }
+        sb.append("],\"count\":").append(rows.size()).append('}');
+        sendJson(ex, 200, sb.toString());
+    }
+
+    private static Writer openStream(HttpExchange ex, String prefix) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(200, 0); // chunked
+        Writer w = new BufferedWriter(new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8), 16 * 1024);
+        w.write(prefix);
+        return w;
+    }
+
+    static void appendActivity(StringBuilder sb, ActivityDetail d) {
+        sb.append("{\"activity_id\":").append(d.activityId())
+                .append(",\"host_id\":").append(d.hostId())
+                .append(",\"title\":");
+        Json.appendQuoted(sb, d.title() == null ? "" : d.title());
+        sb.append(",\"location\":");
+        if (d.location() == null) sb.append("null"); else Json.appendQuoted(sb, d.location());
+        sb.append(",\"date\":");
+        if (d.date() == null) sb.append("null"); else sb.append('"').append(d.date()).append('"');
+        sb.append(",\"host_name\":");
+        if (d.hostName() == null) sb.append("null"); else Json.appendQuoted(sb, d.hostName());
+        sb.append(",\"host_email\":");
+        if (d.hostEmail() == null) sb.append("null"); else Json.appendQuoted(sb, d.hostEmail());
+        sb.append('}');
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) throw new HttpError(405, "Method " + method + " not allowed");
+    }
+
+    private static String required(Map<String, String> body, String key) {
+        String v = body.get(key);
+        if (v == null || v.isBlank()) throw new IllegalArgumentException("Missing field: " + key);
+        return v;
+    }
+
+    private static Map<String, String> readBody(HttpExchange ex) throws IOException {
+        byte[] bytes = ex.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) throw new HttpError(413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+        return Json.parseFlatObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> queryParams(HttpExchange ex) {
+        Map<String, String> params = new LinkedHashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static void sendJson(HttpExchange ex, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        ex.getResponseBody().write(bytes);
+    }
+
+    private static void sendError(HttpExchange ex, int status, String message) throws IOException {
+        sendJson(ex, status, "{\"error\":" + Json.quote(message == null ? "Internal error" : message) + "}");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(System.getenv().getOrDefault("HTTP_PORT", "8080"));
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Usage: HostLinkServer [--port N]");
+                    System.exit(2);
+            }
+        }
+        // Every admitted request may run one database task at a time, so the executor gets the same cap as the server
+        DbExecutor executor = new DbExecutor(MAX_IN_FLIGHT, DbExecutor.DEFAULT_TIMEOUT_MS);
+        HostLinkService service = new HostLinkService(executor);
+        HostLinkServer server = new HostLinkServer(service, port);
+        DBConnection.onShutdown(server::stop);
+        DBConnection.onShutdown(service::close);
+        DBConnection.onShutdown(executor::close);
+        service.warmActivityCache().exceptionally(t -> {
+            System.err.println("Activity cache not loaded: " + SwingAsync.unwrap(t));
+            return null;
+        });
+        server.start(); // the server's dispatcher thread keeps the JVM running until shutdown
+    }
+}
@@ -0,0 +1,248 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Asynchronous entry point for HostLink operations. All JDBC work runs on the
+// DbExecutor, never on the caller's thread (in the GUI: never on the EDT).
+public class HostLinkService {
+    private final DbExecutor executor;
+    private final HostRepository hosts = new HostRepository();
+    private final ActivityRepository activities = new ActivityRepository();
+    private final ReservationEngine reservations = new ReservationEngine(true,
+            Boolean.parseBoolean(System.getenv().getOrDefault("RESERVATION_SEAT_COUNTERS", "false")) ? new SeatCounters() : null);
+
+    private final BookingAggregates aggregates = new BookingAggregates();
+    private final PaymentRepository payments = new PaymentRepository(aggregates);
+
+    private final ActivityCache cache = new ActivityCache(
+            Integer.parseInt(System.getenv().getOrDefault("ACTIVITY_CACHE_MAX_ENTRIES", "100000")),
+            Long.parseLong(System.getenv().getOrDefault("ACTIVITY_CACHE_TTL_MS", "300000")));
+
+    private final ActivitySearchIndex searchIndex = new ActivitySearchIndex();
+    private CompletableFuture<Integer> searchIndexLoad;
+    private CompletableFuture<Integer> cacheLoad;
+
+    // Optional group commit for Register Host / Create Activity (null = each write commits on its own)
+    private final GroupCommitQueue writes;
+
+    public HostLinkService(DbExecutor executor) {
+        this.executor = executor;
+        this.writes = Boolean.parseBoolean(System.getenv().getOrDefault("DB_GROUP_COMMIT", "false"))
+                ? new GroupCommitQueue(executor, Integer.parseInt(System.getenv().getOrDefault("DB_GROUP_COMMIT_MAX_BATCH", "64")),
+                        Long.parseLong(System.getenv().getOrDefault("DB_GROUP_COMMIT_LINGER_MS", "2")),
+                        Integer.parseInt(System.getenv().getOrDefault("DB_GROUP_COMMIT_QUEUE", "10000")),
+                        Integer.parseInt(System.getenv().getOrDefault("DB_GROUP_COMMIT_THREADS", "1")))
+                : null;
+    }
+
+    // Writes go through the group-commit queue when it is enabled. Caches are only updated once the write has committed.
+    private <T> CompletableFuture<T> write(DbExecutor.SqlWork<T> work) {
+        return writes != null ? writes.submit(work) : executor.submit(work);
+    }
+
+    public CompletableFuture<Integer> registerHost(String username, String password, String email,
+                                                   String cin, String description, String phone) {
+        return write(conn -> hosts.registerHost(conn, username, password, email, cin, description, phone))
+                .thenApply(hostId -> {
+                    cache.invalidateHost(hostId);
+                    return hostId;
+                });
+    }
+
+    private record Created(int id, ActivityDetail detail) {}
+
+    // Write-through: the new row is read back and put in the activity cache
+    public CompletableFuture<Integer> createActivity(int hostId, String title, String location, java.sql.Date date, int capacity) {
+        return write(conn -> {
+            int id = activities.createActivity(conn, hostId, title, location, date, capacity);
+            return new Created(id, id == -1 ? null : activities.findDetail(conn, id));
+        }).thenApply(created -> {
+            if (created.detail() != null) {
+                cache.put(created.detail());
+                searchIndex.add(created.detail(), null);
+            } else cache.invalidateAll();
+            return created.id();
+        });
+    }
+
+    public GroupCommitQueue.Stats groupCommitStats() {
+        return writes == null ? null : writes.stats();
+    }
+
+    // Flush and stop the group-commit queue (pending writes are committed first)
+    public void close() {
+        if (writes != null) writes.close();
+    }
+
+    // Read-through: served from the cache once it is warm, otherwise loaded (and cached) from vw_ActivityDetails
+    public CompletableFuture<ActivityDetail> getActivity(int activityId) {
+        ActivityDetail cached = cache.get(activityId);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return executor.submit(conn -> {
+            ActivityDetail d = activities.findDetail(conn, activityId);
+            if (d != null) cache.put(d);
+            return d;
+        });
+    }
+
+    public CompletableFuture<List<ActivityDetail>> activitiesByHost(int hostId) {
+        List<ActivityDetail> cached = cache.byHost(hostId);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return executor.submit(conn -> cacheAll(activities.findDetailsByHost(conn, hostId)));
+    }
+
+    public CompletableFuture<List<ActivityDetail>> activitiesByLocation(String location) {
+        List<ActivityDetail> cached = cache.byLocation(location);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return executor.submit(conn -> cacheAll(activities.findDetailsByLocation(conn, location)));
+    }
+
+    public CompletableFuture<List<ActivityDetail>> activitiesByDate(java.sql.Date date) {
+        List<ActivityDetail> cached = cache.byDate(date);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return executor.submit(conn -> cacheAll(activities.findDetailsByDate(conn, date)));
+    }
+
+    private List<ActivityDetail> cacheAll(List<ActivityDetail> rows) {
+        for (ActivityDetail d : rows) cache.put(d);
+        return rows;
+    }
+
+    // Load the search index from vw_ActivityDetails in the background (once; again after a failed load).
+    // Activities created meanwhile are added by createActivity, and duplicates are ignored by the index.
+    public synchronized CompletableFuture<Integer> loadSearchIndex() {
+        if (searchIndexLoad == null || searchIndexLoad.isCompletedExceptionally()) {
+            searchIndexLoad = executor.submit(conn -> {
+                long t0 = System.nanoTime();
+                int n = activities.forEachSearchDocument(conn, searchIndex::add);
+                System.out.println("Search index: " + n + " activities, " + searchIndex.termCount() + " terms in "
+                        + (System.nanoTime() - t0) / 1_000_000 + " ms");
+                return n;
+            }, 0);
+        }
+        return searchIndexLoad;
+    }
+
+    // Search-as-you-type over titles, descriptions and locations, optionally limited to an act_date range.
+    // Answered from memory; the first call waits for the index load.
+    public CompletableFuture<ActivitySearchIndex.Result> searchActivities(String query, java.time.LocalDate from, java.time.LocalDate to, int limit) {
+        return loadSearchIndex().thenApplyAsync(n -> searchIndex.search(query, from, to, limit));
+    }
+
+    // Row count for the View Activities table. Unfiltered, it is answered from the cache once the cache holds the
+    // whole view in database order; a cold count comes from the database and starts loading the view into the
+    // cache when it fits. Filtered counts and pages go to the database, whose LOWER/LIKE rules the filter must follow.
+    public CompletableFuture<Integer> countActivities(String filter) {
+        if (filter != null && !filter.isBlank()) return executor.submit(conn -> activities.countActivityDetails(conn, filter));
+        return executor.supply(cache::orderedCount).thenCompose(cached -> {
+            if (cached != null) return CompletableFuture.completedFuture(cached);
+            return executor.submit(conn -> activities.countActivityDetails(conn, null)).thenApply(count -> {
+                if (count <= cache.stats().maxEntries()) warmActivityCache();
+                return count;
+            });
+        });
+    }
+
+    // Load the whole view, with its database sort order, into the cache in the background (one load at a time).
+    // Also called at HTTP server start so lookups and pages are served from memory early.
+    public synchronized CompletableFuture<Integer> warmActivityCache() {
+        if (cacheLoad == null || cacheLoad.isDone()) {
+            cacheLoad = executor.submit(conn -> {
+                long writesBefore = cache.writeCount();
+                if (activities.countActivityDetails(conn, null) > cache.stats().maxEntries()) return 0;
+                List<ActivityRepository.RankedDetail> rows = activities.listRankedDetails(conn);
+                return cache.putAll(rows, writesBefore) ? rows.size() : 0;
+            }, 0);
+        }
+        return cacheLoad;
+    }
+
+    public CompletableFuture<List<ActivityDetail>> loadActivityPage(ActivityRepository.SortColumn sort, boolean ascending, String filter,
+                                                                   ActivityRepository.PageKey after, int offset, int limit) {
+        if (filter != null && !filter.isBlank()) {
+            return executor.submit(conn -> activities.pageActivityDetails(conn, sort, ascending, filter, after, offset, limit));
+        }
+        return executor.supply(() -> cache.page(sort, ascending, after, offset, limit))
+                .thenCompose(cached -> cached != null ? CompletableFuture.completedFuture(cached)
+                        : executor.submit(conn -> activities.pageActivityDetails(conn, sort, ascending, null, after, offset, limit)));
+    }
+
+    // poolMetrics() may resolve the backends and probe PostgreSQL, so it runs on the executor
+    public CompletableFuture<String> poolStats() {
+        return executor.supply(() -> {
+            ConnectionPool.Metrics metrics = DBConnection.poolMetrics();
+            return metrics == null ? "No database backend available." : "Backend: " + DBConnection.activeDialect() + "\n" + metrics;
+        });
+    }
+
+    public ActivityCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    // Take seats on an activity and create a Pending booking; completes with the booking id
+    public CompletableFuture<Integer> holdSeats(int activityId, int touristId, int spots) {
+        return executor.submit(conn -> reservations.hold(conn, activityId, touristId, spots));
+    }
+
+    public CompletableFuture<Void> confirmBooking(int bookingId) {
+        return executor.submit(conn -> {
+            reservations.confirm(conn, bookingId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> cancelBooking(int bookingId) {
+        return executor.submit(conn -> {
+            reservations.cancel(conn, bookingId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Integer> recordPayment(int bookingId, java.math.BigDecimal amount, String method, String status) {
+        return executor.submit(conn -> payments.recordPayment(conn, bookingId, amount, method, status));
+    }
+
+    public CompletableFuture<Void> updatePaymentStatus(int paymentId, String status) {
+        return executor.submit(conn -> {
+            payments.updateStatus(conn, paymentId, status);
+            return null;
+        });
+    }
+
+    // Reports read the rollup tables only
+    public CompletableFuture<List<BookingAggregates.HostRevenue>> revenueByHost(int limit) {
+        return executor.submit(conn -> aggregates.topHostsByRevenue(conn, limit));
+    }
+
+    public CompletableFuture<List<BookingAggregates.ActivityFill>> fillByActivity(int limit) {
+        return executor.submit(conn -> aggregates.topActivitiesByFill(conn, limit));
+    }
+
+    public CompletableFuture<List<BookingAggregates.DailyBookings>> bookingsPerDay(int days) {
+        return executor.submit(conn -> aggregates.bookingsPerDay(conn, days));
+    }
+
+    // Recompute all rollups from Booking and Payment; slow on large tables, so not subject to the request timeout
+    public CompletableFuture<Void> rebuildRollups() {
+        return executor.submit(conn -> {
+            aggregates.rebuild(conn);
+            return null;
+        }, 0);
+    }
+
+    // Stream a reporting view to a file (see DataExporter); long-running, so not subject to the request timeout
+    public CompletableFuture<DataExporter.Result> exportData(DataExporter.Source source, DataExporter.Format format,
+                                                             java.time.LocalDate from, java.time.LocalDate to, java.nio.file.Path file) {
+        return executor.submit(conn -> {
+            try {
+                return new DataExporter().export(conn, source, format, from, to, file, null);
+            } catch (java.io.IOException ex) {
+                throw new java.io.UncheckedIOException(ex);
+            }
+        }, 0);
+    }
+
+    // Returns the database product name of the active backend
+    public CompletableFuture<String> testConnection() {
+        return executor.submit(conn -> conn.getMetaData().getDatabaseProductName());
+    }
+}
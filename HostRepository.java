@@ -0,0 +1,51 @@
+import java.sql.*;
+
+// JDBC access for hosts. Methods run on the caller's connection and thread.
+public class HostRepository {
+    static final String SQL_INSERT_USER = "INSERT INTO UserAccount (username, user_password, user_email, userType) VALUES (?, ?, ?, 'Host')";
+    static final String SQL_INSERT_HOST = "INSERT INTO Host (host_id, hos_cin, hos_description, hos_tel) VALUES (?, ?, ?, ?)";
+
+    // Insert the UserAccount and Host rows in one transaction; returns the new host/user id.
+    // On a connection already in a transaction (auto-commit off, e.g. a group-commit batch) the rows join
+    // that transaction and the caller commits or rolls back.
+    public int registerHost(Connection conn, String username, String password, String email,
+                            String cin, String description, String phone) throws SQLException {
+        if (!conn.getAutoCommit()) return insertHost(conn, username, password, email, cin, description, phone);
+        conn.setAutoCommit(false);
+        try {
+            int userId = insertHost(conn, username, password, email, cin, description, phone);
+            conn.commit();
+            return userId;
+        } catch (SQLException | RuntimeException ex) {
+            try { conn.rollback(); } catch (SQLException ignore) {}
+            throw ex;
+        } finally {
+            try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
+        }
+    }
+
+    private static int insertHost(Connection conn, String username, String password, String email,
+                                  String cin, String description, String phone) throws SQLException {
+        int userId = -1;
+        // Insert User and fetch generated key (works for Postgres and H2)
+        try (PreparedStatement pst = conn.prepareStatement(SQL_INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            pst.setString(1, username);
+            pst.setString(2, password);
+            pst.setString(3, email);
+            pst.executeUpdate();
+            try (ResultSet rs = pst.getGeneratedKeys()) {
+                if (rs != null && rs.next()) userId = rs.getInt(1);
+            }
+        }
+        if (userId == -1) throw new SQLException("Failed to create user.");
+
+        try (PreparedStatement pst = conn.prepareStatement(SQL_INSERT_HOST)) {
+            pst.setInt(1, userId);
+            pst.setString(2, cin);
+            pst.setString(3, description);
+            pst.setString(4, phone);
+            pst.executeUpdate();
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,737 @@
+import java.sql.*;
+
+// Instrumentation installed by DBConnection.DriverShim on every physical connection. Execute calls
+// are timed against the statement's JdbcStats entry (looked up once, when the statement is prepared),
+// ResultSet.next() counts rows, and commit/rollback are counted.
+// Connection, Statement, PreparedStatement and ResultSet are plain delegating classes: they run on
+// every query, per parameter and per column, so they must not pay for reflection, argument arrays
+// or a lambda per call. Objects handed back by the driver (getConnection(), getStatement(),
+// getGeneratedKeys(), getResultSet()) are the instrumented ones, so nothing escapes the stats.
+public final class JdbcInstrumentation {
+    private JdbcInstrumentation() {}
+
+    public static Connection wrap(Connection conn, JdbcStats stats) {
+        return new InstrumentedConnection(conn, stats);
+    }
+
+    static final class InstrumentedConnection implements Connection {
+        private final Connection conn;
+        private final JdbcStats stats;
+
+        InstrumentedConnection(Connection conn, JdbcStats stats) {
+            this.conn = conn;
+            this.stats = stats;
+        }
+
+        private PreparedStatement prepared(PreparedStatement ps, String sql) {
+            return new InstrumentedPreparedStatement(ps, this, stats, stats.statement(sql));
+        }
+
+        @Override public Statement createStatement() throws SQLException { return new InstrumentedStatement(conn.createStatement(), this, stats); }
+        @Override public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException { return new InstrumentedStatement(conn.createStatement(resultSetType, resultSetConcurrency), this, stats); }
+        @Override public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException { return new InstrumentedStatement(conn.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability), this, stats); }
+        @Override public PreparedStatement prepareStatement(String sql) throws SQLException { return prepared(conn.prepareStatement(sql), sql); }
+        @Override public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException { return prepared(conn.prepareStatement(sql, resultSetType, resultSetConcurrency), sql); }
+        @Override public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException { return prepared(conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql); }
+        @Override public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException { return prepared(conn.prepareStatement(sql, autoGeneratedKeys), sql); }
+        @Override public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException { return prepared(conn.prepareStatement(sql, columnIndexes), sql); }
+        @Override public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException { return prepared(conn.prepareStatement(sql, columnNames), sql); }
+
+        @Override public void commit() throws SQLException {
+            conn.commit();
+            stats.committed();
+        }
+
+        @Override public void rollback() throws SQLException {
+            conn.rollback();
+            stats.rolledBack();
+        }
+
+        // Not a transaction rollback, so not counted
+        @Override public void rollback(Savepoint savepoint) throws SQLException { conn.rollback(savepoint); }
+
+        @Override public String toString() { return "Instrumented[" + conn + "]"; }
+        @Override public <T> T unwrap(Class<T> iface) throws SQLException { return iface.isInstance(this) ? iface.cast(this) : conn.unwrap(iface); }
+        @Override public boolean isWrapperFor(Class<?> iface) throws SQLException { return iface.isInstance(this) || conn.isWrapperFor(iface); }
+
+        // Stored procedures are not used by the application and are not timed
+        @Override public CallableStatement prepareCall(String sql) throws SQLException { return conn.prepareCall(sql); }
+        @Override public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException { return conn.prepareCall(sql, resultSetType, resultSetConcurrency); }
+        @Override public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException { return conn.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability); }
+
+        @Override public void abort(java.util.concurrent.Executor executor) throws SQLException { conn.abort(executor); }
+        @Override public void beginRequest() throws SQLException { conn.beginRequest(); }
+        @Override public void clearWarnings() throws SQLException { conn.clearWarnings(); }
+        @Override public void close() throws SQLException { conn.close(); }
+        @Override public Array createArrayOf(String typeName, Object[] elements) throws SQLException { return conn.createArrayOf(typeName, elements); }
+        @Override public Blob createBlob() throws SQLException { return conn.createBlob(); }
+        @Override public Clob createClob() throws SQLException { return conn.createClob(); }
+        @Override public NClob createNClob() throws SQLException { return conn.createNClob(); }
+        @Override public SQLXML createSQLXML() throws SQLException { return conn.createSQLXML(); }
+        @Override public Struct createStruct(String typeName, Object[] attributes) throws SQLException { return conn.createStruct(typeName, attributes); }
+        @Override public void endRequest() throws SQLException { conn.endRequest(); }
+        @Override public boolean getAutoCommit() throws SQLException { return conn.getAutoCommit(); }
+        @Override public String getCatalog() throws SQLException { return conn.getCatalog(); }
+        @Override public java.util.Properties getClientInfo() throws SQLException { return conn.getClientInfo(); }
+        @Override public String getClientInfo(String name) throws SQLException { return conn.getClientInfo(name); }
+        @Override public int getHoldability() throws SQLException { return conn.getHoldability(); }
+        @Override public DatabaseMetaData getMetaData() throws SQLException { return conn.getMetaData(); }
+        @Override public int getNetworkTimeout() throws SQLException { return conn.getNetworkTimeout(); }
+        @Override public String getSchema() throws SQLException { return conn.getSchema(); }
+        @Override public int getTransactionIsolation() throws SQLException { return conn.getTransactionIsolation(); }
+        @Override public java.util.Map<String, Class<?>> getTypeMap() throws SQLException { return conn.getTypeMap(); }
+        @Override public SQLWarning getWarnings() throws SQLException { return conn.getWarnings(); }
+        @Override public boolean isClosed() throws SQLException { return conn.isClosed(); }
+        @Override public boolean isReadOnly() throws SQLException { return conn.isReadOnly(); }
+        @Override public boolean isValid(int timeout) throws SQLException { return conn.isValid(timeout); }
+        @Override public String nativeSQL(String sql) throws SQLException { return conn.nativeSQL(sql); }
+        @Override public void releaseSavepoint(Savepoint savepoint) throws SQLException { conn.releaseSavepoint(savepoint); }
+        @Override public void setAutoCommit(boolean autoCommit) throws SQLException { conn.setAutoCommit(autoCommit); }
+        @Override public void setCatalog(String catalog) throws SQLException { conn.setCatalog(catalog); }
+        @Override public void setClientInfo(java.util.Properties properties) throws SQLClientInfoException { conn.setClientInfo(properties); }
+        @Override public void setClientInfo(String name, String value) throws SQLClientInfoException { conn.setClientInfo(name, value); }
+        @Override public void setHoldability(int holdability) throws SQLException { conn.setHoldability(holdability); }
+        @Override public void setNetworkTimeout(java.util.concurrent.Executor executor, int milliseconds) throws SQLException { conn.setNetworkTimeout(executor, milliseconds); }
+        @Override public void setReadOnly(boolean readOnly) throws SQLException { conn.setReadOnly(readOnly); }
+        @Override public Savepoint setSavepoint() throws SQLException { return conn.setSavepoint(); }
+        @Override public Savepoint setSavepoint(String name) throws SQLException { return conn.setSavepoint(name); }
+        @Override public void setSchema(String schema) throws SQLException { conn.setSchema(schema); }
+        @Override public void setShardingKey(ShardingKey shardingKey) throws SQLException { conn.setShardingKey(shardingKey); }
+        @Override public void setShardingKey(ShardingKey shardingKey, ShardingKey superShardingKey) throws SQLException { conn.setShardingKey(shardingKey, superShardingKey); }
+        @Override public boolean setShardingKeyIfValid(ShardingKey shardingKey, int timeout) throws SQLException { return conn.setShardingKeyIfValid(shardingKey, timeout); }
+        @Override public boolean setShardingKeyIfValid(ShardingKey shardingKey, ShardingKey superShardingKey, int timeout) throws SQLException { return conn.setShardingKeyIfValid(shardingKey, superShardingKey, timeout); }
+        @Override public void setTransactionIsolation(int level) throws SQLException { conn.setTransactionIsolation(level); }
+        @Override public void setTypeMap(java.util.Map<String, Class<?>> map) throws SQLException { conn.setTypeMap(map); }
+    }
+
+    // A plain Statement: the stats entry is looked up from the SQL of each execute (or the last addBatch)
+    static class InstrumentedStatement implements Statement {
+        private final Statement st;
+        private final Connection owner;
+        final JdbcStats stats;
+        JdbcStats.StatementStats current;
+
+        InstrumentedStatement(Statement st, Connection owner, JdbcStats stats) {
+            this.st = st;
+            this.owner = owner;
+            this.stats = stats;
+        }
+
+        JdbcStats.StatementStats forSql(String sql) {
+            current = stats.statement(sql);
+            return current;
+        }
+
+        // Rows are counted against s; with s == null the result set is only wrapped so getStatement() stays instrumented
+        ResultSet counted(ResultSet rs, JdbcStats.StatementStats s) {
+            return rs == null ? null : new InstrumentedResultSet(rs, this, s);
+        }
+
+        @Override public ResultSet executeQuery(String sql) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                ResultSet rs = st.executeQuery(sql);
+                s.executed(System.nanoTime() - t0);
+                return counted(rs, s);
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public int executeUpdate(String sql) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                int r = st.executeUpdate(sql);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                int r = st.executeUpdate(sql, autoGeneratedKeys);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                int r = st.executeUpdate(sql, columnIndexes);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                int r = st.executeUpdate(sql, columnNames);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public long executeLargeUpdate(String sql) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                long r = st.executeLargeUpdate(sql);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                long r = st.executeLargeUpdate(sql, autoGeneratedKeys);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                long r = st.executeLargeUpdate(sql, columnIndexes);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                long r = st.executeLargeUpdate(sql, columnNames);
+                s.executed(System.nanoTime() - t0);
+                s.addRows(r);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public boolean execute(String sql) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                boolean r = st.execute(sql);
+                s.executed(System.nanoTime() - t0);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                boolean r = st.execute(sql, autoGeneratedKeys);
+                s.executed(System.nanoTime() - t0);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                boolean r = st.execute(sql, columnIndexes);
+                s.executed(System.nanoTime() - t0);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public boolean execute(String sql, String[] columnNames) throws SQLException {
+            JdbcStats.StatementStats s = forSql(sql);
+            long t0 = System.nanoTime();
+            try {
+                boolean r = st.execute(sql, columnNames);
+                s.executed(System.nanoTime() - t0);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public void addBatch(String sql) throws SQLException { forSql(sql); st.addBatch(sql); }
+
+        @Override public int[] executeBatch() throws SQLException {
+            JdbcStats.StatementStats s = current;
+            long t0 = System.nanoTime();
+            try {
+                int[] counts = st.executeBatch();
+                if (s != null) {
+                    s.executed(System.nanoTime() - t0);
+                    for (int n : counts) s.addRows(n);
+                }
+                return counts;
+            } catch (SQLException | RuntimeException ex) {
+                if (s != null) s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public long[] executeLargeBatch() throws SQLException {
+            JdbcStats.StatementStats s = current;
+            long t0 = System.nanoTime();
+            try {
+                long[] counts = st.executeLargeBatch();
+                if (s != null) {
+                    s.executed(System.nanoTime() - t0);
+                    for (long n : counts) s.addRows(n);
+                }
+                return counts;
+            } catch (SQLException | RuntimeException ex) {
+                if (s != null) s.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public ResultSet getResultSet() throws SQLException { return counted(st.getResultSet(), current); }
+
+        @Override public <T> T unwrap(Class<T> iface) throws SQLException { return iface.isInstance(this) ? iface.cast(this) : st.unwrap(iface); }
+        @Override public boolean isWrapperFor(Class<?> iface) throws SQLException { return iface.isInstance(this) || st.isWrapperFor(iface); }
+
+        @Override public void cancel() throws SQLException { st.cancel(); }
+        @Override public void clearBatch() throws SQLException { st.clearBatch(); }
+        @Override public void clearWarnings() throws SQLException { st.clearWarnings(); }
+        @Override public void close() throws SQLException { st.close(); }
+        @Override public void closeOnCompletion() throws SQLException { st.closeOnCompletion(); }
+        @Override public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException { return st.enquoteIdentifier(identifier, alwaysQuote); }
+        @Override public String enquoteLiteral(String val) throws SQLException { return st.enquoteLiteral(val); }
+        @Override public String enquoteNCharLiteral(String val) throws SQLException { return st.enquoteNCharLiteral(val); }
+        @Override public Connection getConnection() throws SQLException { return owner; }
+        @Override public int getFetchDirection() throws SQLException { return st.getFetchDirection(); }
+        @Override public int getFetchSize() throws SQLException { return st.getFetchSize(); }
+        @Override public ResultSet getGeneratedKeys() throws SQLException { return counted(st.getGeneratedKeys(), null); }
+        @Override public long getLargeMaxRows() throws SQLException { return st.getLargeMaxRows(); }
+        @Override public long getLargeUpdateCount() throws SQLException { return st.getLargeUpdateCount(); }
+        @Override public int getMaxFieldSize() throws SQLException { return st.getMaxFieldSize(); }
+        @Override public int getMaxRows() throws SQLException { return st.getMaxRows(); }
+        @Override public boolean getMoreResults() throws SQLException { return st.getMoreResults(); }
+        @Override public boolean getMoreResults(int current) throws SQLException { return st.getMoreResults(current); }
+        @Override public int getQueryTimeout() throws SQLException { return st.getQueryTimeout(); }
+        @Override public int getResultSetConcurrency() throws SQLException { return st.getResultSetConcurrency(); }
+        @Override public int getResultSetHoldability() throws SQLException { return st.getResultSetHoldability(); }
+        @Override public int getResultSetType() throws SQLException { return st.getResultSetType(); }
+        @Override public int getUpdateCount() throws SQLException { return st.getUpdateCount(); }
+        @Override public SQLWarning getWarnings() throws SQLException { return st.getWarnings(); }
+        @Override public boolean isCloseOnCompletion() throws SQLException { return st.isCloseOnCompletion(); }
+        @Override public boolean isClosed() throws SQLException { return st.isClosed(); }
+        @Override public boolean isPoolable() throws SQLException { return st.isPoolable(); }
+        @Override public boolean isSimpleIdentifier(String identifier) throws SQLException { return st.isSimpleIdentifier(identifier); }
+        @Override public void setCursorName(String name) throws SQLException { st.setCursorName(name); }
+        @Override public void setEscapeProcessing(boolean enable) throws SQLException { st.setEscapeProcessing(enable); }
+        @Override public void setFetchDirection(int direction) throws SQLException { st.setFetchDirection(direction); }
+        @Override public void setFetchSize(int rows) throws SQLException { st.setFetchSize(rows); }
+        @Override public void setLargeMaxRows(long max) throws SQLException { st.setLargeMaxRows(max); }
+        @Override public void setMaxFieldSize(int max) throws SQLException { st.setMaxFieldSize(max); }
+        @Override public void setMaxRows(int max) throws SQLException { st.setMaxRows(max); }
+        @Override public void setPoolable(boolean enable) throws SQLException { st.setPoolable(enable); }
+        @Override public void setQueryTimeout(int seconds) throws SQLException { st.setQueryTimeout(seconds); }
+    }
+
+    // A PreparedStatement: its stats entry is fixed when it is prepared
+    @SuppressWarnings("deprecation")
+    static final class InstrumentedPreparedStatement extends InstrumentedStatement implements PreparedStatement {
+        private final PreparedStatement ps;
+        private final JdbcStats.StatementStats prepared;
+
+        InstrumentedPreparedStatement(PreparedStatement ps, Connection owner, JdbcStats stats, JdbcStats.StatementStats prepared) {
+            super(ps, owner, stats);
+            this.ps = ps;
+            this.prepared = prepared;
+            this.current = prepared;
+        }
+
+        @Override public ResultSet executeQuery() throws SQLException {
+            long t0 = System.nanoTime();
+            try {
+                ResultSet rs = ps.executeQuery();
+                prepared.executed(System.nanoTime() - t0);
+                return counted(rs, prepared);
+            } catch (SQLException | RuntimeException ex) {
+                prepared.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public int executeUpdate() throws SQLException {
+            long t0 = System.nanoTime();
+            try {
+                int n = ps.executeUpdate();
+                prepared.executed(System.nanoTime() - t0);
+                prepared.addRows(n);
+                return n;
+            } catch (SQLException | RuntimeException ex) {
+                prepared.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public long executeLargeUpdate() throws SQLException {
+            long t0 = System.nanoTime();
+            try {
+                long n = ps.executeLargeUpdate();
+                prepared.executed(System.nanoTime() - t0);
+                prepared.addRows(n);
+                return n;
+            } catch (SQLException | RuntimeException ex) {
+                prepared.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        @Override public boolean execute() throws SQLException {
+            long t0 = System.nanoTime();
+            try {
+                boolean r = ps.execute();
+                prepared.executed(System.nanoTime() - t0);
+                return r;
+            } catch (SQLException | RuntimeException ex) {
+                prepared.failed(System.nanoTime() - t0);
+                throw ex;
+            }
+        }
+
+        // executeBatch() and getResultSet() are inherited and use current, which stays the prepared entry
+        // unless the caller also runs plain SQL through this statement
+        @Override public void addBatch(String sql) throws SQLException { ps.addBatch(sql); }
+
+        @Override public void addBatch() throws SQLException { ps.addBatch(); }
+        @Override public void clearParameters() throws SQLException { ps.clearParameters(); }
+        @Override public ResultSetMetaData getMetaData() throws SQLException { return ps.getMetaData(); }
+        @Override public ParameterMetaData getParameterMetaData() throws SQLException { return ps.getParameterMetaData(); }
+        @Override public void setArray(int parameterIndex, Array x) throws SQLException { ps.setArray(parameterIndex, x); }
+        @Override public void setAsciiStream(int parameterIndex, java.io.InputStream x, int length) throws SQLException { ps.setAsciiStream(parameterIndex, x, length); }
+        @Override public void setAsciiStream(int parameterIndex, java.io.InputStream x, long length) throws SQLException { ps.setAsciiStream(parameterIndex, x, length); }
+        @Override public void setAsciiStream(int parameterIndex, java.io.InputStream x) throws SQLException { ps.setAsciiStream(parameterIndex, x); }
+        @Override public void setBigDecimal(int parameterIndex, java.math.BigDecimal x) throws SQLException { ps.setBigDecimal(parameterIndex, x); }
+        @Override public void setBinaryStream(int parameterIndex, java.io.InputStream x, int length) throws SQLException { ps.setBinaryStream(parameterIndex, x, length); }
+        @Override public void setBinaryStream(int parameterIndex, java.io.InputStream x, long length) throws SQLException { ps.setBinaryStream(parameterIndex, x, length); }
+        @Override public void setBinaryStream(int parameterIndex, java.io.InputStream x) throws SQLException { ps.setBinaryStream(parameterIndex, x); }
+        @Override public void setBlob(int parameterIndex, java.io.InputStream x, long length) throws SQLException { ps.setBlob(parameterIndex, x, length); }
+        @Override public void setBlob(int parameterIndex, java.io.InputStream x) throws SQLException { ps.setBlob(parameterIndex, x); }
+        @Override public void setBlob(int parameterIndex, Blob x) throws SQLException { ps.setBlob(parameterIndex, x); }
+        @Override public void setBoolean(int parameterIndex, boolean x) throws SQLException { ps.setBoolean(parameterIndex, x); }
+        @Override public void setByte(int parameterIndex, byte x) throws SQLException { ps.setByte(parameterIndex, x); }
+        @Override public void setBytes(int parameterIndex, byte[] x) throws SQLException { ps.setBytes(parameterIndex, x); }
+        @Override public void setCharacterStream(int parameterIndex, java.io.Reader x, int length) throws SQLException { ps.setCharacterStream(parameterIndex, x, length); }
+        @Override public void setCharacterStream(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps.setCharacterStream(parameterIndex, x, length); }
+        @Override public void setCharacterStream(int parameterIndex, java.io.Reader x) throws SQLException { ps.setCharacterStream(parameterIndex, x); }
+        @Override public void setClob(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps.setClob(parameterIndex, x, length); }
+        @Override public void setClob(int parameterIndex, java.io.Reader x) throws SQLException { ps.setClob(parameterIndex, x); }
+        @Override public void setClob(int parameterIndex, Clob x) throws SQLException { ps.setClob(parameterIndex, x); }
+        @Override public void setDate(int parameterIndex, Date x, java.util.Calendar cal) throws SQLException { ps.setDate(parameterIndex, x, cal); }
+        @Override public void setDate(int parameterIndex, Date x) throws SQLException { ps.setDate(parameterIndex, x); }
+        @Override public void setDouble(int parameterIndex, double x) throws SQLException { ps.setDouble(parameterIndex, x); }
+        @Override public void setFloat(int parameterIndex, float x) throws SQLException { ps.setFloat(parameterIndex, x); }
+        @Override public void setInt(int parameterIndex, int x) throws SQLException { ps.setInt(parameterIndex, x); }
+        @Override public void setLong(int parameterIndex, long x) throws SQLException { ps.setLong(parameterIndex, x); }
+        @Override public void setNCharacterStream(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps.setNCharacterStream(parameterIndex, x, length); }
+        @Override public void setNCharacterStream(int parameterIndex, java.io.Reader x) throws SQLException { ps.setNCharacterStream(parameterIndex, x); }
+        @Override public void setNClob(int parameterIndex, java.io.Reader x, long length) throws SQLException { ps.setNClob(parameterIndex, x, length); }
+        @Override public void setNClob(int parameterIndex, java.io.Reader x) throws SQLException { ps.setNClob(parameterIndex, x); }
+        @Override public void setNClob(int parameterIndex, NClob x) throws SQLException { ps.setNClob(parameterIndex, x); }
+        @Override public void setNString(int parameterIndex, String x) throws SQLException { ps.setNString(parameterIndex, x); }
+        @Override public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException { ps.setNull(parameterIndex, sqlType, typeName); }
+        @Override public void setNull(int parameterIndex, int sqlType) throws SQLException { ps.setNull(parameterIndex, sqlType); }
+        @Override public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException { ps.setObject(parameterIndex, x, targetSqlType, scaleOrLength); }
+        @Override public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException { ps.setObject(parameterIndex, x, targetSqlType); }
+        @Override public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException { ps.setObject(parameterIndex, x, targetSqlType, scaleOrLength); }
+        @Override public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException { ps.setObject(parameterIndex, x, targetSqlType); }
+        @Override public void setObject(int parameterIndex, Object x) throws SQLException { ps.setObject(parameterIndex, x); }
+        @Override public void setRef(int parameterIndex, Ref x) throws SQLException { ps.setRef(parameterIndex, x); }
+        @Override public void setRowId(int parameterIndex, RowId x) throws SQLException { ps.setRowId(parameterIndex, x); }
+        @Override public void setSQLXML(int parameterIndex, SQLXML x) throws SQLException { ps.setSQLXML(parameterIndex, x); }
+        @Override public void setShort(int parameterIndex, short x) throws SQLException { ps.setShort(parameterIndex, x); }
+        @Override public void setString(int parameterIndex, String x) throws SQLException { ps.setString(parameterIndex, x); }
+        @Override public void setTime(int parameterIndex, Time x, java.util.Calendar cal) throws SQLException { ps.setTime(parameterIndex, x, cal); }
+        @Override public void setTime(int parameterIndex, Time x) throws SQLException { ps.setTime(parameterIndex, x); }
+        @Override public void setTimestamp(int parameterIndex, Timestamp x, java.util.Calendar cal) throws SQLException { ps.setTimestamp(parameterIndex, x, cal); }
+        @Override public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException { ps.setTimestamp(parameterIndex, x); }
+        @Override public void setURL(int parameterIndex, java.net.URL x) throws SQLException { ps.setURL(parameterIndex, x); }
+        @Override public void setUnicodeStream(int parameterIndex, java.io.InputStream x, int length) throws SQLException { ps.setUnicodeStream(parameterIndex, x, length); }
+    }
+
+    // Counts the rows read through next(); the count is added to the statement at the end of the rows or on close.
+    // Generated keys are wrapped with no stats entry: their rows were already counted as the update count.
+    @SuppressWarnings("deprecation")
+    static final class InstrumentedResultSet implements ResultSet {
+        private final ResultSet rs;
+        private final Statement owner;
+        private final JdbcStats.StatementStats stats;
+        private long rows;
+        private boolean reported;
+
+        InstrumentedResultSet(ResultSet rs, Statement owner, JdbcStats.StatementStats stats) {
+            this.rs = rs;
+            this.owner = owner;
+            this.stats = stats;
+        }
+
+        private void report() {
+            if (reported) return;
+            reported = true;
+            if (stats != null) stats.addRows(rows);
+        }
+
+        @Override public boolean next() throws SQLException {
+            boolean more = rs.next();
+            if (more) rows++;
+            else report();
+            return more;
+        }
+
+        @Override public void close() throws SQLException {
+            report();
+            rs.close();
+        }
+
+        @Override public <T> T unwrap(Class<T> iface) throws SQLException { return iface.isInstance(this) ? iface.cast(this) : rs.unwrap(iface); }
+        @Override public boolean isWrapperFor(Class<?> iface) throws SQLException { return iface.isInstance(this) || rs.isWrapperFor(iface); }
+
+        @Override public boolean absolute(int row) throws SQLException { return rs.absolute(row); }
+        @Override public void afterLast() throws SQLException { rs.afterLast(); }
+        @Override public void beforeFirst() throws SQLException { rs.beforeFirst(); }
+        @Override public void cancelRowUpdates() throws SQLException { rs.cancelRowUpdates(); }
+        @Override public void clearWarnings() throws SQLException { rs.clearWarnings(); }
+        @Override public void deleteRow() throws SQLException { rs.deleteRow(); }
+        @Override public int findColumn(String columnLabel) throws SQLException { return rs.findColumn(columnLabel); }
+        @Override public boolean first() throws SQLException { return rs.first(); }
+        @Override public Array getArray(String columnLabel) throws SQLException { return rs.getArray(columnLabel); }
+        @Override public Array getArray(int columnIndex) throws SQLException { return rs.getArray(columnIndex); }
+        @Override public java.io.InputStream getAsciiStream(String columnLabel) throws SQLException { return rs.getAsciiStream(columnLabel); }
+        @Override public java.io.InputStream getAsciiStream(int columnIndex) throws SQLException { return rs.getAsciiStream(columnIndex); }
+        @Override public java.math.BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException { return rs.getBigDecimal(columnLabel, scale); }
+        @Override public java.math.BigDecimal getBigDecimal(String columnLabel) throws SQLException { return rs.getBigDecimal(columnLabel); }
+        @Override public java.math.BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException { return rs.getBigDecimal(columnIndex, scale); }
+        @Override public java.math.BigDecimal getBigDecimal(int columnIndex) throws SQLException { return rs.getBigDecimal(columnIndex); }
+        @Override public java.io.InputStream getBinaryStream(String columnLabel) throws SQLException { return rs.getBinaryStream(columnLabel); }
+        @Override public java.io.InputStream getBinaryStream(int columnIndex) throws SQLException { return rs.getBinaryStream(columnIndex); }
+        @Override public Blob getBlob(String columnLabel) throws SQLException { return rs.getBlob(columnLabel); }
+        @Override public Blob getBlob(int columnIndex) throws SQLException { return rs.getBlob(columnIndex); }
+        @Override public boolean getBoolean(String columnLabel) throws SQLException { return rs.getBoolean(columnLabel); }
+        @Override public boolean getBoolean(int columnIndex) throws SQLException { return rs.getBoolean(columnIndex); }
+        @Override public byte getByte(String columnLabel) throws SQLException { return rs.getByte(columnLabel); }
+        @Override public byte getByte(int columnIndex) throws SQLException { return rs.getByte(columnIndex); }
+        @Override public byte[] getBytes(String columnLabel) throws SQLException { return rs.getBytes(columnLabel); }
+        @Override public byte[] getBytes(int columnIndex) throws SQLException { return rs.getBytes(columnIndex); }
+        @Override public java.io.Reader getCharacterStream(String columnLabel) throws SQLException { return rs.getCharacterStream(columnLabel); }
+        @Override public java.io.Reader getCharacterStream(int columnIndex) throws SQLException { return rs.getCharacterStream(columnIndex); }
+        @Override public Clob getClob(String columnLabel) throws SQLException { return rs.getClob(columnLabel); }
+        @Override public Clob getClob(int columnIndex) throws SQLException { return rs.getClob(columnIndex); }
+        @Override public int getConcurrency() throws SQLException { return rs.getConcurrency(); }
+        @Override public String getCursorName() throws SQLException { return rs.getCursorName(); }
+        @Override public Date getDate(String columnLabel, java.util.Calendar cal) throws SQLException { return rs.getDate(columnLabel, cal); }
+        @Override public Date getDate(String columnLabel) throws SQLException { return rs.getDate(columnLabel); }
+        @Override public Date getDate(int columnIndex, java.util.Calendar cal) throws SQLException { return rs.getDate(columnIndex, cal); }
+        @Override public Date getDate(int columnIndex) throws SQLException { return rs.getDate(columnIndex); }
+        @Override public double getDouble(String columnLabel) throws SQLException { return rs.getDouble(columnLabel); }
+        @Override public double getDouble(int columnIndex) throws SQLException { return rs.getDouble(columnIndex); }
+        @Override public int getFetchDirection() throws SQLException { return rs.getFetchDirection(); }
+        @Override public int getFetchSize() throws SQLException { return rs.getFetchSize(); }
+        @Override public float getFloat(String columnLabel) throws SQLException { return rs.getFloat(columnLabel); }
+        @Override public float getFloat(int columnIndex) throws SQLException { return rs.getFloat(columnIndex); }
+        @Override public int getHoldability() throws SQLException { return rs.getHoldability(); }
+        @Override public int getInt(String columnLabel) throws SQLException { return rs.getInt(columnLabel); }
+        @Override public int getInt(int columnIndex) throws SQLException { return rs.getInt(columnIndex); }
+        @Override public long getLong(String columnLabel) throws SQLException { return rs.getLong(columnLabel); }
+        @Override public long getLong(int columnIndex) throws SQLException { return rs.getLong(columnIndex); }
+        @Override public ResultSetMetaData getMetaData() throws SQLException { return rs.getMetaData(); }
+        @Override public java.io.Reader getNCharacterStream(String columnLabel) throws SQLException { return rs.getNCharacterStream(columnLabel); }
+        @Override public java.io.Reader getNCharacterStream(int columnIndex) throws SQLException { return rs.getNCharacterStream(columnIndex); }
+        @Override public NClob getNClob(String columnLabel) throws SQLException { return rs.getNClob(columnLabel); }
+        @Override public NClob getNClob(int columnIndex) throws SQLException { return rs.getNClob(columnIndex); }
+        @Override public String getNString(String columnLabel) throws SQLException { return rs.getNString(columnLabel); }
+        @Override public String getNString(int columnIndex) throws SQLException { return rs.getNString(columnIndex); }
+        @Override public <T> T getObject(String columnLabel, Class<T> type) throws SQLException { return rs.getObject(columnLabel, type); }
+        @Override public Object getObject(String columnLabel, java.util.Map<String, Class<?>> map) throws SQLException { return rs.getObject(columnLabel, map); }
+        @Override public Object getObject(String columnLabel) throws SQLException { return rs.getObject(columnLabel); }
+        @Override public <T> T getObject(int columnIndex, Class<T> type) throws SQLException { return rs.getObject(columnIndex, type); }
+        @Override public Object getObject(int columnIndex, java.util.Map<String, Class<?>> map) throws SQLException { return rs.getObject(columnIndex, map); }
+        @Override public Object getObject(int columnIndex) throws SQLException { return rs.getObject(columnIndex); }
+        @Override public Ref getRef(String columnLabel) throws SQLException { return rs.getRef(columnLabel); }
+        @Override public Ref getRef(int columnIndex) throws SQLException { return rs.getRef(columnIndex); }
+        @Override public int getRow() throws SQLException { return rs.getRow(); }
+        @Override public RowId getRowId(String columnLabel) throws SQLException { return rs.getRowId(columnLabel); }
+        @Override public RowId getRowId(int columnIndex) throws SQLException { return rs.getRowId(columnIndex); }
+        @Override public SQLXML getSQLXML(String columnLabel) throws SQLException { return rs.getSQLXML(columnLabel); }
+        @Override public SQLXML getSQLXML(int columnIndex) throws SQLException { return rs.getSQLXML(columnIndex); }
+        @Override public short getShort(String columnLabel) throws SQLException { return rs.getShort(columnLabel); }
+        @Override public short getShort(int columnIndex) throws SQLException { return rs.getShort(columnIndex); }
+        @Override public Statement getStatement() throws SQLException { return owner; }
+        @Override public String getString(String columnLabel) throws SQLException { return rs.getString(columnLabel); }
+        @Override public String getString(int columnIndex) throws SQLException { return rs.getString(columnIndex); }
+        @Override public Time getTime(String columnLabel, java.util.Calendar cal) throws SQLException { return rs.getTime(columnLabel, cal); }
+        @Override public Time getTime(String columnLabel) throws SQLException { return rs.getTime(columnLabel); }
+        @Override public Time getTime(int columnIndex, java.util.Calendar cal) throws SQLException { return rs.getTime(columnIndex, cal); }
+        @Override public Time getTime(int columnIndex) throws SQLException { return rs.getTime(columnIndex); }
+        @Override public Timestamp getTimestamp(String columnLabel, java.util.Calendar cal) throws SQLException { return rs.getTimestamp(columnLabel, cal); }
+        @Override public Timestamp getTimestamp(String columnLabel) throws SQLException { return rs.getTimestamp(columnLabel); }
+        @Override public Timestamp getTimestamp(int columnIndex, java.util.Calendar cal) throws SQLException { return rs.getTimestamp(columnIndex, cal); }
+        @Override public Timestamp getTimestamp(int columnIndex) throws SQLException { return rs.getTimestamp(columnIndex); }
+        @Override public int getType() throws SQLException { return rs.getType(); }
+        @Override public java.net.URL getURL(String columnLabel) throws SQLException { return rs.getURL(columnLabel); }
+        @Override public java.net.URL getURL(int columnIndex) throws SQLException { return rs.getURL(columnIndex); }
+        @Override public java.io.InputStream getUnicodeStream(String columnLabel) throws SQLException { return rs.getUnicodeStream(columnLabel); }
+        @Override public java.io.InputStream getUnicodeStream(int columnIndex) throws SQLException { return rs.getUnicodeStream(columnIndex); }
+        @Override public SQLWarning getWarnings() throws SQLException { return rs.getWarnings(); }
+        @Override public void insertRow() throws SQLException { rs.insertRow(); }
+        @Override public boolean isAfterLast() throws SQLException { return rs.isAfterLast(); }
+        @Override public boolean isBeforeFirst() throws SQLException { return rs.isBeforeFirst(); }
+        @Override public boolean isClosed() throws SQLException { return rs.isClosed(); }
+        @Override public boolean isFirst() throws SQLException { return rs.isFirst(); }
+        @Override public boolean isLast() throws SQLException { return rs.isLast(); }
+        @Override public boolean last() throws SQLException { return rs.last(); }
+        @Override public void moveToCurrentRow() throws SQLException { rs.moveToCurrentRow(); }
+        @Override public void moveToInsertRow() throws SQLException { rs.moveToInsertRow(); }
+        @Override public boolean previous() throws SQLException { return rs.previous(); }
+        @Override public void refreshRow() throws SQLException { rs.refreshRow(); }
+        @Override public boolean relative(int rows) throws SQLException { return rs.relative(rows); }
+        @Override public boolean rowDeleted() throws SQLException { return rs.rowDeleted(); }
+        @Override public boolean rowInserted() throws SQLException { return rs.rowInserted(); }
+        @Override public boolean rowUpdated() throws SQLException { return rs.rowUpdated(); }
+        @Override public void setFetchDirection(int direction) throws SQLException { rs.setFetchDirection(direction); }
+        @Override public void setFetchSize(int rows) throws SQLException { rs.setFetchSize(rows); }
+        @Override public void updateArray(String columnLabel, Array x) throws SQLException { rs.updateArray(columnLabel, x); }
+        @Override public void updateArray(int columnIndex, Array x) throws SQLException { rs.updateArray(columnIndex, x); }
+        @Override public void updateAsciiStream(String columnLabel, java.io.InputStream x, int length) throws SQLException { rs.updateAsciiStream(columnLabel, x, length); }
+        @Override public void updateAsciiStream(String columnLabel, java.io.InputStream x, long length) throws SQLException { rs.updateAsciiStream(columnLabel, x, length); }
+        @Override public void updateAsciiStream(String columnLabel, java.io.InputStream x) throws SQLException { rs.updateAsciiStream(columnLabel, x); }
+        @Override public void updateAsciiStream(int columnIndex, java.io.InputStream x, int length) throws SQLException { rs.updateAsciiStream(columnIndex, x, length); }
+        @Override public void updateAsciiStream(int columnIndex, java.io.InputStream x, long length) throws SQLException { rs.updateAsciiStream(columnIndex, x, length); }
+        @Override public void updateAsciiStream(int columnIndex, java.io.InputStream x) throws SQLException { rs.updateAsciiStream(columnIndex, x); }
+        @Override public void updateBigDecimal(String columnLabel, java.math.BigDecimal x) throws SQLException { rs.updateBigDecimal(columnLabel, x); }
+        @Override public void updateBigDecimal(int columnIndex, java.math.BigDecimal x) throws SQLException { rs.updateBigDecimal(columnIndex, x); }
+        @Override public void updateBinaryStream(String columnLabel, java.io.InputStream x, int length) throws SQLException { rs.updateBinaryStream(columnLabel, x, length); }
+        @Override public void updateBinaryStream(String columnLabel, java.io.InputStream x, long length) throws SQLException { rs.updateBinaryStream(columnLabel, x, length); }
+        @Override public void updateBinaryStream(String columnLabel, java.io.InputStream x) throws SQLException { rs.updateBinaryStream(columnLabel, x); }
+        @Override public void updateBinaryStream(int columnIndex, java.io.InputStream x, int length) throws SQLException { rs.updateBinaryStream(columnIndex, x, length); }
+        @Override public void updateBinaryStream(int columnIndex, java.io.InputStream x, long length) throws SQLException { rs.updateBinaryStream(columnIndex, x, length); }
+        @Override public void updateBinaryStream(int columnIndex, java.io.InputStream x) throws SQLException { rs.updateBinaryStream(columnIndex, x); }
+        @Override public void updateBlob(String columnLabel, java.io.InputStream x, long length) throws SQLException { rs.updateBlob(columnLabel, x, length); }
+        @Override public void updateBlob(String columnLabel, java.io.InputStream x) throws SQLException { rs.updateBlob(columnLabel, x); }
+        @Override public void updateBlob(String columnLabel, Blob x) throws SQLException { rs.updateBlob(columnLabel, x); }
+        @Override public void updateBlob(int columnIndex, java.io.InputStream x, long length) throws SQLException { rs.updateBlob(columnIndex, x, length); }
+        @Override public void updateBlob(int columnIndex, java.io.InputStream x) throws SQLException { rs.updateBlob(columnIndex, x); }
+        @Override public void updateBlob(int columnIndex, Blob x) throws SQLException { rs.updateBlob(columnIndex, x); }
+        @Override public void updateBoolean(String columnLabel, boolean x) throws SQLException { rs.updateBoolean(columnLabel, x); }
+        @Override public void updateBoolean(int columnIndex, boolean x) throws SQLException { rs.updateBoolean(columnIndex, x); }
+        @Override public void updateByte(String columnLabel, byte x) throws SQLException { rs.updateByte(columnLabel, x); }
+        @Override public void updateByte(int columnIndex, byte x) throws SQLException { rs.updateByte(columnIndex, x); }
+        @Override public void updateBytes(String columnLabel, byte[] x) throws SQLException { rs.updateBytes(columnLabel, x); }
+        @Override public void updateBytes(int columnIndex, byte[] x) throws SQLException { rs.updateBytes(columnIndex, x); }
+        @Override public void updateCharacterStream(String columnLabel, java.io.Reader x, int length) throws SQLException { rs.updateCharacterStream(columnLabel, x, length); }
+        @Override public void updateCharacterStream(String columnLabel, java.io.Reader x, long length) throws SQLException { rs.updateCharacterStream(columnLabel, x, length); }
+        @Override public void updateCharacterStream(String columnLabel, java.io.Reader x) throws SQLException { rs.updateCharacterStream(columnLabel, x); }
+        @Override public void updateCharacterStream(int columnIndex, java.io.Reader x, int length) throws SQLException { rs.updateCharacterStream(columnIndex, x, length); }
+        @Override public void updateCharacterStream(int columnIndex, java.io.Reader x, long length) throws SQLException { rs.updateCharacterStream(columnIndex, x, length); }
+        @Override public void updateCharacterStream(int columnIndex, java.io.Reader x) throws SQLException { rs.updateCharacterStream(columnIndex, x); }
+        @Override public void updateClob(String columnLabel, java.io.Reader x, long length) throws SQLException { rs.updateClob(columnLabel, x, length); }
+        @Override public void updateClob(String columnLabel, java.io.Reader x) throws SQLException { rs.updateClob(columnLabel, x); }
+        @Override public void updateClob(String columnLabel, Clob x) throws SQLException { rs.updateClob(columnLabel, x); }
+        @Override public void updateClob(int columnIndex, java.io.Reader x, long length) throws SQLException { rs.updateClob(columnIndex, x, length); }
+        @Override public void updateClob(int columnIndex, java.io.Reader x) throws SQLException { rs.updateClob(columnIndex, x); }
+        @Override public void updateClob(int columnIndex, Clob x) throws SQLException { rs.updateClob(columnIndex, x); }
+        @Override public void updateDate(String columnLabel, Date x) throws SQLException { rs.updateDate(columnLabel, x); }
+        @Override public void updateDate(int columnIndex, Date x) throws SQLException { rs.updateDate(columnIndex, x); }
+        @Override public void updateDouble(String columnLabel, double x) throws SQLException { rs.updateDouble(columnLabel, x); }
+        @Override public void updateDouble(int columnIndex, double x) throws SQLException { rs.updateDouble(columnIndex, x); }
+        @Override public void updateFloat(String columnLabel, float x) throws SQLException { rs.updateFloat(columnLabel, x); }
+        @Override public void updateFloat(int columnIndex, float x) throws SQLException { rs.updateFloat(columnIndex, x); }
+        @Override public void updateInt(String columnLabel, int x) throws SQLException { rs.updateInt(columnLabel, x); }
+        @Override public void updateInt(int columnIndex, int x) throws SQLException { rs.updateInt(columnIndex, x); }
+        @Override public void updateLong(String columnLabel, long x) throws SQLException { rs.updateLong(columnLabel, x); }
+        @Override public void updateLong(int columnIndex, long x) throws SQLException { rs.updateLong(columnIndex, x); }
+        @Override public void updateNCharacterStream(String columnLabel, java.io.Reader x, long length) throws SQLException { rs.updateNCharacterStream(columnLabel, x, length); }
+        @Override public void updateNCharacterStream(String columnLabel, java.io.Reader x) throws SQLException { rs.updateNCharacterStream(columnLabel, x); }
+        @Override public void updateNCharacterStream(int columnIndex, java.io.Reader x, long length) throws SQLException { rs.updateNCharacterStream(columnIndex, x, length); }
+        @Override public void updateNCharacterStream(int columnIndex, java.io.Reader x) throws SQLException { rs.updateNCharacterStream(columnIndex, x); }
+        @Override public void updateNClob(String columnLabel, java.io.Reader x, long length) throws SQLException { rs.updateNClob(columnLabel, x, length); }
+        @Override public void updateNClob(String columnLabel, java.io.Reader x) throws SQLException { rs.updateNClob(columnLabel, x); }
+        @Override public void updateNClob(String columnLabel, NClob x) throws SQLException { rs.updateNClob(columnLabel, x); }
+        @Override public void updateNClob(int columnIndex, java.io.Reader x, long length) throws SQLException { rs.updateNClob(columnIndex, x, length); }
+        @Override public void updateNClob(int columnIndex, java.io.Reader x) throws SQLException { rs.updateNClob(columnIndex, x); }
+        @Override public void updateNClob(int columnIndex, NClob x) throws SQLException { rs.updateNClob(columnIndex, x); }
+        @Override public void updateNString(String columnLabel, String x) throws SQLException { rs.updateNString(columnLabel, x); }
+        @Override public void updateNString(int columnIndex, String x) throws SQLException { rs.updateNString(columnIndex, x); }
+        @Override public void updateNull(String columnLabel) throws SQLException { rs.updateNull(columnLabel); }
+        @Override public void updateNull(int columnIndex) throws SQLException { rs.updateNull(columnIndex); }
+        @Override public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException { rs.updateObject(columnLabel, x, scaleOrLength); }
+        @Override public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException { rs.updateObject(columnLabel, x, targetSqlType, scaleOrLength); }
+        @Override public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException { rs.updateObject(columnLabel, x, targetSqlType); }
+        @Override public void updateObject(String columnLabel, Object x) throws SQLException { rs.updateObject(columnLabel, x); }
+        @Override public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException { rs.updateObject(columnIndex, x, scaleOrLength); }
+        @Override public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException { rs.updateObject(columnIndex, x, targetSqlType, scaleOrLength); }
+        @Override public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException { rs.updateObject(columnIndex, x, targetSqlType); }
+        @Override public void updateObject(int columnIndex, Object x) throws SQLException { rs.updateObject(columnIndex, x); }
+        @Override public void updateRef(String columnLabel, Ref x) throws SQLException { rs.updateRef(columnLabel, x); }
+        @Override public void updateRef(int columnIndex, Ref x) throws SQLException { rs.updateRef(columnIndex, x); }
+        @Override public void updateRow() throws SQLException { rs.updateRow(); }
+        @Override public void updateRowId(String columnLabel, RowId x) throws SQLException { rs.updateRowId(columnLabel, x); }
+        @Override public void updateRowId(int columnIndex, RowId x) throws SQLException { rs.updateRowId(columnIndex, x); }
+        @Override public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException { rs.updateSQLXML(columnLabel, x); }
+        @Override public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException { rs.updateSQLXML(columnIndex, x); }
+        @Override public void updateShort(String columnLabel, short x) throws SQLException { rs.updateShort(columnLabel, x); }
+        @Override public void updateShort(int columnIndex, short x) throws SQLException { rs.updateShort(columnIndex, x); }
+        @Override public void updateString(String columnLabel, String x) throws SQLException { rs.updateString(columnLabel, x); }
+        @Override public void updateString(int columnIndex, String x) throws SQLException { rs.updateString(columnIndex, x); }
+        @Override public void updateTime(String columnLabel, Time x) throws SQLException { rs.updateTime(columnLabel, x); }
+        @Override public void updateTime(int columnIndex, Time x) throws SQLException { rs.updateTime(columnIndex, x); }
+        @Override public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException { rs.updateTimestamp(columnLabel, x); }
+        @Override public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException { rs.updateTimestamp(columnIndex, x); }
+        @Override public boolean wasNull() throws SQLException { return rs.wasNull(); }
+    }
+}
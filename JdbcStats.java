@@ -0,0 +1,291 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Statistics recorded by the JDBC instrumentation proxies (JdbcInstrumentation): a latency histogram
+// per SQL fingerprint, rows fetched or affected, connection open and hold times, commits/rollbacks and
+// a ring of recent slow statements. Recording only updates preallocated counters; the statement for
+// a SQL string is looked up once at prepare time. Snapshots and formatting allocate, recording does not.
+public class JdbcStats implements JdbcStatsMBean {
+    static final boolean ENABLED = Boolean.parseBoolean(System.getenv().getOrDefault("DB_INSTRUMENTATION", "true"));
+    private static final long SLOW_QUERY_NANOS = Long.parseLong(System.getenv().getOrDefault("DB_SLOW_QUERY_MS", "200")) * 1_000_000L;
+    private static final int SLOW_QUERY_SAMPLES = Integer.parseInt(System.getenv().getOrDefault("DB_SLOW_QUERY_SAMPLES", "50"));
+    private static final int MAX_STATEMENTS = Integer.parseInt(System.getenv().getOrDefault("DB_STATS_MAX_STATEMENTS", "500"));
+    static final String OTHER = "<other statements>";
+
+    private static final JdbcStats GLOBAL = register(new JdbcStats());
+
+    public static JdbcStats global() {
+        return GLOBAL;
+    }
+
+    private static JdbcStats register(JdbcStats stats) {
+        try {
+            java.lang.management.ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(stats, new javax.management.ObjectName("hostlink:type=JdbcStats"));
+        } catch (Exception | LinkageError ex) {
+            System.err.println("JDBC stats are not available over JMX: " + ex.getMessage());
+        }
+        return stats;
+    }
+
+    public record Summary(long count, long totalMicros, long p50Micros, long p95Micros, long p99Micros, long maxMicros) {}
+
+    public record StatementSummary(String fingerprint, Summary latency, long rows, long errors) {
+        @Override
+        public String toString() {
+            return String.format("calls=%d total=%dms p50=%dus p95=%dus p99=%dus max=%dus rows=%d errors=%d  %s",
+                    latency.count(), latency.totalMicros() / 1000, latency.p50Micros(), latency.p95Micros(), latency.p99Micros(),
+                    latency.maxMicros(), rows, errors, fingerprint);
+        }
+    }
+
+    public record SlowQuery(long atMillis, String fingerprint, long micros, String thread) {
+        @Override
+        public String toString() {
+            return String.format("%tT %6d ms [%s] %s", atMillis, micros / 1000, thread, fingerprint);
+        }
+    }
+
+    // Raw SQL text -> stats, so fingerprinting happens once per distinct string
+    private final ConcurrentHashMap<String, StatementStats> bySql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StatementStats> byFingerprint = new ConcurrentHashMap<>();
+    private final Histogram connectLatency = new Histogram();
+    private final Histogram holdTime = new Histogram();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final SlowQuery[] slow = new SlowQuery[Math.max(1, SLOW_QUERY_SAMPLES)];
+    private int slowNext;
+
+    public StatementStats statement(String sql) {
+        StatementStats s = bySql.get(sql);
+        if (s != null) return s;
+        String fp = fingerprint(sql);
+        s = byFingerprint.get(fp);
+        if (s == null) s = byFingerprint.computeIfAbsent(byFingerprint.size() < MAX_STATEMENTS ? fp : OTHER, k -> new StatementStats(k, sql));
+        if (bySql.size() < MAX_STATEMENTS * 4) bySql.putIfAbsent(sql, s);
+        return s;
+    }
+
+    public void connectionOpened(long nanos) { connectLatency.record(nanos); }
+    public void connectFailed() { connectFailures.increment(); }
+    public void connectionReleased(long heldNanos) { holdTime.record(heldNanos); }
+    public void committed() { commits.increment(); }
+    public void rolledBack() { rollbacks.increment(); }
+
+    private synchronized void addSlow(StatementStats s, long nanos) {
+        slow[slowNext] = new SlowQuery(System.currentTimeMillis(), s.fingerprint, nanos / 1000, Thread.currentThread().getName());
+        slowNext = (slowNext + 1) % slow.length;
+    }
+
+    // Statement stats, highest total time first
+    public List<StatementSummary> statements() {
+        List<StatementSummary> out = new ArrayList<>();
+        for (StatementStats s : byFingerprint.values()) {
+            Summary latency = s.latency.summary();
+            if (latency.count() > 0) out.add(new StatementSummary(s.fingerprint, latency, s.rows.sum(), s.errors.sum()));
+        }
+        out.sort(Comparator.comparingLong((StatementSummary r) -> r.latency().totalMicros()).reversed());
+        return out;
+    }
+
+    // One SQL text per fingerprint, as first issued (placeholders or literals included), for plan capture
+    public Map<String, String> sampleStatements() {
+        Map<String, String> out = new TreeMap<>();
+        for (StatementStats s : byFingerprint.values()) {
+            if (!OTHER.equals(s.fingerprint)) out.put(s.fingerprint, s.sampleSql);
+        }
+        return out;
+    }
+
+    // Merge the sample statements into a capture file (one statement per line), keeping statements already in it
+    public synchronized void appendSamples(java.nio.file.Path file) throws java.io.IOException {
+        Map<String, String> merged = new TreeMap<>();
+        if (java.nio.file.Files.exists(file)) {
+            for (String line : java.nio.file.Files.readAllLines(file, java.nio.charset.StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) merged.put(fingerprint(line), line);
+            }
+        }
+        for (String sql : sampleStatements().values()) merged.putIfAbsent(fingerprint(sql), sql.trim().replaceAll("\\s+", " "));
+        java.nio.file.Files.write(file, merged.values(), java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    // Recent slow statements, newest first
+    public synchronized List<SlowQuery> slowQueries() {
+        List<SlowQuery> out = new ArrayList<>();
+        for (int i = 1; i <= slow.length; i++) {
+            SlowQuery q = slow[Math.floorMod(slowNext - i, slow.length)];
+            if (q != null) out.add(q);
+        }
+        return out;
+    }
+
+    public Summary connectLatency() { return connectLatency.summary(); }
+    public Summary holdTime() { return holdTime.summary(); }
+
+    @Override public long getConnectionsOpened() { return connectLatency.count(); }
+    @Override public long getConnectFailures() { return connectFailures.sum(); }
+    @Override public long getConnectP99Micros() { return connectLatency.summary().p99Micros(); }
+    @Override public long getHoldP50Micros() { return holdTime.summary().p50Micros(); }
+    @Override public long getHoldP99Micros() { return holdTime.summary().p99Micros(); }
+    @Override public long getCommits() { return commits.sum(); }
+    @Override public long getRollbacks() { return rollbacks.sum(); }
+    @Override public int getStatementCount() { return byFingerprint.size(); }
+
+    @Override
+    public String[] getTopStatements() {
+        return statements().stream().limit(50).map(StatementSummary::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getSlowQueries() {
+        return slowQueries().stream().map(SlowQuery::toString).toArray(String[]::new);
+    }
+
+    // Zero every counter in place; proxies keep their StatementStats references
+    @Override
+    public void reset() {
+        for (StatementStats s : byFingerprint.values()) {
+            s.latency.reset();
+            s.rows.reset();
+            s.errors.reset();
+        }
+        connectLatency.reset();
+        holdTime.reset();
+        connectFailures.reset();
+        commits.reset();
+        rollbacks.reset();
+        synchronized (this) {
+            Arrays.fill(slow, null);
+            slowNext = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        Summary open = connectLatency.summary();
+        Summary hold = holdTime.summary();
+        return String.format("connections opened=%d failed=%d open p50=%dus p99=%dus | held p50=%dus p99=%dus max=%dus | commits=%d rollbacks=%d | statements=%d",
+                open.count(), connectFailures.sum(), open.p50Micros(), open.p99Micros(),
+                hold.p50Micros(), hold.p99Micros(), hold.maxMicros(), commits.sum(), rollbacks.sum(), byFingerprint.size());
+    }
+
+    // SQL with literals replaced by ? and whitespace/comments collapsed, so statements that differ only in
+    // literal values share one entry. Placeholder lists and repeated VALUES tuples are collapsed too
+    // (IN (?, ...), VALUES (?, ...), ...) so their length does not create new entries.
+    static String fingerprint(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        try {
+            for (SqlTokenizer.Token t : SqlTokenizer.tokenize(sql)) {
+                switch (t.type()) {
+                    case WHITESPACE, COMMENT -> { if (sb.length() > 0) sb.append(' '); }
+                    case STRING, NUMBER -> sb.append('?');
+                    default -> sb.append(t.text());
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            return sql.trim().replaceAll("\\s+", " ");
+        }
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == ' ') end--;
+        return sb.substring(0, end).replaceAll(" {2,}", " ")
+                .replaceAll("\\?(, \\?)+", "?, ...")
+                .replaceAll("(\\(\\?, \\.\\.\\.\\)|\\(\\?\\))(, \\1)+", "$1, ...");
+    }
+
+    // Counters for one SQL fingerprint
+    public final class StatementStats {
+        final String fingerprint;
+        final String sampleSql;
+        final Histogram latency = new Histogram();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        StatementStats(String fingerprint, String sampleSql) {
+            this.fingerprint = fingerprint;
+            this.sampleSql = sampleSql;
+        }
+
+        void executed(long nanos) {
+            latency.record(nanos);
+            if (nanos >= SLOW_QUERY_NANOS) addSlow(this, nanos);
+        }
+
+        void failed(long nanos) {
+            errors.increment();
+            executed(nanos);
+        }
+
+        void addRows(long n) {
+            if (n > 0) rows.add(n);
+        }
+    }
+
+    // Log-linear histogram of microseconds: 4 buckets per power of two (about 25% resolution),
+    // lock-free and fixed size
+    static final class Histogram {
+        private static final int BUCKETS = 160;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos) {
+            buckets.incrementAndGet(index(nanos / 1000));
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        static int index(long micros) {
+            if (micros < 4) return (int) Math.max(0, micros);
+            int msb = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (msb - 2)) & 3;
+            return Math.min(BUCKETS - 1, (msb - 1) * 4 + sub);
+        }
+
+        // Smallest value that falls in bucket i
+        static long lowerBound(int i) {
+            if (i < 4) return i;
+            int msb = i / 4 + 1;
+            return (4L + i % 4) << (msb - 2);
+        }
+
+        long count() {
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) n += buckets.get(i);
+            return n;
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+
+        // Percentiles are the upper bound of the bucket holding that rank
+        Summary summary() {
+            long[] copy = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = buckets.get(i);
+                count += copy[i];
+            }
+            long max = maxNanos.get() / 1000;
+            return new Summary(count, totalNanos.sum() / 1000, percentile(copy, count, 50, max),
+                    percentile(copy, count, 95, max), percentile(copy, count, 99, max), max);
+        }
+
+        private static long percentile(long[] counts, long total, int p, long max) {
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(p / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return i + 1 < counts.length ? Math.min(max, lowerBound(i + 1) - 1) : max;
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+// JMX view of JdbcStats, registered as hostlink:type=JdbcStats (see JConsole / VisualVM -> MBeans)
+public interface JdbcStatsMBean {
+    long getConnectionsOpened();
+    long getConnectFailures();
+    long getConnectP99Micros();
+    long getHoldP50Micros();
+    long getHoldP99Micros();
+    long getCommits();
+    long getRollbacks();
+    int getStatementCount();
+
+    // One line per SQL fingerprint, by total time spent, highest first
+    String[] getTopStatements();
+
+    // Most recent statements slower than DB_SLOW_QUERY_MS, newest first
+    String[] getSlowQueries();
+
+    void reset();
+}
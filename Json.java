@@ -0,0 +1,125 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Minimal JSON helpers: string escaping for writers, and a parser for the flat
+// one-object-per-line records used by the bulk importer (no nested objects/arrays).
+public final class Json {
+    private Json() {}
+
+    public static String quote(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        appendQuoted(sb, s);
+        return sb.toString();
+    }
+
+    public static void appendQuoted(StringBuilder sb, CharSequence s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    // Parse {"key": value, ...} where values are strings, numbers, booleans or null. Values come back as strings (null stays null).
+    public static Map<String, String> parseFlatObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, String> out = new LinkedHashMap<>();
+        p.skipWs();
+        p.expect('{');
+        p.skipWs();
+        if (p.peek() == '}') {
+            p.pos++;
+            return out;
+        }
+        while (true) {
+            p.skipWs();
+            String key = p.string();
+            p.skipWs();
+            p.expect(':');
+            p.skipWs();
+            out.put(key, p.value());
+            p.skipWs();
+            char c = p.next();
+            if (c == '}') break;
+            if (c != ',') throw new IllegalArgumentException("Expected ',' or '}' at position " + (p.pos - 1));
+        }
+        p.skipWs();
+        if (p.pos < text.length()) throw new IllegalArgumentException("Unexpected trailing content at position " + p.pos);
+        return out;
+    }
+
+    private static final class Parser {
+        final String s;
+        int pos;
+
+        Parser(String s) { this.s = s; }
+
+        char peek() {
+            if (pos >= s.length()) throw new IllegalArgumentException("Unexpected end of JSON");
+            return s.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char c) {
+            if (next() != c) throw new IllegalArgumentException("Expected '" + c + "' at position " + (pos - 1));
+        }
+
+        void skipWs() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        String value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '{' || c == '[') throw new IllegalArgumentException("Nested values are not supported (position " + pos + ")");
+            int start = pos;
+            while (pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0) pos++;
+            String token = s.substring(start, pos);
+            if (token.isEmpty()) throw new IllegalArgumentException("Missing value at position " + start);
+            return token.equals("null") ? null : token;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = next();
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > s.length()) throw new IllegalArgumentException("Bad unicode escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Versioned schema migrations. Scripts live in ./migrations as V<version>__<description>.sql,
+// written in PostgreSQL syntax and translated per backend by DialectTranslator. Applied
+// versions and their SHA-256 checksums are recorded in schema_version; when the recorded
+// versions match the scripts on disk, migrate() is a single query.
+// Pending migrations are applied under a migration lock (a PostgreSQL advisory lock; H2 files
+// are locked to one process anyway), and each one is all-or-nothing: PostgreSQL rolls its DDL
+// back, and on H2, where DDL commits immediately, the database is restored from a SCRIPT dump
+// taken just before the migration started.
+//   java -cp ".;lib\*" MigrationEngine [status]   show applied/pending migrations on the active backend
+public class MigrationEngine {
+    static final String VERSION_TABLE = "schema_version";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    // hostlinkDB.sql, which predates migrations, corresponds to V1 (tables), V2 (seed data) and V3 (views)
+    static final int LEGACY_BASELINE_VERSION = 3;
+    // pg_advisory_lock key shared by every process migrating the same database
+    private static final long PG_LOCK_KEY = 0x484f53544c4e4bL;
+    private static final long LOCK_TIMEOUT_MS = Long.parseLong(System.getenv().getOrDefault("MIGRATION_LOCK_TIMEOUT_MS", "60000"));
+
+    public record Migration(int version, String description, String script, String checksum) {}
+
+    private final Path directory;
+    private List<Migration> migrations;
+
+    public MigrationEngine(Path directory) {
+        this.directory = directory;
+    }
+
+    // Scripts on disk, ordered by version (read once and cached)
+    public synchronized List<Migration> migrations() throws IOException {
+        if (migrations != null) return migrations;
+        List<Migration> found = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "V*__*.sql")) {
+                for (Path f : files) {
+                    Matcher m = FILE_NAME.matcher(f.getFileName().toString());
+                    if (!m.matches()) continue;
+                    // Normalize line endings so Windows and Unix checkouts produce the same checksum
+                    String script = Files.readString(f, StandardCharsets.UTF_8).replace("\r\n", "\n");
+                    found.add(new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '), script, sha256(script)));
+                }
+            }
+        }
+        found.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < found.size(); i++) {
+            if (found.get(i).version() == found.get(i - 1).version()) throw new IOException("Duplicate migration version V" + found.get(i).version());
+        }
+        migrations = Collections.unmodifiableList(found);
+        return migrations;
+    }
+
+    public int latestVersion() throws IOException {
+        List<Migration> all = migrations();
+        return all.isEmpty() ? 0 : all.get(all.size() - 1).version();
+    }
+
+    // Identifies the full set of scripts; used to name H2 snapshots
+    public String fingerprint() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Migration m : migrations()) sb.append(m.version()).append(':').append(m.checksum()).append('\n');
+        return sha256(sb.toString()).substring(0, 16);
+    }
+
+    // Apply pending migrations; returns how many were applied (0 when the schema is current)
+    public int migrate(Connection conn, Dialect dialect) throws SQLException, IOException {
+        List<Migration> all = migrations();
+        Map<Integer, String> applied = appliedVersions(conn);
+        if (applied != null && !hasPending(all, applied)) {
+            validate(all, applied);
+            return 0;
+        }
+        synchronized (this) {
+            lock(conn, dialect);
+            try {
+                // Re-read under the lock: another process may have migrated while we waited
+                applied = appliedVersions(conn);
+                if (applied == null) {
+                    createVersionTable(conn);
+                    applied = new HashMap<>();
+                    if (tableExists(conn, "UserAccount")) {
+                        // Database was created from hostlinkDB.sql before migrations existed
+                        baseline(conn, all, LEGACY_BASELINE_VERSION);
+                        applied = appliedVersions(conn);
+                    }
+                }
+                validate(all, applied);
+
+                int count = 0;
+                for (Migration m : all) {
+                    if (applied.containsKey(m.version())) continue;
+                    apply(conn, dialect, m);
+                    count++;
+                }
+                return count;
+            } finally {
+                unlock(conn, dialect);
+            }
+        }
+    }
+
+    private static boolean hasPending(List<Migration> all, Map<Integer, String> applied) {
+        for (Migration m : all) {
+            if (!applied.containsKey(m.version())) return true;
+        }
+        return false;
+    }
+
+    // Waits up to MIGRATION_LOCK_TIMEOUT_MS for other processes migrating the same PostgreSQL database
+    private static void lock(Connection conn, Dialect dialect) throws SQLException {
+        if (dialect != Dialect.POSTGRESQL) return;
+        long deadline = System.nanoTime() + LOCK_TIMEOUT_MS * 1_000_000L;
+        try (PreparedStatement pst = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            pst.setLong(1, PG_LOCK_KEY);
+            while (true) {
+                try (ResultSet rs = pst.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) return;
+                }
+                if (System.nanoTime() > deadline) throw new SQLException("Timed out after " + LOCK_TIMEOUT_MS + " ms waiting for another process to finish migrating");
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for the migration lock", ie);
+                }
+            }
+        }
+    }
+
+    private static void unlock(Connection conn, Dialect dialect) {
+        if (dialect != Dialect.POSTGRESQL) return;
+        try (PreparedStatement pst = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            pst.setLong(1, PG_LOCK_KEY);
+            pst.executeQuery().close();
+        } catch (SQLException ex) {
+            System.err.println("Could not release the migration lock: " + ex.getMessage());
+        }
+    }
+
+    // Recorded checksums must match the scripts: an edited, already-applied migration is an error
+    private static void validate(List<Migration> all, Map<Integer, String> applied) throws SQLException {
+        for (Migration m : all) {
+            String recorded = applied.get(m.version());
+            if (recorded != null && !recorded.equals(m.checksum()) && !recorded.equals("baseline")) {
+                throw new SQLException("Migration V" + m.version() + " (" + m.description() + ") was modified after it was applied (checksum mismatch)");
+            }
+        }
+    }
+
+    private void apply(Connection conn, Dialect dialect, Migration m) throws SQLException {
+        long t0 = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        Path dump = dialect == Dialect.H2 ? dumpH2(conn) : null;
+        boolean keepDump = false;
+        List<List<SqlTokenizer.Token>> statements = SqlTokenizer.statements(m.script());
+        try (Statement st = conn.createStatement()) {
+            for (List<SqlTokenizer.Token> tokens : statements) {
+                String sql = DialectTranslator.translate(tokens, dialect);
+                try {
+                    st.execute(sql);
+                } catch (SQLException ex) {
+                    throw new SQLException("Migration V" + m.version() + " failed: " + ex.getMessage() + "\nStatement: " + sql, ex.getSQLState(), ex);
+                }
+            }
+            record(conn, m, m.checksum(), (System.nanoTime() - t0) / 1_000_000);
+            conn.commit();
+            System.out.println("Applied migration V" + m.version() + " (" + m.description() + ", " + statements.size() + " statements)");
+        } catch (SQLException ex) {
+            try { conn.rollback(); } catch (SQLException ignore) {}
+            if (dump != null) keepDump = !restoreH2(conn, dump, m, ex);
+            throw ex;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+            if (dump != null && !keepDump) {
+                try { Files.deleteIfExists(dump); } catch (IOException ignore) {}
+            }
+        }
+    }
+
+    // H2 commits each DDL statement, so rollback() cannot undo a half-applied migration; dump the whole database first
+    private static Path dumpH2(Connection conn) throws SQLException {
+        Path dump;
+        try {
+            dump = Files.createTempFile("hostlink-migration-", ".sql");
+        } catch (IOException ex) {
+            throw new SQLException("Cannot create a file for the pre-migration dump: " + ex.getMessage(), ex);
+        }
+        try (Statement st = conn.createStatement()) {
+            st.execute("SCRIPT TO '" + quote(dump) + "'");
+        }
+        return dump;
+    }
+
+    // False when the restore itself failed; the dump is then kept for a manual RUNSCRIPT
+    private static boolean restoreH2(Connection conn, Path dump, Migration m, SQLException failure) {
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+            st.execute("RUNSCRIPT FROM '" + quote(dump) + "'");
+            conn.commit();
+            System.err.println("Migration V" + m.version() + " failed; database restored to its state before the migration");
+            return true;
+        } catch (SQLException ex) {
+            failure.addSuppressed(ex);
+            System.err.println("Migration V" + m.version() + " failed and the database could not be restored (" + ex.getMessage()
+                    + "); restore it with RUNSCRIPT FROM '" + dump.toAbsolutePath() + "'");
+            return false;
+        }
+    }
+
+    private static String quote(Path file) {
+        return file.toAbsolutePath().toString().replace("'", "''");
+    }
+
+    private static void baseline(Connection conn, List<Migration> all, int upTo) throws SQLException {
+        for (Migration m : all) {
+            if (m.version() <= upTo) record(conn, m, "baseline", 0);
+        }
+        System.out.println("Existing schema found: recorded migrations up to V" + upTo + " as baseline");
+    }
+
+    private static void record(Connection conn, Migration m, String checksum, long millis) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement("INSERT INTO " + VERSION_TABLE + " (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            pst.setInt(1, m.version());
+            pst.setString(2, m.description());
+            pst.setString(3, checksum);
+            pst.setLong(4, millis);
+            pst.executeUpdate();
+        }
+    }
+
+    // version -> checksum, or null when the version table does not exist yet
+    static Map<Integer, String> appliedVersions(Connection conn) throws SQLException {
+        if (!tableExists(conn, VERSION_TABLE)) return null;
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM " + VERSION_TABLE)) {
+            while (rs.next()) applied.put(rs.getInt(1), rs.getString(2));
+        }
+        return applied;
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE " + VERSION_TABLE + " (version INT PRIMARY KEY, description VARCHAR(200) NOT NULL, checksum VARCHAR(64) NOT NULL, "
+                    + "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, execution_ms BIGINT)");
+        }
+        if (!conn.getAutoCommit()) conn.commit();
+    }
+
+    // Unquoted identifiers fold to upper case in H2 and lower case in PostgreSQL; check both
+    static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData md = conn.getMetaData();
+        for (String name : new String[]{table.toUpperCase(), table.toLowerCase(), table}) {
+            try (ResultSet rs = md.getTables(null, null, name, new String[]{"TABLE"})) {
+                if (rs.next()) return true;
+            }
+        }
+        return false;
+    }
+
+    static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(64);
+            for (byte b : digest) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        MigrationEngine engine = DBConnection.migrations();
+        try (Connection conn = DBConnection.connect()) {
+            if (conn == null) {
+                System.out.println("Result: null connection (failed to connect)");
+                return;
+            }
+            Map<Integer, String> applied = appliedVersions(conn);
+            System.out.println("Backend: " + conn.getMetaData().getDatabaseProductName() + ", scripts fingerprint " + engine.fingerprint());
+            for (Migration m : engine.migrations()) {
+                String state = applied == null || !applied.containsKey(m.version()) ? "pending" : "applied";
+                System.out.println("V" + m.version() + " " + m.description() + ": " + state);
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,77 @@
+import java.math.BigDecimal;
+import java.sql.*;
+
+// JDBC access for payments. Keeps the host revenue rollup in step with every change.
+public class PaymentRepository {
+    static final String SQL_INSERT = "INSERT INTO Payment (booking_id, payTotalAmount, paymentMethod, paymentStatus, tourist_id) SELECT booking_id, ?, ?, ?, tourist_id FROM Booking WHERE booking_id = ?";
+
+    private final BookingAggregates aggregates;
+
+    public PaymentRepository(BookingAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    // Record the payment of a booking; returns the payment id
+    public int recordPayment(Connection conn, int bookingId, BigDecimal amount, String method, String status) throws SQLException {
+        return inTransaction(conn, () -> {
+            int paymentId = -1;
+            try (PreparedStatement pst = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                pst.setBigDecimal(1, amount);
+                pst.setString(2, method);
+                pst.setString(3, status);
+                pst.setInt(4, bookingId);
+                if (pst.executeUpdate() == 0) throw new SQLException("Booking " + bookingId + " does not exist");
+                try (ResultSet rs = pst.getGeneratedKeys()) {
+                    if (rs != null && rs.next()) paymentId = rs.getInt(1);
+                }
+            }
+            if ("Completed".equals(status)) aggregates.paymentChanged(conn, bookingId, amount, true);
+            return paymentId;
+        });
+    }
+
+    public void updateStatus(Connection conn, int paymentId, String status) throws SQLException {
+        inTransaction(conn, () -> {
+            int bookingId;
+            BigDecimal amount;
+            String old;
+            try (PreparedStatement pst = conn.prepareStatement("SELECT booking_id, payTotalAmount, paymentStatus FROM Payment WHERE payment_id = ? FOR UPDATE")) {
+                pst.setInt(1, paymentId);
+                try (ResultSet rs = pst.executeQuery()) {
+                    if (!rs.next()) throw new SQLException("Payment " + paymentId + " does not exist");
+                    bookingId = rs.getInt(1);
+                    amount = rs.getBigDecimal(2);
+                    old = rs.getString(3);
+                }
+            }
+            try (PreparedStatement pst = conn.prepareStatement("UPDATE Payment SET paymentStatus = ? WHERE payment_id = ?")) {
+                pst.setString(1, status);
+                pst.setInt(2, paymentId);
+                pst.executeUpdate();
+            }
+            boolean wasCounted = "Completed".equals(old);
+            boolean counted = "Completed".equals(status);
+            if (wasCounted != counted) aggregates.paymentChanged(conn, bookingId, amount, counted);
+            return null;
+        });
+    }
+
+    private interface Tx<T> {
+        T run() throws SQLException;
+    }
+
+    private static <T> T inTransaction(Connection conn, Tx<T> tx) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            T result = tx.run();
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException ex) {
+            try { conn.rollback(); } catch (SQLException ignore) {}
+            throw ex;
+        } finally {
+            try { conn.setAutoCommit(autoCommit); } catch (SQLException ignore) {}
+        }
+    }
+}
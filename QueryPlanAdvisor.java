@@ -0,0 +1,535 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Query-plan capture and index advisor (H2 and PostgreSQL).
+//   java -cp ".;lib\*" QueryPlanAdvisor [--capture sql.txt] [--no-workload] [--snapshots plans] [--fail-on-change]
+//                                      [--verify [--runs N] [--keep-indexes]] [--rebuild-rollups]
+// 1. Statements: the read paths of the application are run once (repositories, reports, search index load, export) and every
+//    SQL statement they issue is taken from the JDBC instrumentation (JdbcStats). --capture adds the statements recorded by a
+//    real session started with DB_SQL_CAPTURE_FILE=sql.txt (GUI or HTTP server), which covers the write paths.
+// 2. Plans: EXPLAIN each statement with representative parameter values and flag full scans of large tables (at least
+//    PLAN_LARGE_TABLE_ROWS rows, default 10000), nested-loop joins that scan a large table, and sorts of a large scan.
+// 3. Snapshots: plans are written to <snapshots>/<dialect>/V<schema version>/, one file per statement, without costs and
+//    row estimates, and compared with the latest earlier snapshot; changed plans are listed (exit code 3 with --fail-on-change).
+// 4. Indexes: every foreign key whose columns do not lead an index is proposed. Only with --verify is each proposal verified
+//    by timing the statements that touch its table (median of --runs executions, writes rolled back but still run, so they
+//    take row locks and fire cascades), creating the index, and timing and explaining them again. The index is dropped
+//    afterwards unless --keep-indexes. Without --verify the tool only reads, so it is safe against a production database;
+//    --verify is for a copy or a development database.
+// H2 indexes foreign keys by itself, so proposals normally only appear on PostgreSQL; H2 plans are still captured and flagged.
+public class QueryPlanAdvisor {
+    static final long LARGE_TABLE_ROWS = Long.parseLong(System.getenv().getOrDefault("PLAN_LARGE_TABLE_ROWS", "10000"));
+
+    public enum Issue { FULL_SCAN, NESTED_LOOP_SCAN, SORT }
+
+    public record Finding(Issue issue, String table) {
+        @Override
+        public String toString() { return issue + (table == null ? "" : " " + table); }
+    }
+
+    public record Plan(String text, List<Finding> findings) {}
+
+    // An unindexed foreign key and the index that would cover it
+    public record Proposal(String table, List<String> columns) {
+        String indexName() { return ("idx_" + table + "_" + String.join("_", columns)).toLowerCase(); }
+
+        String ddl() { return "CREATE INDEX " + indexName() + " ON " + table + " (" + String.join(", ", columns) + ")"; }
+    }
+
+    public record Verification(Proposal proposal, int statements, double beforeMs, double afterMs, int plansChanged) {
+        // At least 20% faster; a changed plan only counts when the statements could not be timed
+        boolean helps() { return beforeMs > 0 ? afterMs < beforeMs * 0.8 : plansChanged > 0; }
+
+        @Override
+        public String toString() {
+            return String.format("%-55s statements=%d  %.1f ms -> %.1f ms  plans changed=%d  %s", proposal.ddl(), statements,
+                    beforeMs, afterMs, plansChanged, statements == 0 ? "(no recorded statement uses it)" : helps() ? "RECOMMENDED" : "no gain");
+        }
+    }
+
+    private final Connection conn;
+    private final Dialect dialect;
+    private final Map<String, Long> tableRows = new HashMap<>(); // lower-case table name -> row count
+
+    public QueryPlanAdvisor(Connection conn) throws SQLException {
+        this.conn = conn;
+        this.dialect = Dialect.of(conn);
+        for (String table : tables()) {
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                rs.next();
+                tableRows.put(table.toLowerCase(), rs.getLong(1));
+            }
+        }
+    }
+
+    private List<String> tables() throws SQLException {
+        List<String> out = new ArrayList<>();
+        try (ResultSet rs = conn.getMetaData().getTables(null, conn.getSchema(), "%", new String[]{"TABLE"})) {
+            while (rs.next()) out.add(rs.getString("TABLE_NAME"));
+        }
+        return out;
+    }
+
+    private boolean large(String table) {
+        return tableRows.getOrDefault(table.toLowerCase(), 0L) >= LARGE_TABLE_ROWS;
+    }
+
+    // Statements worth explaining: queries and writes that read rows (plain INSERT ... VALUES has nothing to plan)
+    static boolean explainable(String sql) {
+        String s = sql.trim().toUpperCase();
+        if (s.startsWith("SELECT") || s.startsWith("WITH") || s.startsWith("UPDATE") || s.startsWith("DELETE")) return true;
+        return s.startsWith("INSERT") && s.contains("SELECT");
+    }
+
+    // --- Parameters ---
+
+    // Representative values by declared parameter type. H2 reports untyped parameters (e.g. LIMIT ?) as VARCHAR,
+    // so strings are numeric-looking and convert either way.
+    private void bind(PreparedStatement target, String sql) throws SQLException {
+        int count;
+        int[] types;
+        try (PreparedStatement probe = conn.prepareStatement(sql)) {
+            ParameterMetaData md = probe.getParameterMetaData();
+            count = md.getParameterCount();
+            types = new int[count];
+            for (int i = 0; i < count; i++) {
+                try {
+                    types[i] = md.getParameterType(i + 1);
+                } catch (SQLException ex) {
+                    types[i] = Types.VARCHAR;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int p = i + 1;
+            switch (types[i]) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> target.setInt(p, 100);
+                case Types.BIGINT -> target.setLong(p, 100);
+                case Types.DECIMAL, Types.NUMERIC, Types.REAL, Types.FLOAT, Types.DOUBLE -> target.setBigDecimal(p, java.math.BigDecimal.valueOf(100));
+                case Types.DATE -> target.setDate(p, java.sql.Date.valueOf(java.time.LocalDate.now()));
+                case Types.TIME -> target.setTime(p, Time.valueOf("12:00:00"));
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> target.setTimestamp(p, Timestamp.valueOf(java.time.LocalDate.now().atStartOfDay()));
+                case Types.BOOLEAN, Types.BIT -> target.setBoolean(p, true);
+                default -> target.setString(p, "100");
+            }
+        }
+    }
+
+    // --- Plans ---
+
+    public Plan explain(String sql) throws SQLException {
+        String prefix = dialect == Dialect.POSTGRESQL ? "EXPLAIN (COSTS OFF) " : "EXPLAIN ";
+        StringBuilder text = new StringBuilder();
+        try (PreparedStatement pst = conn.prepareStatement(prefix + sql)) {
+            bind(pst, sql);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) text.append(rs.getString(1)).append('\n');
+            }
+        } finally {
+            // PostgreSQL aborts the transaction on an error; EXPLAIN itself writes nothing
+            if (!conn.getAutoCommit()) conn.rollback();
+        }
+        String plan = normalize(text.toString());
+        return new Plan(plan, dialect == Dialect.POSTGRESQL ? findingsPostgres(plan) : findingsH2(plan, sql));
+    }
+
+    // Drop run-dependent details so snapshots only change when the plan shape does
+    static String normalize(String plan) {
+        return plan.replaceAll("(?m)^\\s*/\\* scanCount: \\d+ \\*/\\n", "")
+                .replaceAll("\\s*\\((?:cost|actual time|rows)=[^)]*\\)", "")
+                .replaceAll("(?m)^(Planning|Execution) Time:.*\\n?", "")
+                .replaceAll("[ \\t]+\\n", "\n");
+    }
+
+    private static final Pattern H2_ACCESS = Pattern.compile("^/\\* ([\\w.\"]+?)(?::| \\*/)");
+
+    // What a plan change is judged by: join order, access path per table (scan or index name) and how rows are joined
+    // or sorted. Filter details are left out; H2 prints the conditions of one plan in varying order.
+    static String shape(String plan, Dialect dialect) {
+        List<String> parts = new ArrayList<>();
+        for (String line : plan.split("\n")) {
+            String t = line.trim();
+            if (dialect == Dialect.POSTGRESQL) {
+                if (line.equals(line.stripLeading()) && !t.isEmpty() || t.startsWith("->")) parts.add(t.replaceFirst("^->\\s*", ""));
+            } else if (H2_CLAUSE.matcher(line).find()) {
+                parts.add(t);
+            } else if (t.contains("index sorted")) {
+                parts.add("index sorted");
+            } else {
+                Matcher m = H2_ACCESS.matcher(t);
+                if (m.find()) parts.add(m.group(1));
+            }
+        }
+        return String.join(" | ", parts);
+    }
+
+    private static final Pattern H2_SCAN = Pattern.compile("/\\* (?:\\w+\\.)?(\\w+)\\.tableScan");
+    private static final Pattern H2_CLAUSE = Pattern.compile("(?m)^\\s*(FROM|(?:INNER |LEFT OUTER |RIGHT OUTER |CROSS )?JOIN) ");
+
+    // H2 joins are always nested loops: a scan at the FROM position is a full scan, a scan at a JOIN position is
+    // repeated for every outer row. An ORDER BY over such a scan that no index serves ("index sorted") sorts the
+    // whole result before any LIMIT.
+    List<Finding> findingsH2(String plan, String sql) {
+        List<Finding> out = new ArrayList<>();
+        Matcher m = H2_SCAN.matcher(plan);
+        while (m.find()) {
+            String table = m.group(1);
+            if (!large(table)) continue;
+            String clause = "FROM";
+            Matcher c = H2_CLAUSE.matcher(plan.substring(0, m.start()));
+            while (c.find()) clause = c.group(1);
+            Finding f = new Finding(clause.endsWith("JOIN") ? Issue.NESTED_LOOP_SCAN : Issue.FULL_SCAN, table.toUpperCase());
+            if (!out.contains(f)) out.add(f);
+        }
+        if (!out.isEmpty() && sql.toUpperCase().contains("ORDER BY") && !plan.contains("index sorted")) {
+            out.add(new Finding(Issue.SORT, out.get(0).table()));
+        }
+        return out;
+    }
+
+    private static final Pattern PG_SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    // Walk the indented plan tree: a Seq Scan on a large table is a full scan, and also counts against every
+    // Nested Loop or Sort above it
+    List<Finding> findingsPostgres(String plan) {
+        List<Finding> out = new ArrayList<>();
+        String[] lines = plan.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            Matcher m = PG_SEQ_SCAN.matcher(lines[i]);
+            if (!m.find() || !large(m.group(1))) continue;
+            String table = m.group(1).toUpperCase();
+            Finding scan = new Finding(Issue.FULL_SCAN, table);
+            if (!out.contains(scan)) out.add(scan);
+            int depth = depth(lines[i]);
+            for (int j = i - 1; j >= 0; j--) {
+                int d = depth(lines[j]);
+                if (d >= depth) continue;
+                depth = d;
+                String node = lines[j].trim().replaceFirst("^->\\s*", "");
+                Issue issue = node.startsWith("Nested Loop") ? Issue.NESTED_LOOP_SCAN
+                        : node.startsWith("Sort") || node.startsWith("Incremental Sort") ? Issue.SORT : null;
+                Finding f = issue == null ? null : new Finding(issue, table);
+                if (f != null && !out.contains(f)) out.add(f);
+            }
+        }
+        return out;
+    }
+
+    private static int depth(String line) {
+        int arrow = line.indexOf("->");
+        if (arrow >= 0) return arrow;
+        int i = 0; // detail lines ("Filter: ...") are indented past their node's arrow
+        while (i < line.length() && line.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    // --- Timing ---
+
+    // Median wall time of runs executions (after one warm-up); each run is rolled back. NaN if the statement fails.
+    public double measure(String sql, int runs) {
+        boolean autoCommit;
+        try {
+            autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+        } catch (SQLException ex) {
+            return Double.NaN;
+        }
+        try {
+            double[] ms = new double[runs];
+            for (int r = -1; r < runs; r++) {
+                long t0 = System.nanoTime();
+                try (PreparedStatement pst = conn.prepareStatement(sql)) {
+                    bind(pst, sql);
+                    if (pst.execute()) {
+                        try (ResultSet rs = pst.getResultSet()) {
+                            while (rs.next()) { /* fetch every row */ }
+                        }
+                    }
+                } finally {
+                    conn.rollback();
+                }
+                if (r >= 0) ms[r] = (System.nanoTime() - t0) / 1e6;
+            }
+            Arrays.sort(ms);
+            return ms[runs / 2];
+        } catch (SQLException ex) {
+            return Double.NaN;
+        } finally {
+            try { conn.setAutoCommit(autoCommit); } catch (SQLException ignore) {}
+        }
+    }
+
+    // --- Index proposals ---
+
+    // Foreign keys whose first column does not lead any index (primary keys and unique constraints included)
+    public List<Proposal> proposals() throws SQLException {
+        List<Proposal> out = new ArrayList<>();
+        DatabaseMetaData md = conn.getMetaData();
+        String schema = conn.getSchema();
+        for (String table : tables()) {
+            Set<String> leading = new HashSet<>();
+            try (ResultSet rs = md.getIndexInfo(null, schema, table, false, true)) {
+                while (rs.next()) {
+                    if (rs.getShort("ORDINAL_POSITION") == 1 && rs.getString("COLUMN_NAME") != null) leading.add(rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+            Map<String, TreeMap<Short, String>> keys = new LinkedHashMap<>();
+            try (ResultSet rs = md.getImportedKeys(null, schema, table)) {
+                while (rs.next()) {
+                    String name = rs.getString("FK_NAME");
+                    keys.computeIfAbsent(name == null ? rs.getString("PKTABLE_NAME") : name, k -> new TreeMap<>())
+                            .put(rs.getShort("KEY_SEQ"), rs.getString("FKCOLUMN_NAME"));
+                }
+            }
+            for (TreeMap<Short, String> key : keys.values()) {
+                List<String> columns = new ArrayList<>(key.values());
+                if (!leading.contains(columns.get(0).toLowerCase())) out.add(new Proposal(table, columns));
+            }
+        }
+        return out;
+    }
+
+    // Statements a proposal can help: they were flagged on its table, or they name its table and first column
+    private List<String> affected(Proposal p, Map<String, Plan> plans) {
+        List<String> out = new ArrayList<>();
+        Pattern table = Pattern.compile("\\b" + Pattern.quote(p.table().toLowerCase()) + "\\b");
+        String column = p.columns().get(0).toLowerCase();
+        for (Map.Entry<String, Plan> e : plans.entrySet()) {
+            boolean flagged = e.getValue().findings().stream().anyMatch(f -> p.table().equalsIgnoreCase(f.table()));
+            String sql = e.getKey().toLowerCase();
+            if (flagged || (table.matcher(sql).find() && sql.contains(column))) out.add(e.getKey());
+        }
+        return out;
+    }
+
+    public Verification verify(Proposal p, Map<String, Plan> plans, int runs, boolean keep) throws SQLException {
+        List<String> statements = affected(p, plans);
+        double before = 0;
+        for (String sql : statements) before += nanToZero(measure(sql, runs));
+        // CONCURRENTLY so table writes are not blocked while the index is built or dropped (needs auto-commit)
+        String concurrently = dialect == Dialect.POSTGRESQL ? " CONCURRENTLY" : "";
+        execute(p.ddl().replaceFirst("^CREATE INDEX", "CREATE INDEX" + concurrently));
+        double after = 0;
+        int changed = 0;
+        try {
+            if (dialect == Dialect.POSTGRESQL) execute("ANALYZE " + p.table());
+            for (String sql : statements) {
+                after += nanToZero(measure(sql, runs));
+                if (!shape(explain(sql).text(), dialect).equals(shape(plans.get(sql).text(), dialect))) changed++;
+            }
+        } finally {
+            if (!keep) execute("DROP INDEX" + concurrently + " " + p.indexName());
+        }
+        return new Verification(p, statements.size(), before, after, changed);
+    }
+
+    private static double nanToZero(double v) {
+        return Double.isNaN(v) ? 0 : v;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+        if (!conn.getAutoCommit()) conn.commit();
+    }
+
+    // --- Snapshots ---
+
+    static String snapshotName(String sql) {
+        return String.format("%08x.plan", JdbcStats.fingerprint(sql).hashCode());
+    }
+
+    // Write this run's plans and return the statements whose plan differs from the latest earlier snapshot
+    static List<String> snapshot(Path root, Dialect dialect, int schemaVersion, Map<String, Plan> plans) throws IOException {
+        Path base = root.resolve(dialect.name().toLowerCase());
+        Path dir = base.resolve("V" + schemaVersion);
+        Path previous = null;
+        if (Files.isDirectory(base)) {
+            try (DirectoryStream<Path> versions = Files.newDirectoryStream(base, "V*")) {
+                int best = -1;
+                for (Path v : versions) {
+                    int n;
+                    try {
+                        n = Integer.parseInt(v.getFileName().toString().substring(1));
+                    } catch (NumberFormatException ex) {
+                        continue;
+                    }
+                    if (n <= schemaVersion && n > best) {
+                        best = n;
+                        previous = v;
+                    }
+                }
+            }
+        }
+        List<String> changed = new ArrayList<>();
+        if (previous != null) {
+            for (Map.Entry<String, Plan> e : plans.entrySet()) {
+                Path old = previous.resolve(snapshotName(e.getKey()));
+                if (!Files.exists(old)) continue;
+                List<String> lines = Files.readAllLines(old, StandardCharsets.UTF_8);
+                String oldShape = lines.size() > 1 ? lines.get(1) : "";
+                if (!oldShape.equals(shapeLine(dialect, e.getValue()))) changed.add(e.getKey());
+            }
+            System.out.println("Compared with " + previous + ": " + changed.size() + " plan(s) changed");
+        }
+        Files.createDirectories(dir);
+        for (Map.Entry<String, Plan> e : plans.entrySet()) {
+            Files.writeString(dir.resolve(snapshotName(e.getKey())), snapshotText(dialect, e.getKey(), e.getValue()), StandardCharsets.UTF_8);
+        }
+        System.out.println("Plan snapshots written to " + dir);
+        return changed;
+    }
+
+    // Fingerprint, shape (compared between runs) and the full plan (for reading)
+    private static String snapshotText(Dialect dialect, String sql, Plan plan) {
+        return "-- " + JdbcStats.fingerprint(sql) + "\n" + shapeLine(dialect, plan) + "\n" + plan.text();
+    }
+
+    private static String shapeLine(Dialect dialect, Plan plan) {
+        return "-- shape: " + shape(plan.text(), dialect);
+    }
+
+    // --- Workload ---
+
+    // The application's read paths, so their SQL is recorded by JdbcStats. Nothing is written unless rebuildRollups,
+    // which rebuilds the report rollups from the same data first (only for a database you may write to).
+    static void runWorkload(Connection conn, boolean rebuildRollups) throws SQLException, IOException {
+        ActivityRepository activities = new ActivityRepository();
+        List<ActivityDetail> firstPage = activities.pageActivityDetails(conn, ActivityRepository.SortColumn.ID, true, null, null, 0, 200);
+        int someId = firstPage.isEmpty() ? 1 : firstPage.get(firstPage.size() / 2).activityId();
+        ActivityDetail some = activities.findDetail(conn, someId);
+        if (some != null) {
+            activities.findDetailsByHost(conn, some.hostId());
+            if (some.location() != null) activities.findDetailsByLocation(conn, some.location());
+            if (some.date() != null) activities.findDetailsByDate(conn, some.date());
+        }
+        activities.countActivityDetails(conn, null);
+        activities.countActivityDetails(conn, "tour");
+        for (ActivityRepository.SortColumn sort : ActivityRepository.SortColumn.values()) {
+            for (boolean asc : new boolean[]{true, false}) {
+                List<ActivityDetail> page = activities.pageActivityDetails(conn, sort, asc, null, null, 0, 200);
+                activities.pageActivityDetails(conn, sort, asc, "tour", null, 0, 200);
+                if (!page.isEmpty()) {
+                    activities.pageActivityDetails(conn, sort, asc, null, ActivityRepository.PageKey.after(sort, page.get(page.size() - 1)), 0, 200);
+                }
+            }
+        }
+        activities.pageActivityDetails(conn, ActivityRepository.SortColumn.ID, true, null, null, 400, 200);
+        activities.listRankedDetails(conn);
+        activities.listActivityDetails(conn);
+        activities.forEachSearchDocument(conn, (d, description) -> {});
+
+        BookingAggregates aggregates = new BookingAggregates();
+        if (rebuildRollups) aggregates.rebuild(conn);
+        aggregates.topHostsByRevenue(conn, 100);
+        aggregates.topActivitiesByFill(conn, 100);
+        aggregates.bookingsPerDay(conn, 30);
+
+        Path tmp = Files.createTempFile("hostlink-export", ".csv");
+        try {
+            java.time.LocalDate today = java.time.LocalDate.now();
+            new DataExporter().export(conn, DataExporter.Source.BOOKINGS, DataExporter.Format.CSV, today.minusDays(30), today, tmp, null);
+            new DataExporter().export(conn, DataExporter.Source.ACTIVITIES, DataExporter.Format.CSV, today, today.plusDays(30), tmp, null);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path capture = null;
+        boolean workload = true;
+        Path snapshots = Paths.get("plans");
+        int runs = 3;
+        boolean keep = false;
+        boolean failOnChange = false;
+        boolean rebuildRollups = false;
+        boolean verify = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--capture": capture = Paths.get(args[++i]); break;
+                case "--no-workload": workload = false; break;
+                case "--snapshots": snapshots = Paths.get(args[++i]); break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "--keep-indexes": keep = true; break;
+                case "--fail-on-change": failOnChange = true; break;
+                case "--rebuild-rollups": rebuildRollups = true; break;
+                case "--verify": verify = true; break;
+                default:
+                    System.err.println("Usage: QueryPlanAdvisor [--capture sql.txt] [--no-workload] [--snapshots plans] [--fail-on-change] [--verify [--runs N] [--keep-indexes]] [--rebuild-rollups]");
+                    System.exit(2);
+            }
+        }
+        if (runs <= 0) throw new IllegalArgumentException("--runs must be > 0");
+        if (keep && !verify) throw new IllegalArgumentException("--keep-indexes needs --verify");
+        int exitCode = 0;
+        try (Connection conn = DBConnection.connect()) {
+            if (conn == null) throw new SQLException("Cannot connect to database");
+            Map<String, String> statements = new TreeMap<>(); // fingerprint -> SQL
+            if (workload) {
+                runWorkload(conn, rebuildRollups);
+                statements.putAll(JdbcStats.global().sampleStatements());
+            }
+            if (capture != null) {
+                for (String line : Files.readAllLines(capture, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) statements.putIfAbsent(JdbcStats.fingerprint(line), line);
+                }
+            }
+
+            QueryPlanAdvisor advisor = new QueryPlanAdvisor(conn);
+            System.out.println("Backend " + advisor.dialect + ", large tables (>= " + LARGE_TABLE_ROWS + " rows): "
+                    + advisor.tableRows.entrySet().stream().filter(e -> e.getValue() >= LARGE_TABLE_ROWS).map(e -> e.getKey() + "=" + e.getValue()).sorted().toList());
+            Map<String, Plan> plans = new LinkedHashMap<>(); // SQL -> plan
+            int flagged = 0;
+            for (String sql : statements.values()) {
+                if (!explainable(sql)) continue;
+                try {
+                    Plan plan = advisor.explain(sql);
+                    plans.put(sql, plan);
+                    if (!plan.findings().isEmpty()) {
+                        flagged++;
+                        System.out.println("  " + plan.findings() + "  " + JdbcStats.fingerprint(sql));
+                    }
+                } catch (SQLException ex) {
+                    System.out.println("  EXPLAIN failed (" + ex.getMessage().split("\n")[0] + "): " + JdbcStats.fingerprint(sql));
+                }
+            }
+            System.out.println(plans.size() + " statement(s) explained, " + flagged + " flagged");
+
+            List<String> changed = snapshot(snapshots, advisor.dialect, new MigrationEngine(Paths.get("migrations")).latestVersion(), plans);
+            for (String sql : changed) System.out.println("  PLAN CHANGED: " + JdbcStats.fingerprint(sql));
+            if (failOnChange && !changed.isEmpty()) exitCode = 3;
+
+            List<Proposal> proposals = advisor.proposals();
+            if (proposals.isEmpty()) System.out.println("Every foreign key is covered by an index.");
+            List<String> recommended = new ArrayList<>();
+            List<String> unverified = new ArrayList<>();
+            for (Proposal p : proposals) {
+                if (!verify) {
+                    unverified.add(p.ddl() + ";");
+                    continue;
+                }
+                Verification v = advisor.verify(p, plans, runs, keep);
+                System.out.println("  " + v);
+                if (v.statements() == 0) unverified.add(p.ddl() + ";");
+                else if (v.helps()) recommended.add(p.ddl() + ";");
+            }
+            if (!recommended.isEmpty()) {
+                System.out.println("Suggested migration" + (keep ? " (indexes were kept)" : "") + ":");
+                for (String ddl : recommended) System.out.println("  " + ddl);
+            }
+            if (!unverified.isEmpty()) {
+                // Without --verify nothing is timed; with it, these are the tables no recorded statement touches
+                System.out.println((verify ? "Unverified (no recorded statement to measure)" + (keep ? " (indexes were kept)" : "")
+                        : "Unverified (run with --verify against a copy or development database to time them)") + ":");
+                for (String ddl : unverified) System.out.println("  " + ddl);
+            }
+        }
+        System.exit(exitCode);
+    }
+}
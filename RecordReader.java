@@ -0,0 +1,169 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streams records (column name -> value) from a CSV file with a header row or a
+// JSON-lines file, one record at a time. Only the current record is held in memory.
+public abstract class RecordReader implements AutoCloseable {
+
+    // One input record and the line it started on
+    public record Row(long line, Map<String, String> values) {
+        public String get(String key) {
+            String v = values.get(key);
+            return v == null || v.isEmpty() ? null : v;
+        }
+    }
+
+    protected final BufferedReader in;
+    protected long line;
+
+    protected RecordReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    // Next record, or null at end of input. Malformed records throw IllegalArgumentException; reading can continue after it.
+    public abstract Row next() throws IOException;
+
+    // Line number of the last line read (for error reports)
+    public long currentLine() {
+        return line;
+    }
+
+    // .jsonl / .ndjson / .json are read as JSON lines, anything else as CSV
+    public static RecordReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) return new JsonLines(in);
+        return new Csv(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static final class JsonLines extends RecordReader {
+        JsonLines(BufferedReader in) { super(in); }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = in.readLine();
+                if (text == null) return null;
+                line++;
+            } while (text.isBlank());
+            return new Row(line, Json.parseFlatObject(text));
+        }
+    }
+
+    // RFC 4180 style: comma separated, double-quoted fields may contain commas, quotes ("") and newlines.
+    // A record may span at most MAX_RECORD_LINES lines / MAX_RECORD_CHARS characters, so a stray quote cannot pull
+    // the rest of the file into one field: the record is reported as malformed and reading resumes on the line
+    // after the one it started on.
+    static final class Csv extends RecordReader {
+        static final int MAX_RECORD_LINES = Integer.parseInt(System.getenv().getOrDefault("IMPORT_MAX_RECORD_LINES", "1000"));
+        static final int MAX_RECORD_CHARS = Integer.parseInt(System.getenv().getOrDefault("IMPORT_MAX_RECORD_CHARS", "1048576"));
+
+        private List<String> header;
+
+        Csv(BufferedReader in) { super(in); }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                List<String> h = readFields();
+                if (h == null) return null;
+                header = new ArrayList<>(h.size());
+                for (String col : h) header.add(col.trim());
+            }
+            List<String> fields;
+            long startLine;
+            do {
+                startLine = line + 1;
+                fields = readFields();
+                if (fields == null) return null;
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            if (fields.size() != header.size()) {
+                throw new IllegalArgumentException("expected " + header.size() + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) values.put(header.get(i), fields.get(i));
+            return new Row(startLine, values);
+        }
+
+        private List<String> readFields() throws IOException {
+            String text = in.readLine();
+            if (text == null) return null;
+            line++;
+            long firstLine = line;
+            long recordChars = text.length();
+            boolean marked = false;
+            List<String> fields = new ArrayList<>();
+            StringBuilder cur = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i >= text.length()) {
+                    if (!quoted) break;
+                    // Quoted field continues on the next physical line
+                    if (!marked) {
+                        in.mark(MAX_RECORD_CHARS + 2);
+                        marked = true;
+                    }
+                    String more = in.readLine();
+                    if (more == null) throw malformed(firstLine, "unterminated quoted field");
+                    line++;
+                    recordChars += more.length() + 2;
+                    if (line - firstLine >= MAX_RECORD_LINES || recordChars > MAX_RECORD_CHARS) {
+                        throw malformed(firstLine, "quoted field not closed within " + MAX_RECORD_LINES + " lines / " + MAX_RECORD_CHARS + " characters");
+                    }
+                    cur.append('\n');
+                    text = more;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            cur.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        cur.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(cur.toString());
+                    cur.setLength(0);
+                } else {
+                    cur.append(c);
+                }
+            }
+            fields.add(cur.toString());
+            return fields;
+        }
+
+        // Rewind to the line after the record's first line so the following records are still read.
+        // If one very long line outran the mark, the lines read so far are lost with the record.
+        private IllegalArgumentException malformed(long firstLine, String message) {
+            try {
+                in.reset();
+                line = firstLine;
+            } catch (IOException markLost) {
+                // keep reading from where we are
+            }
+            return new IllegalArgumentException(message);
+        }
+    }
+}
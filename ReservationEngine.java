@@ -0,0 +1,192 @@
+import java.sql.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Holds, confirms and cancels seats on activities without overselling.
+// The seat count is only ever changed by a conditional UPDATE (available >= requested),
+// in the same transaction as the Booking row, so concurrent clients cannot push
+// act_available_seats below zero. Optional per-activity lock striping serializes
+// requests for the same activity inside this process, and optional SeatCounters
+// reject sold-out requests before touching the database while their count is fresh.
+public class ReservationEngine {
+    static final String SQL_TAKE_SEATS = "UPDATE Activity SET act_available_seats = act_available_seats - ? WHERE activity_id = ? AND act_status = 'Active' AND act_available_seats >= ?";
+    static final String SQL_RETURN_SEATS = "UPDATE Activity SET act_available_seats = act_available_seats + ? WHERE activity_id = ?";
+    static final String SQL_INSERT_BOOKING = "INSERT INTO Booking (activity_id, tourist_id, bkg_Status, bkg_spotsReserved) VALUES (?, ?, 'Pending', ?)";
+    static final String SQL_AVAILABLE = "SELECT act_available_seats FROM Activity WHERE activity_id = ?";
+    static final String SQL_CONFIRM = "UPDATE Booking SET bkg_Status = 'Confirmed' WHERE booking_id = ? AND bkg_Status = 'Pending'";
+    static final String SQL_LOCK_BOOKING = "SELECT activity_id, bkg_spotsReserved, bkg_Status, bkg_Date FROM Booking WHERE booking_id = ? FOR UPDATE";
+    static final String SQL_CANCEL = "UPDATE Booking SET bkg_Status = 'Cancelled' WHERE booking_id = ?";
+
+    static final int MAX_ATTEMPTS = 5;
+    private static final int STRIPES = 64;
+    // SQLStates of the booking lookup/state errors below (PostgreSQL's no_data and object_not_in_prerequisite_state)
+    static final String STATE_NO_BOOKING = "02000";
+    static final String STATE_WRONG_STATUS = "55000";
+
+    // Not enough seats left (or the activity is not Active)
+    public static class SeatsUnavailableException extends SQLException {
+        private static final long serialVersionUID = 1L;
+
+        public SeatsUnavailableException(int activityId, int requested) {
+            super("Not enough seats available on activity " + activityId + " for " + requested + " spot(s)");
+        }
+    }
+
+    private final ReentrantLock[] stripes;
+    private final SeatCounters counters;
+    private final BookingAggregates aggregates = new BookingAggregates();
+
+    // lockStriping: serialize same-activity requests in this JVM; counters: optional in-memory seat counts (null = off)
+    public ReservationEngine(boolean lockStriping, SeatCounters counters) {
+        this.counters = counters;
+        if (lockStriping) {
+            stripes = new ReentrantLock[STRIPES];
+            for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+        } else {
+            stripes = null;
+        }
+    }
+
+    // Take seats and create a Pending booking; returns the booking id
+    public int hold(Connection conn, int activityId, int touristId, int spots) throws SQLException {
+        if (spots <= 0) throw new SQLException("Spots reserved must be > 0");
+        boolean taken = false;
+        if (counters != null) {
+            SeatCounters.Take take = counters.tryTake(conn, activityId, spots);
+            if (take == SeatCounters.Take.REFUSED) throw new SeatsUnavailableException(activityId, spots);
+            taken = take == SeatCounters.Take.TAKEN;
+        }
+        int bookingId;
+        try {
+            bookingId = withStripe(activityId, () -> retrying(conn, () -> holdOnce(conn, activityId, touristId, spots)));
+        } catch (SeatsUnavailableException soldOut) {
+            // The database refused: its seat count replaces whatever the counter had
+            if (counters != null) counters.refresh(conn, activityId);
+            throw soldOut;
+        } catch (SQLException | RuntimeException ex) {
+            if (taken) counters.giveBack(activityId, spots);
+            throw ex;
+        }
+        // The counter was too old to refuse and the database had seats: bring it up to date
+        if (counters != null && !taken) counters.refresh(conn, activityId);
+        return bookingId;
+    }
+
+    public void confirm(Connection conn, int bookingId) throws SQLException {
+        try (PreparedStatement pst = conn.prepareStatement(SQL_CONFIRM)) {
+            pst.setInt(1, bookingId);
+            if (pst.executeUpdate() == 0) throw new SQLException("Booking " + bookingId + " is not pending", STATE_WRONG_STATUS);
+        }
+    }
+
+    // Cancel a Pending or Confirmed booking and give its seats back
+    public void cancel(Connection conn, int bookingId) throws SQLException {
+        int[] released = retrying(conn, () -> cancelOnce(conn, bookingId));
+        if (counters != null) counters.giveBack(released[0], released[1]);
+    }
+
+    private int holdOnce(Connection conn, int activityId, int touristId, int spots) throws SQLException {
+        try (PreparedStatement take = conn.prepareStatement(SQL_TAKE_SEATS)) {
+            take.setInt(1, spots);
+            take.setInt(2, activityId);
+            take.setInt(3, spots);
+            if (take.executeUpdate() == 0) {
+                conn.rollback();
+                throw new SeatsUnavailableException(activityId, spots);
+            }
+        }
+        int bookingId = -1;
+        try (PreparedStatement ins = conn.prepareStatement(SQL_INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+            ins.setInt(1, activityId);
+            ins.setInt(2, touristId);
+            ins.setInt(3, spots);
+            ins.executeUpdate();
+            try (ResultSet rs = ins.getGeneratedKeys()) {
+                if (rs != null && rs.next()) bookingId = rs.getInt(1);
+            }
+        }
+        aggregates.bookingChanged(conn, activityId, null, spots, true);
+        conn.commit();
+        return bookingId;
+    }
+
+    private int[] cancelOnce(Connection conn, int bookingId) throws SQLException {
+        int activityId;
+        int spots;
+        java.sql.Date day;
+        try (PreparedStatement lock = conn.prepareStatement(SQL_LOCK_BOOKING)) {
+            lock.setInt(1, bookingId);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next()) throw new SQLException("Booking " + bookingId + " does not exist", STATE_NO_BOOKING);
+                String status = rs.getString(3);
+                if (!"Pending".equals(status) && !"Confirmed".equals(status)) throw new SQLException("Booking " + bookingId + " is " + status, STATE_WRONG_STATUS);
+                activityId = rs.getInt(1);
+                spots = rs.getInt(2);
+                Timestamp booked = rs.getTimestamp(4);
+                day = booked == null ? null : new java.sql.Date(booked.getTime());
+            }
+        }
+        try (PreparedStatement upd = conn.prepareStatement(SQL_CANCEL)) {
+            upd.setInt(1, bookingId);
+            upd.executeUpdate();
+        }
+        try (PreparedStatement give = conn.prepareStatement(SQL_RETURN_SEATS)) {
+            give.setInt(1, spots);
+            give.setInt(2, activityId);
+            give.executeUpdate();
+        }
+        aggregates.bookingChanged(conn, activityId, day, spots, false);
+        conn.commit();
+        return new int[]{activityId, spots};
+    }
+
+    private interface Tx<T> {
+        T run() throws SQLException;
+    }
+
+    // Run a transaction, retrying on serialization failures, deadlocks and lock timeouts
+    private static <T> T retrying(Connection conn, Tx<T> tx) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return tx.run();
+                } catch (SQLException ex) {
+                    try { conn.rollback(); } catch (SQLException ignore) {}
+                    if (!isRetryable(ex) || attempt >= MAX_ATTEMPTS) throw ex;
+                    backoff(attempt);
+                }
+            }
+        } finally {
+            try { conn.setAutoCommit(autoCommit); } catch (SQLException ignore) {}
+        }
+    }
+
+    static boolean isRetryable(SQLException ex) {
+        if (ex instanceof SeatsUnavailableException) return false;
+        String state = ex.getSQLState();
+        // 40001 serialization failure, 40P01 deadlock (PostgreSQL), HYT00 lock timeout (H2)
+        return "40001".equals(state) || "40P01".equals(state) || "HYT00".equals(state);
+    }
+
+    private static void backoff(int attempt) throws SQLException {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5 << attempt));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while retrying reservation", ie);
+        }
+    }
+
+    private <T> T withStripe(int activityId, Tx<T> body) throws SQLException {
+        if (stripes == null) return body.run();
+        ReentrantLock lock = stripes[Math.floorMod(activityId, STRIPES)];
+        lock.lock();
+        try {
+            return body.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
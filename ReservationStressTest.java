@@ -0,0 +1,150 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.util.Comparator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Multi-threaded oversell check for ReservationEngine, run like TestDB:
+//   java -cp ".;lib\*" ReservationStressTest [threads] [capacity] [jdbcUrl user password]
+// Without a URL it runs on a private H2 database in a temp directory, built from migrations/.
+// With a URL the database needs the seed data (host 3, tourists 6-10); the test activities are
+// deleted afterwards and the report rollups rebuilt. Each mode books a fresh activity until it is
+// sold out, then checks that booked spots + available seats == capacity and seats never went negative.
+public class ReservationStressTest {
+    // A worker gives up after this many errors in a row that are not "sold out"
+    private static final int MAX_CONSECUTIVE_ERRORS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        String url = args.length > 2 ? args[2] : null;
+        String user = args.length > 3 ? args[3] : "sa";
+        String password = args.length > 4 ? args[4] : "";
+        Path tempDir = url == null ? Files.createTempDirectory("hostlink-stress") : null;
+        String jdbcUrl = url != null ? url : "jdbc:h2:file:" + tempDir.toAbsolutePath() + "/stress;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        ConnectionPool.ConnectionFactory source = () -> DriverManager.getConnection(jdbcUrl, user, password);
+        // Stays open for the whole run: H2 check constraints stop working once the session that created them closes
+        Connection schemaConn = null;
+        if (tempDir != null) {
+            schemaConn = source.open();
+            new MigrationEngine(Paths.get("migrations")).migrate(schemaConn, Dialect.H2);
+        }
+
+        String product;
+        try (Connection conn = source.open()) {
+            product = conn.getMetaData().getDatabaseProductName();
+        }
+        System.out.println("Reservation stress test on " + product + ": " + threads + " threads, capacity " + capacity);
+
+        boolean allOk = true;
+        allOk &= run("conditional update", new ReservationEngine(false, null), source, threads, capacity);
+        allOk &= run("lock striping", new ReservationEngine(true, null), source, threads, capacity);
+        allOk &= run("seat counters", new ReservationEngine(false, new SeatCounters()), source, threads, capacity);
+        allOk &= run("striping + counters", new ReservationEngine(true, new SeatCounters()), source, threads, capacity);
+        if (schemaConn != null) {
+            try (Statement st = schemaConn.createStatement()) {
+                st.execute("SHUTDOWN");
+            }
+            schemaConn.close();
+            deleteRecursively(tempDir);
+        } else {
+            // Rollups have no foreign key to Activity, so deleting the test activities leaves them inflated
+            try (Connection conn = source.open()) {
+                new BookingAggregates().rebuild(conn);
+            }
+        }
+        System.out.println(allOk ? "Result: PASS (no oversell)" : "Result: FAIL");
+        if (!allOk) System.exit(1);
+        System.exit(0);
+    }
+
+    private static boolean run(String mode, ReservationEngine engine, ConnectionPool.ConnectionFactory source,
+                               int threads, int capacity) throws Exception {
+        int activityId = createActivity(source, capacity);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicLong holds = new AtomicLong();
+        AtomicLong refusals = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicBoolean gaveUp = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int touristId = 6 + (t % 5);
+            pool.submit(() -> {
+                try (Connection conn = source.open()) {
+                    start.await();
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    int consecutiveRefusals = 0;
+                    int consecutiveErrors = 0;
+                    // Keep booking until several requests in a row are refused (sold out)
+                    while (consecutiveRefusals < 3) {
+                        int spots = 1 + rnd.nextInt(3);
+                        try {
+                            engine.hold(conn, activityId, touristId, spots);
+                            booked.addAndGet(spots);
+                            holds.incrementAndGet();
+                            consecutiveRefusals = 0;
+                            consecutiveErrors = 0;
+                        } catch (ReservationEngine.SeatsUnavailableException soldOut) {
+                            refusals.incrementAndGet();
+                            consecutiveRefusals++;
+                            consecutiveErrors = 0;
+                        } catch (SQLException ex) {
+                            errors.incrementAndGet();
+                            if (++consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                                gaveUp.set(true);
+                                System.err.println(mode + ": giving up after " + consecutiveErrors + " errors in a row: " + ex.getMessage());
+                                break;
+                            }
+                        }
+                    }
+                } catch (Exception ex) {
+                    errors.incrementAndGet();
+                    ex.printStackTrace();
+                }
+                return null;
+            });
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        int available;
+        int dbBooked;
+        try (Connection conn = source.open();
+             PreparedStatement a = conn.prepareStatement("SELECT act_available_seats FROM Activity WHERE activity_id = ?");
+             PreparedStatement b = conn.prepareStatement("SELECT COALESCE(SUM(bkg_spotsReserved), 0) FROM Booking WHERE activity_id = ? AND bkg_Status <> 'Cancelled'")) {
+            a.setInt(1, activityId);
+            b.setInt(1, activityId);
+            try (ResultSet rs = a.executeQuery()) { rs.next(); available = rs.getInt(1); }
+            try (ResultSet rs = b.executeQuery()) { rs.next(); dbBooked = rs.getInt(1); }
+            try (PreparedStatement del = conn.prepareStatement("DELETE FROM Activity WHERE activity_id = ?")) {
+                del.setInt(1, activityId);
+                del.executeUpdate();
+            }
+        }
+        boolean ok = available >= 0 && dbBooked + available == capacity && dbBooked == booked.get() && !gaveUp.get();
+        System.out.printf("%-20s holds=%d refusals=%d errors=%d booked=%d/%d available=%d  %.0f holds/s  %s%n",
+                mode, holds.get(), refusals.get(), errors.get(), dbBooked, capacity, available, holds.get() / secs, ok ? "OK" : "OVERSOLD/INCONSISTENT");
+        return ok;
+    }
+
+    private static int createActivity(ConnectionPool.ConnectionFactory source, int capacity) throws SQLException {
+        try (Connection conn = source.open()) {
+            return new ActivityRepository().createActivity(conn, 3, "Stress test activity", "Test", java.sql.Date.valueOf("2030-01-01"), capacity);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
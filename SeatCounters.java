@@ -0,0 +1,100 @@
+import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Optional in-memory mirror of Activity.act_available_seats. Lets the reservation engine
+// turn away requests for sold-out activities without a database round trip. The database
+// stays authoritative: counters are loaded lazily and refreshed whenever the DB answers a
+// request, and a counter is only trusted to refuse for TRUST_MILLIS after it was last read
+// from the DB. Seats given back outside this process (or a counter that drifted low) are
+// picked up by the next request after that.
+public class SeatCounters {
+    private static final long TRUST_MILLIS = Long.parseLong(System.getenv().getOrDefault("RESERVATION_COUNTER_TRUST_MS", "1000"));
+
+    public enum Take {
+        // Spots were reserved in memory; give them back if the database write fails
+        TAKEN,
+        // Not enough seats according to a recently synced counter
+        REFUSED,
+        // The counter says no but is too old to trust; ask the database, then refresh()
+        ASK_DATABASE
+    }
+
+    private static final class Counter {
+        final AtomicInteger seats;
+        volatile long syncedAt = System.nanoTime();
+
+        Counter(int available) { this.seats = new AtomicInteger(available); }
+    }
+
+    private final Map<Integer, Counter> counters = new ConcurrentHashMap<>();
+    private final long trustNanos;
+
+    public SeatCounters() {
+        this(TRUST_MILLIS);
+    }
+
+    public SeatCounters(long trustMillis) {
+        this.trustNanos = trustMillis * 1_000_000L;
+    }
+
+    // Reserve spots in memory when the counter has enough of them
+    public Take tryTake(Connection conn, int activityId, int spots) throws SQLException {
+        Counter counter = counterFor(conn, activityId);
+        while (true) {
+            int current = counter.seats.get();
+            if (current < spots) {
+                return System.nanoTime() - counter.syncedAt <= trustNanos ? Take.REFUSED : Take.ASK_DATABASE;
+            }
+            if (counter.seats.compareAndSet(current, current - spots)) return Take.TAKEN;
+        }
+    }
+
+    public void giveBack(int activityId, int spots) {
+        Counter counter = counters.get(activityId);
+        if (counter != null) counter.seats.addAndGet(spots);
+    }
+
+    // Overwrite the in-memory value with what the database reported
+    public void set(int activityId, int available) {
+        Counter counter = counters.computeIfAbsent(activityId, id -> new Counter(available));
+        counter.seats.set(available);
+        counter.syncedAt = System.nanoTime();
+    }
+
+    // Re-read the counter from the database; if that fails it is dropped and loaded again on next use
+    public void refresh(Connection conn, int activityId) {
+        try (PreparedStatement pst = conn.prepareStatement(ReservationEngine.SQL_AVAILABLE)) {
+            pst.setInt(1, activityId);
+            try (ResultSet rs = pst.executeQuery()) {
+                if (rs.next()) set(activityId, rs.getInt(1));
+                else forget(activityId);
+            }
+        } catch (SQLException e) {
+            forget(activityId);
+        }
+    }
+
+    public void forget(int activityId) {
+        counters.remove(activityId);
+    }
+
+    public Integer peek(int activityId) {
+        Counter counter = counters.get(activityId);
+        return counter == null ? null : counter.seats.get();
+    }
+
+    private Counter counterFor(Connection conn, int activityId) throws SQLException {
+        Counter counter = counters.get(activityId);
+        if (counter != null) return counter;
+        try (PreparedStatement pst = conn.prepareStatement(ReservationEngine.SQL_AVAILABLE)) {
+            pst.setInt(1, activityId);
+            try (ResultSet rs = pst.executeQuery()) {
+                if (!rs.next()) throw new SQLException("Activity " + activityId + " does not exist");
+                int available = rs.getInt(1);
+                return counters.computeIfAbsent(activityId, id -> new Counter(available));
+            }
+        }
+    }
+}
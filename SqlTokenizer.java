@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Lexer for the SQL used in migrations. Understands single-quoted strings (with '' escapes),
+// double-quoted identifiers, -- and /* */ comments and PostgreSQL $tag$ dollar quoting, so that
+// semicolons or keywords inside any of those are never mistaken for statement structure.
+public final class SqlTokenizer {
+    private SqlTokenizer() {}
+
+    private static final java.util.Set<String> TWO_CHAR_OPERATORS = java.util.Set.of("::", "<=", ">=", "<>", "!=", "||");
+
+    public enum Type { WORD, QUOTED_IDENT, STRING, NUMBER, SYMBOL, SEMICOLON, WHITESPACE, COMMENT }
+
+    public record Token(Type type, String text) {
+        public boolean isWord(String word) {
+            return type == Type.WORD && text.equalsIgnoreCase(word);
+        }
+
+        public boolean isSignificant() {
+            return type != Type.WHITESPACE && type != Type.COMMENT;
+        }
+    }
+
+    public static List<Token> tokenize(String sql) {
+        List<Token> out = new ArrayList<>();
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) i++;
+                out.add(new Token(Type.WHITESPACE, sql.substring(start, i)));
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') i++;
+                out.add(new Token(Type.COMMENT, sql.substring(start, i)));
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                if (end < 0) throw new IllegalArgumentException("Unterminated block comment at offset " + start);
+                i = end + 2;
+                out.add(new Token(Type.COMMENT, sql.substring(start, i)));
+            } else if (c == '\'') {
+                i = endOfQuoted(sql, i, '\'');
+                out.add(new Token(Type.STRING, sql.substring(start, i)));
+            } else if (c == '"') {
+                i = endOfQuoted(sql, i, '"');
+                out.add(new Token(Type.QUOTED_IDENT, sql.substring(start, i)));
+            } else if (c == '$' && dollarTagEnd(sql, i) > 0) {
+                int tagEnd = dollarTagEnd(sql, i);
+                String tag = sql.substring(i, tagEnd);
+                int close = sql.indexOf(tag, tagEnd);
+                if (close < 0) throw new IllegalArgumentException("Unterminated dollar-quoted string at offset " + start);
+                i = close + tag.length();
+                out.add(new Token(Type.STRING, sql.substring(start, i)));
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) i++;
+                out.add(new Token(Type.WORD, sql.substring(start, i)));
+            } else if (Character.isDigit(c)) {
+                while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) i++;
+                out.add(new Token(Type.NUMBER, sql.substring(start, i)));
+            } else if (c == ';') {
+                i++;
+                out.add(new Token(Type.SEMICOLON, ";"));
+            } else {
+                // Keep two-character operators such as ::, <=, >=, <>, != together
+                i++;
+                if (i < n && TWO_CHAR_OPERATORS.contains(sql.substring(start, i + 1))) i++;
+                out.add(new Token(Type.SYMBOL, sql.substring(start, i)));
+            }
+        }
+        return out;
+    }
+
+    // Split a script into statements (without the trailing semicolon and without comments)
+    public static List<List<Token>> statements(String sql) {
+        List<List<Token>> result = new ArrayList<>();
+        List<Token> current = new ArrayList<>();
+        for (Token t : tokenize(sql)) {
+            if (t.type() == Type.SEMICOLON) {
+                addIfNotEmpty(result, current);
+                current = new ArrayList<>();
+            } else if (t.type() != Type.COMMENT) {
+                current.add(t);
+            }
+        }
+        addIfNotEmpty(result, current);
+        return result;
+    }
+
+    public static String join(List<Token> tokens) {
+        StringBuilder sb = new StringBuilder();
+        for (Token t : tokens) sb.append(t.text());
+        return sb.toString().trim();
+    }
+
+    private static void addIfNotEmpty(List<List<Token>> result, List<Token> stmt) {
+        for (Token t : stmt) {
+            if (t.isSignificant()) {
+                result.add(stmt);
+                return;
+            }
+        }
+    }
+
+    private static int endOfQuoted(String sql, int i, char quote) {
+        int n = sql.length();
+        i++;
+        while (i < n) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < n && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        throw new IllegalArgumentException("Unterminated " + (quote == '\'' ? "string literal" : "quoted identifier"));
+    }
+
+    // $$ or $tag$ starting at i; returns the index after the opening tag, or -1
+    private static int dollarTagEnd(String sql, int i) {
+        int j = i + 1;
+        while (j < sql.length() && (Character.isLetterOrDigit(sql.charAt(j)) || sql.charAt(j) == '_')) j++;
+        if (j < sql.length() && sql.charAt(j) == '$' && (j == i + 1 || !Character.isDigit(sql.charAt(i + 1)))) return j + 1;
+        return -1;
+    }
+}
@@ -0,0 +1,174 @@
+import hostlink.bench.HostLinkOps;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Default-package side of the benchmark bridge (see hostlink.bench.HostLinkOps): calls the
+// application classes directly.
+public class HostLinkBenchOps implements HostLinkOps {
+    private static final String[] LOCATIONS = {"Marrakech", "Fes", "Casablanca", "Rabat", "Chefchaouen", "Essaouira", "Agadir", "Tangier"};
+    private static final MigrationEngine MIGRATIONS = new MigrationEngine(Paths.get("migrations"));
+
+    private final HostRepository hosts = new HostRepository();
+    private final ActivityRepository activities = new ActivityRepository();
+    private ConnectionPool pool;
+    private Path h2Dir;
+    private String h2Url;
+    private int[] hostIds = new int[0];
+
+    @Override
+    public Connection appConnect() throws SQLException {
+        Connection conn = DBConnection.connect();
+        if (conn == null) throw new SQLException("DBConnection.connect() returned null");
+        return conn;
+    }
+
+    @Override
+    public String appDialect() {
+        return String.valueOf(DBConnection.activeDialect());
+    }
+
+    @Override
+    public void open(String backend, int poolSize) throws SQLException {
+        ConnectionPool.ConnectionFactory factory;
+        Dialect dialect;
+        if ("h2".equalsIgnoreCase(backend)) {
+            try {
+                h2Dir = Files.createTempDirectory("hostlink-bench");
+            } catch (IOException ex) {
+                throw new SQLException("Cannot create H2 benchmark directory: " + ex.getMessage(), ex);
+            }
+            h2Url = "jdbc:h2:file:" + h2Dir.toAbsolutePath() + "/bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+            factory = () -> connect(h2Url, "sa", "");
+            dialect = Dialect.H2;
+        } else if ("postgresql".equalsIgnoreCase(backend)) {
+            String url = System.getenv().getOrDefault("BENCH_PG_URL", "jdbc:postgresql://localhost:5432/hostlink_bench?reWriteBatchedInserts=true");
+            String user = System.getenv().getOrDefault("DB_USER", "postgres");
+            String password = System.getenv().getOrDefault("DB_PASSWORD", "507729");
+            factory = () -> connect(url, user, password);
+            dialect = Dialect.POSTGRESQL;
+        } else {
+            throw new IllegalArgumentException("Unknown backend '" + backend + "' (expected h2 or postgresql)");
+        }
+        pool = new ConnectionPool("bench-" + backend, factory, poolSize, 30_000, 300_000, 2, 32);
+        try (Connection conn = pool.borrow()) {
+            if (dialect == Dialect.POSTGRESQL && MigrationEngine.tableExists(conn, "UserAccount")) {
+                try (Statement st = conn.createStatement()) {
+                    st.executeUpdate("TRUNCATE UserAccount RESTART IDENTITY CASCADE");
+                }
+            }
+            MIGRATIONS.migrate(conn, dialect);
+        } catch (IOException ex) {
+            throw new SQLException("Migration failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    // Through DBConnection.DriverShim like the application, so JDBC instrumentation (DB_INSTRUMENTATION) is included
+    private static Connection connect(String url, String user, String password) throws SQLException {
+        java.util.Properties props = new java.util.Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        return new DBConnection.DriverShim(DriverManager.getDriver(url)).connect(url, props);
+    }
+
+    @Override
+    public Connection borrow() throws SQLException {
+        return pool.borrow();
+    }
+
+    @Override
+    public int seed(int hostCount, int activityCount) throws SQLException {
+        try (Connection conn = pool.borrow()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pst = conn.prepareStatement(HostRepository.SQL_INSERT_USER)) {
+                for (int i = 0; i < hostCount; i++) {
+                    pst.setString(1, "bench_host_" + i);
+                    pst.setString(2, "bench");
+                    pst.setString(3, "bench_host_" + i + "@example.com");
+                    pst.addBatch();
+                    if (i % 1000 == 999) pst.executeBatch();
+                }
+                pst.executeBatch();
+            }
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate("INSERT INTO Host (host_id, hos_cin, hos_description, hos_tel) "
+                        + "SELECT User_id, 'CIN' || User_id, 'Benchmark host', '+212600000000' FROM UserAccount u "
+                        + "WHERE u.userType = 'Host' AND NOT EXISTS (SELECT 1 FROM Host h WHERE h.host_id = u.User_id)");
+            }
+            List<Integer> ids = new ArrayList<>();
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT host_id FROM Host ORDER BY host_id")) {
+                while (rs.next()) ids.add(rs.getInt(1));
+            }
+            hostIds = ids.stream().mapToInt(Integer::intValue).toArray();
+
+            java.sql.Date base = java.sql.Date.valueOf("2025-01-01");
+            try (PreparedStatement pst = conn.prepareStatement(ActivityRepository.SQL_INSERT)) {
+                for (int i = 0; i < activityCount; i++) {
+                    int capacity = 10 + i % 50;
+                    pst.setInt(1, hostIds[i % hostIds.length]);
+                    pst.setString(2, "Activity " + i);
+                    pst.setString(3, LOCATIONS[i % LOCATIONS.length]);
+                    pst.setDate(4, new java.sql.Date(base.getTime() + (i % 365) * 86_400_000L));
+                    pst.setInt(5, capacity);
+                    pst.setInt(6, capacity);
+                    pst.addBatch();
+                    if (i % 1000 == 999) pst.executeBatch();
+                }
+                pst.executeBatch();
+            }
+            conn.commit();
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT MAX(activity_id) FROM Activity")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public int[] hostIds() {
+        return hostIds;
+    }
+
+    @Override
+    public int registerHost(Connection conn, String username, String email, String cin) throws SQLException {
+        return hosts.registerHost(conn, username, "bench", email, cin, "Benchmark host", "+212600000000");
+    }
+
+    @Override
+    public int createActivity(Connection conn, int hostId, String title, String location, java.sql.Date date, int capacity) throws SQLException {
+        return activities.createActivity(conn, hostId, title, location, date, capacity);
+    }
+
+    @Override
+    public List<?> readAll(Connection conn) throws SQLException {
+        return activities.listActivityDetails(conn);
+    }
+
+    @Override
+    public List<?> readPage(Connection conn, int afterId, int offset, int limit) throws SQLException {
+        ActivityRepository.PageKey after = afterId < 0 ? null : new ActivityRepository.PageKey(afterId, afterId);
+        return activities.pageActivityDetails(conn, ActivityRepository.SortColumn.ID, true, null, after, offset, limit);
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.close();
+        pool = null;
+        if (h2Dir == null) return;
+        try (Connection conn = DriverManager.getConnection(h2Url, "sa", ""); Statement st = conn.createStatement()) {
+            st.execute("SHUTDOWN");
+        } catch (SQLException ex) {
+            System.err.println("H2 benchmark store shutdown failed: " + ex.getMessage());
+        }
+        try (Stream<Path> files = Files.walk(h2Dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException ex) {
+            System.err.println("Could not delete " + h2Dir + ": " + ex.getMessage());
+        }
+        h2Dir = null;
+    }
+}
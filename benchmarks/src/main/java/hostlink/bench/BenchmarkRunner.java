@@ -0,0 +1,54 @@
+package hostlink.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Runs the benchmarks once per thread count and writes one JMH JSON result file per run.
+// Usage: java -jar benchmarks/target/benchmarks.jar [--threads 1,4,16] [--activities 1000,100000]
+//        [--backend h2,postgresql] [--out target/jmh] [benchmark regex]
+// Run it from the project root (./migrations is required). For plain JMH options use
+// java -cp benchmarks/target/benchmarks.jar org.openjdk.jmh.Main ...
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String[] threads = {"1", "4", "16"};
+        String[] activities = null;
+        String[] backends = null;
+        Path out = Paths.get("target", "jmh");
+        String include = "hostlink\\.bench\\..*";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = args[++i].split(",");
+                case "--activities" -> activities = args[++i].split(",");
+                case "--backend" -> backends = args[++i].split(",");
+                case "--out" -> out = Paths.get(args[++i]);
+                default -> include = args[i];
+            }
+        }
+        if (!Files.isDirectory(Paths.get("migrations"))) {
+            System.err.println("migrations/ not found in " + Paths.get("").toAbsolutePath() + "; run the benchmarks from the project root.");
+            System.exit(2);
+        }
+        Files.createDirectories(out);
+
+        for (String t : threads) {
+            int n = Integer.parseInt(t.trim());
+            Path result = out.resolve("jmh-t" + n + ".json");
+            ChainedOptionsBuilder opts = new OptionsBuilder()
+                    .include(include)
+                    .threads(n)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.toString());
+            if (activities != null) opts.param("activities", activities);
+            if (backends != null) opts.param("backend", backends);
+            new Runner(opts.build()).run();
+            System.out.println("Results for " + n + " thread(s): " + result);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hostlink.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+// DBConnection.connect() latency.
+// cold: the first call in a fresh JVM (driver loading, PostgreSQL probe, pool creation, H2 open and
+// migration check), one sample per fork. With no PostgreSQL listening (or DB_PORT pointing at a closed
+// port) this is the PostgreSQL-miss path that falls back to H2.
+// warm: borrow and return on the already resolved pool.
+public class ConnectBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class App {
+        HostLinkOps ops;
+
+        @Setup(Level.Trial)
+        public void load() {
+            ops = HostLinkOps.load();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmApp extends App {
+        @Setup(Level.Trial)
+        public void warm() throws Exception {
+            try (Connection conn = ops.appConnect()) {
+                System.out.println("Backend: " + ops.appDialect());
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void cold(App app, Blackhole bh) throws Exception {
+        try (Connection conn = app.ops.appConnect()) {
+            bh.consume(conn);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public void warm(WarmApp app, Blackhole bh) throws Exception {
+        try (Connection conn = app.ops.appConnect()) {
+            bh.consume(conn);
+        }
+    }
+}
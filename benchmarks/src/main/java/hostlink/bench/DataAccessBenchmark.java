@@ -0,0 +1,94 @@
+package hostlink.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Repository operations against a private, seeded database (see HostLinkOps.open). Each operation
+// borrows a pooled connection like the application does. Writes accumulate during a trial, so the
+// dataset grows slightly beyond its nominal size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataAccessBenchmark {
+    static final int PAGE_SIZE = 200; // ActivityTableModel.PAGE_SIZE
+
+    // Number of seeded activities; hosts = activities / 20
+    @Param({"1000", "100000"})
+    public int activities;
+
+    // h2, or postgresql (needs BENCH_PG_URL, a database the benchmark may empty)
+    @Param({"h2"})
+    public String backend;
+
+    private HostLinkOps ops;
+    private int[] hostIds;
+    private int maxActivityId;
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.nanoTime(), 36);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ops = HostLinkOps.load();
+        ops.open(backend, 64);
+        long t0 = System.nanoTime();
+        maxActivityId = ops.seed(Math.max(1, activities / 20), activities);
+        hostIds = ops.hostIds();
+        System.out.println("Seeded " + activities + " activities on " + backend + " in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ops.close();
+    }
+
+    @Benchmark
+    public int registerHost() throws Exception {
+        long n = sequence.incrementAndGet();
+        String name = "jmh_" + runId + "_" + n;
+        try (Connection conn = ops.borrow()) {
+            return ops.registerHost(conn, name, name + "@example.com", "JMH" + n);
+        }
+    }
+
+    @Benchmark
+    public int createActivity() throws Exception {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        try (Connection conn = ops.borrow()) {
+            return ops.createActivity(conn, hostIds[rnd.nextInt(hostIds.length)], "JMH activity", "Marrakech",
+                    java.sql.Date.valueOf("2025-06-01"), 20);
+        }
+    }
+
+    @Benchmark
+    public void readAll(Blackhole bh) throws Exception {
+        try (Connection conn = ops.borrow()) {
+            bh.consume(ops.readAll(conn));
+        }
+    }
+
+    // A random page located by keyset, as the View Activities table does when scrolling
+    @Benchmark
+    public void readPageKeyset(Blackhole bh) throws Exception {
+        int after = ThreadLocalRandom.current().nextInt(Math.max(1, maxActivityId - PAGE_SIZE));
+        try (Connection conn = ops.borrow()) {
+            bh.consume(ops.readPage(conn, after, 0, PAGE_SIZE));
+        }
+    }
+
+    // The same page located by OFFSET, as after a jump past pages that were never loaded
+    @Benchmark
+    public void readPageOffset(Blackhole bh) throws Exception {
+        int offset = ThreadLocalRandom.current().nextInt(Math.max(1, activities - PAGE_SIZE));
+        try (Connection conn = ops.borrow()) {
+            bh.consume(ops.readPage(conn, -1, offset, PAGE_SIZE));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package hostlink.bench;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// The application operations the benchmarks measure. The application classes are in the default
+// package, which a named package cannot import (and JMH refuses benchmarks in the default package),
+// so the implementation, HostLinkBenchOps, is a default-package class loaded by name in @Setup.
+// Measured calls are plain interface calls into the real application code.
+public interface HostLinkOps extends AutoCloseable {
+
+    static HostLinkOps load() {
+        try {
+            return (HostLinkOps) Class.forName("HostLinkBenchOps").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("HostLinkBenchOps is missing from the benchmark classpath", ex);
+        }
+    }
+
+    // DBConnection.connect(): the application's backend resolution and pool (./data, ./migrations)
+    Connection appConnect() throws SQLException;
+
+    String appDialect();
+
+    // A private benchmark database, migrated to the latest version: "h2" (temporary file store,
+    // MODE=PostgreSQL) or "postgresql" (BENCH_PG_URL, emptied first)
+    void open(String backend, int poolSize) throws SQLException;
+
+    Connection borrow() throws SQLException;
+
+    // Batch-insert hosts and activities; returns the highest activity id
+    int seed(int hosts, int activities) throws SQLException;
+
+    int[] hostIds();
+
+    // HostRepository.registerHost: UserAccount + Host in one transaction
+    int registerHost(Connection conn, String username, String email, String cin) throws SQLException;
+
+    // ActivityRepository.createActivity
+    int createActivity(Connection conn, int hostId, String title, String location, java.sql.Date date, int capacity) throws SQLException;
+
+    // Every vw_ActivityDetails row
+    List<?> readAll(Connection conn) throws SQLException;
+
+    // One page of vw_ActivityDetails ordered by id: keyset after afterId, or OFFSET when afterId < 0
+    List<?> readPage(Connection conn, int afterId, int offset, int limit) throws SQLException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,125 @@
+-- V1: HostLink tables (from hostlinkDB.sql, part 1)
+-- Written in PostgreSQL syntax; DialectTranslator adapts it for H2.
+
+-- Create UserAccount table
+CREATE TABLE UserAccount (
+    User_id SERIAL PRIMARY KEY,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    user_password VARCHAR(255) NOT NULL,
+    user_email VARCHAR(255) NOT NULL UNIQUE,
+    userType VARCHAR(20) NOT NULL CHECK (userType IN ('Admin', 'Host', 'Tourist')),
+    user_DateOfCreation TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create Admin table
+CREATE TABLE Admin (
+    admin_id INT PRIMARY KEY,
+    adm_code VARCHAR(50) NOT NULL UNIQUE,
+    FOREIGN KEY (admin_id) REFERENCES UserAccount(User_id) ON DELETE CASCADE
+);
+
+-- Create Host table
+CREATE TABLE Host (
+    host_id INT PRIMARY KEY,
+    hos_description TEXT,
+    hos_DateSubmission TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    hos_cv VARCHAR(255),
+    hos_cin VARCHAR(50),
+    hos_tel VARCHAR(20),
+    FOREIGN KEY (host_id) REFERENCES UserAccount(User_id) ON DELETE CASCADE
+);
+
+-- Create Tourist table
+CREATE TABLE Tourist (
+    tourist_id INT PRIMARY KEY,
+    Trs_originalCountry VARCHAR(100),
+    Trs_age INT CHECK (Trs_age >= 0),
+    Trs_emergencyContact VARCHAR(100),
+    Trs_ActivityCount INT DEFAULT 0,
+    FOREIGN KEY (tourist_id) REFERENCES UserAccount(User_id) ON DELETE CASCADE
+);
+
+-- Create Activity table
+CREATE TABLE Activity (
+    activity_id SERIAL PRIMARY KEY,
+    act_title VARCHAR(255) NOT NULL,
+    act_description TEXT,
+    act_image VARCHAR(255),
+    act_location VARCHAR(255),
+    act_date DATE,
+    act_time TIME,
+    act_capacity INT CHECK (act_capacity > 0),
+    act_available_seats INT CHECK (act_available_seats >= 0),
+    act_status VARCHAR(20) DEFAULT 'Active' CHECK (act_status IN ('Active', 'Inactive', 'Cancelled')),
+    host_id INT NOT NULL,
+    FOREIGN KEY (host_id) REFERENCES Host(host_id) ON DELETE CASCADE,
+    CHECK (act_available_seats <= act_capacity)
+);
+
+-- Create Booking table
+CREATE TABLE Booking (
+    booking_id SERIAL PRIMARY KEY,
+    activity_id INT NOT NULL,
+    tourist_id INT NOT NULL,
+    bkg_Date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    bkg_Status VARCHAR(20) DEFAULT 'Pending' CHECK (bkg_Status IN ('Pending', 'Confirmed', 'Cancelled', 'Completed')),
+    bkg_spotsReserved INT NOT NULL CHECK (bkg_spotsReserved > 0),
+    FOREIGN KEY (activity_id) REFERENCES Activity(activity_id) ON DELETE CASCADE,
+    FOREIGN KEY (tourist_id) REFERENCES Tourist(tourist_id) ON DELETE CASCADE
+);
+
+-- Create Payment table
+CREATE TABLE Payment (
+    payment_id SERIAL PRIMARY KEY,
+    booking_id INT NOT NULL UNIQUE,
+    payTotalAmount DECIMAL(10, 2) NOT NULL CHECK (payTotalAmount >= 0),
+    paymentMethod VARCHAR(50) NOT NULL CHECK (paymentMethod IN ('Credit Card', 'Debit Card', 'PayPal', 'Cash')),
+    paymentStatus VARCHAR(20) DEFAULT 'Pending' CHECK (paymentStatus IN ('Pending', 'Completed', 'Failed', 'Refunded')),
+    tourist_id INT NOT NULL,
+    FOREIGN KEY (booking_id) REFERENCES Booking(booking_id) ON DELETE CASCADE,
+    FOREIGN KEY (tourist_id) REFERENCES Tourist(tourist_id) ON DELETE CASCADE
+);
+
+-- Create Verification table
+CREATE TABLE Verification (
+    verification_id SERIAL PRIMARY KEY,
+    Host_id INT NOT NULL,
+    ver_Date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ver_Status VARCHAR(20) DEFAULT 'Pending' CHECK (ver_Status IN ('Pending', 'Approved', 'Rejected')),
+    admin_id INT NOT NULL,
+    FOREIGN KEY (Host_id) REFERENCES Host(host_id) ON DELETE CASCADE,
+    FOREIGN KEY (admin_id) REFERENCES Admin(admin_id) ON DELETE CASCADE
+);
+
+-- Create Experiences table (junction table for Admin and Activity)
+CREATE TABLE Experiences (
+    admin_id INT NOT NULL,
+    activity_id INT NOT NULL,
+    PRIMARY KEY (admin_id, activity_id),
+    FOREIGN KEY (admin_id) REFERENCES Admin(admin_id) ON DELETE CASCADE,
+    FOREIGN KEY (activity_id) REFERENCES Activity(activity_id) ON DELETE CASCADE
+);
+
+-- Create host_Review table
+CREATE TABLE host_Review (
+    host_id INT NOT NULL,
+    tourist_id INT NOT NULL,
+    hos_rating DECIMAL(2, 1) CHECK (hos_rating >= 0 AND hos_rating <= 5),
+    Trs_comment TEXT,
+    PRIMARY KEY (host_id, tourist_id),
+    FOREIGN KEY (host_id) REFERENCES Host(host_id) ON DELETE CASCADE,
+    FOREIGN KEY (tourist_id) REFERENCES Tourist(tourist_id) ON DELETE CASCADE
+);
+
+-- Create activity_review table
+CREATE TABLE activity_review (
+    tourist_id INT NOT NULL,
+    activity_id INT NOT NULL,
+    rev_text TEXT,
+    rev_activityRating DECIMAL(2, 1) CHECK (rev_activityRating >= 0 AND rev_activityRating <= 5),
+    rev_hostRating DECIMAL(2, 1) CHECK (rev_hostRating >= 0 AND rev_hostRating <= 5),
+    rev_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tourist_id, activity_id),
+    FOREIGN KEY (tourist_id) REFERENCES Tourist(tourist_id) ON DELETE CASCADE,
+    FOREIGN KEY (activity_id) REFERENCES Activity(activity_id) ON DELETE CASCADE
+);
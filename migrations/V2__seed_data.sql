@@ -0,0 +1,85 @@
+-- V2: sample data (from hostlinkDB.sql, part 2)
+
+-- Insert UserAccounts
+INSERT INTO UserAccount (username, user_password, user_email, userType) VALUES
+('admin_john', 'hashed_pwd_123', 'john.admin@tourism.com', 'Admin'),
+('admin_sarah', 'hashed_pwd_456', 'sarah.admin@tourism.com', 'Admin'),
+('host_ahmed', 'hashed_pwd_789', 'ahmed.host@tourism.com', 'Host'),
+('host_fatima', 'hashed_pwd_101', 'fatima.host@tourism.com', 'Host'),
+('host_youssef', 'hashed_pwd_102', 'youssef.host@tourism.com', 'Host'),
+('tourist_emily', 'hashed_pwd_103', 'emily.tourist@gmail.com', 'Tourist'),
+('tourist_david', 'hashed_pwd_104', 'david.tourist@gmail.com', 'Tourist'),
+('tourist_maria', 'hashed_pwd_105', 'maria.tourist@gmail.com', 'Tourist'),
+('tourist_james', 'hashed_pwd_106', 'james.tourist@gmail.com', 'Tourist'),
+('tourist_sophia', 'hashed_pwd_107', 'sophia.tourist@gmail.com', 'Tourist');
+
+-- Insert Admins (IDs must match UserAccount)
+INSERT INTO Admin (admin_id, adm_code) VALUES
+(1, 'ADM001'),
+(2, 'ADM002');
+
+-- Insert Hosts
+INSERT INTO Host (host_id, hos_description, hos_cv, hos_cin, hos_tel) VALUES
+(3, 'Experienced tour guide specializing in cultural tours', 'cv_ahmed.pdf', 'CIN123456', '+212600111111'),
+(4, 'Adventure activities expert with 5 years experience', 'cv_fatima.pdf', 'CIN234567', '+212600222222'),
+(5, 'Local historian and heritage tour specialist', 'cv_youssef.pdf', 'CIN345678', '+212600333333');
+
+-- Insert Tourists
+INSERT INTO Tourist (tourist_id, Trs_originalCountry, Trs_age, Trs_emergencyContact, Trs_ActivityCount) VALUES
+(6, 'USA', 28, '+1234567890', 0),
+(7, 'UK', 35, '+4412345678', 0),
+(8, 'Spain', 26, '+34612345678', 0),
+(9, 'France', 42, '+33612345678', 0),
+(10, 'Germany', 31, '+49123456789', 0);
+
+-- Insert Activities
+INSERT INTO Activity (act_title, act_description, act_image, act_location, act_date, act_time, act_capacity, act_available_seats, act_status, host_id) VALUES
+('Fes Medina Walking Tour', 'Explore the ancient medina of Fes with local guides', 'fes_tour.jpg', 'Fes', '2025-01-15', '09:00:00', 15, 15, 'Active', 3),
+('Atlas Mountain Hiking', 'Day hike through beautiful Atlas Mountains', 'atlas_hike.jpg', 'Atlas Mountains', '2025-01-20', '07:00:00', 10, 10, 'Active', 4),
+('Moroccan Cooking Class', 'Learn to cook traditional Moroccan dishes', 'cooking.jpg', 'Marrakech', '2025-01-18', '14:00:00', 8, 8, 'Active', 3),
+('Sahara Desert Safari', '2-day camel trek in Sahara Desert', 'sahara.jpg', 'Merzouga', '2025-01-25', '06:00:00', 12, 12, 'Active', 4),
+('Chefchaouen Blue City Tour', 'Visit the famous blue city', 'chefchaouen.jpg', 'Chefchaouen', '2025-02-01', '10:00:00', 20, 20, 'Active', 5),
+('Casablanca City Tour', 'Modern and historical Casablanca', 'casablanca.jpg', 'Casablanca', '2025-02-05', '09:30:00', 15, 15, 'Active', 5);
+
+-- Insert Verifications
+INSERT INTO Verification (Host_id, ver_Status, admin_id) VALUES
+(3, 'Approved', 1),
+(4, 'Approved', 1),
+(5, 'Pending', 2);
+
+-- Insert Bookings
+INSERT INTO Booking (activity_id, tourist_id, bkg_Status, bkg_spotsReserved) VALUES
+(1, 6, 'Confirmed', 2),
+(1, 7, 'Confirmed', 1),
+(2, 8, 'Confirmed', 2),
+(3, 6, 'Completed', 1),
+(4, 9, 'Confirmed', 3),
+(5, 10, 'Pending', 2),
+(2, 7, 'Cancelled', 1);
+
+-- Insert Payments
+INSERT INTO Payment (booking_id, payTotalAmount, paymentMethod, paymentStatus, tourist_id) VALUES
+(1, 80.00, 'Credit Card', 'Completed', 6),
+(2, 40.00, 'PayPal', 'Completed', 7),
+(3, 120.00, 'Credit Card', 'Completed', 8),
+(4, 50.00, 'Debit Card', 'Completed', 6),
+(5, 450.00, 'Credit Card', 'Completed', 9),
+(6, 100.00, 'Credit Card', 'Pending', 10);
+
+-- Insert Reviews
+INSERT INTO activity_review (tourist_id, activity_id, rev_text, rev_activityRating, rev_hostRating, rev_date) VALUES
+(6, 3, 'Amazing cooking experience! Learned so much.', 5.0, 5.0, '2025-01-19 16:00:00'),
+(7, 1, 'Great tour but a bit crowded.', 4.0, 4.5, '2025-01-15 13:00:00'),
+(8, 2, 'Breathtaking views and excellent guide.', 4.5, 5.0, '2025-01-20 18:00:00');
+
+INSERT INTO host_Review (host_id, tourist_id, hos_rating, Trs_comment) VALUES
+(3, 6, 5.0, 'Very knowledgeable and friendly host'),
+(4, 8, 5.0, 'Professional and safety-conscious'),
+(3, 7, 4.0, 'Good guide, very informative');
+
+-- Insert Admin Experiences
+INSERT INTO Experiences (admin_id, activity_id) VALUES
+(1, 1),
+(1, 2),
+(2, 3),
+(1, 4);
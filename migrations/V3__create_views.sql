@@ -0,0 +1,39 @@
+-- V3: reporting views (from hostlinkDB.sql, part 3)
+
+CREATE VIEW vw_ActivityDetails AS
+SELECT
+    a.activity_id,
+    a.act_title,
+    a.act_description,
+    a.act_location,
+    a.act_date,
+    a.act_time,
+    a.act_capacity,
+    a.act_available_seats,
+    a.act_status,
+    u.username AS host_name,
+    u.user_email AS host_email,
+    h.hos_tel AS host_phone
+FROM Activity a
+JOIN Host h ON a.host_id = h.host_id
+JOIN UserAccount u ON h.host_id = u.User_id;
+
+-- View 2: Booking Summary
+CREATE VIEW vw_BookingSummary AS
+SELECT
+    b.booking_id,
+    b.bkg_Date,
+    b.bkg_Status,
+    b.bkg_spotsReserved,
+    a.act_title AS activity_name,
+    a.act_date AS activity_date,
+    u.username AS tourist_name,
+    u.user_email AS tourist_email,
+    p.payTotalAmount,
+    p.paymentMethod,
+    p.paymentStatus
+FROM Booking b
+JOIN Activity a ON b.activity_id = a.activity_id
+JOIN Tourist t ON b.tourist_id = t.tourist_id
+JOIN UserAccount u ON t.tourist_id = u.User_id
+LEFT JOIN Payment p ON b.booking_id = p.booking_id;
@@ -0,0 +1,20 @@
+-- V4: expose host_id in vw_ActivityDetails (used by the activity cache for lookups by host)
+
+CREATE OR REPLACE VIEW vw_ActivityDetails AS
+SELECT
+    a.activity_id,
+    a.act_title,
+    a.act_description,
+    a.act_location,
+    a.act_date,
+    a.act_time,
+    a.act_capacity,
+    a.act_available_seats,
+    a.act_status,
+    u.username AS host_name,
+    u.user_email AS host_email,
+    h.hos_tel AS host_phone,
+    a.host_id
+FROM Activity a
+JOIN Host h ON a.host_id = h.host_id
+JOIN UserAccount u ON h.host_id = u.User_id;
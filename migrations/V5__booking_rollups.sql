@@ -0,0 +1,46 @@
+-- V5: incrementally maintained reporting rollups (see BookingAggregates)
+-- rollup_daily_bookings is split into 16 shards per day (activity_id mod 16) so concurrent
+-- bookings on the same day do not all update one row; readers sum the shards.
+
+CREATE TABLE rollup_host_revenue (
+    host_id INT PRIMARY KEY,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    paid_bookings INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (host_id) REFERENCES Host(host_id) ON DELETE CASCADE
+);
+
+CREATE TABLE rollup_activity_fill (
+    activity_id INT PRIMARY KEY,
+    capacity INT NOT NULL,
+    bookings INT NOT NULL DEFAULT 0,
+    spots_booked INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (activity_id) REFERENCES Activity(activity_id) ON DELETE CASCADE
+);
+
+CREATE TABLE rollup_daily_bookings (
+    booking_day DATE NOT NULL,
+    shard INT NOT NULL,
+    bookings INT NOT NULL DEFAULT 0,
+    spots INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (booking_day, shard)
+);
+
+INSERT INTO rollup_activity_fill (activity_id, capacity, bookings, spots_booked)
+SELECT a.activity_id, a.act_capacity, COUNT(b.booking_id), COALESCE(SUM(b.bkg_spotsReserved), 0)
+FROM Activity a
+JOIN Booking b ON b.activity_id = a.activity_id AND b.bkg_Status <> 'Cancelled'
+GROUP BY a.activity_id, a.act_capacity;
+
+INSERT INTO rollup_daily_bookings (booking_day, shard, bookings, spots)
+SELECT CAST(b.bkg_Date AS DATE), MOD(b.activity_id, 16), COUNT(*), SUM(b.bkg_spotsReserved)
+FROM Booking b
+WHERE b.bkg_Status <> 'Cancelled'
+GROUP BY CAST(b.bkg_Date AS DATE), MOD(b.activity_id, 16);
+
+INSERT INTO rollup_host_revenue (host_id, revenue, paid_bookings)
+SELECT a.host_id, SUM(p.payTotalAmount), COUNT(*)
+FROM Payment p
+JOIN Booking b ON p.booking_id = b.booking_id
+JOIN Activity a ON b.activity_id = a.activity_id
+WHERE p.paymentStatus = 'Completed'
+GROUP BY a.host_id;